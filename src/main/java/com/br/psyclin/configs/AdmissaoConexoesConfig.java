@@ -0,0 +1,49 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.services.ControleAdmissaoService;
+import com.br.psyclin.services.ControleAdmissaoService.Prioridade;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+/**
+ * Envolve o DataSource da aplicação em um {@link DataSourceComAdmissao}, para que toda conexão
+ * (JPA, JdbcTemplate, scripts) passe pelo controle de admissão.
+ * Também leva a prioridade da requisição para as tarefas do executor da aplicação.
+ */
+@Configuration
+public class AdmissaoConexoesConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceComAdmissaoPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceComAdmissao)) {
+                    return new DataSourceComAdmissao(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Propaga a prioridade de admissão da thread que agenda a tarefa para a thread do executor.
+     * Sem isto, respostas assíncronas (StreamingResponseBody da exportação de prontuários e da
+     * importação de pacientes) fariam todo o acesso ao banco como PADRAO, fora da faixa da requisição.
+     * Aplicado pelo Spring Boot ao applicationTaskExecutor (único TaskDecorator do contexto).
+     */
+    @Bean
+    public TaskDecorator prioridadeAdmissaoTaskDecorator() {
+        return tarefa -> {
+            Prioridade prioridade = ControleAdmissaoService.prioridadeAtual();
+            return () -> ControleAdmissaoService.executarComo(prioridade, () -> {
+                tarefa.run();
+                return null;
+            });
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.br.psyclin.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+/**
+ * Configuração do cache em memória da aplicação.
+ * Cada região tem TTL próprio e limite de entradas; todas registram estatísticas
+ * (acertos, falhas e remoções), publicadas pelo actuator em /actuator/metrics/cache.*
+ * e listadas em /actuator/caches.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Total de prontuários (histórico completo) - muda pouco. */
+    public static final String PRONTUARIOS_TOTAL = "prontuariosTotal";
+
+    /** Prontuários criados hoje. */
+    public static final String PRONTUARIOS_HOJE = "prontuariosHoje";
+
+    /** Prontuários dos últimos 30 dias. */
+    public static final String PRONTUARIOS_ULTIMOS_30_DIAS = "prontuariosUltimos30Dias";
+
+    /** Resumo do dashboard - cache curto, só para absorver recargas seguidas. */
+    public static final String DASHBOARD_RESUMO = "dashboardResumo";
+
+    @Value("${psyclin.cache.prontuarios-total.ttl:PT6H}")
+    private Duration ttlProntuariosTotal;
+
+    @Value("${psyclin.cache.prontuarios-hoje.ttl:PT1H}")
+    private Duration ttlProntuariosHoje;
+
+    @Value("${psyclin.cache.prontuarios-ultimos-30-dias.ttl:PT2H}")
+    private Duration ttlProntuariosUltimos30Dias;
+
+    @Value("${psyclin.cache.dashboard-resumo.ttl:PT30S}")
+    private Duration ttlDashboardResumo;
+
+    @Value("${psyclin.cache.tamanho-maximo:1000}")
+    private long tamanhoMaximo;
+
+    /**
+     * Gerenciador de cache usado pelos @Cacheable da aplicação.
+     * Regiões não registradas aqui são criadas sob demanda com o limite padrão e sem TTL.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats());
+
+        registrar(cacheManager, PRONTUARIOS_TOTAL, ttlProntuariosTotal);
+        registrar(cacheManager, PRONTUARIOS_HOJE, ttlProntuariosHoje);
+        registrar(cacheManager, PRONTUARIOS_ULTIMOS_30_DIAS, ttlProntuariosUltimos30Dias);
+        registrar(cacheManager, DASHBOARD_RESUMO, ttlDashboardResumo);
+
+        return cacheManager;
+    }
+
+    /**
+     * Registra uma região com TTL próprio.
+     * @param cacheManager Gerenciador de cache
+     * @param nome Nome da região
+     * @param ttl Tempo de vida das entradas após a escrita
+     */
+    private void registrar(CaffeineCacheManager cacheManager, String nome, Duration ttl) {
+        cacheManager.registerCustomCache(nome, Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(tamanhoMaximo)
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,18 @@
+package com.br.psyclin.configs;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registra o {@link ContadorSqlInspector} na SessionFactory do Hibernate.
+ */
+@Configuration
+public class ContadorSqlConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorSqlCustomizer() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSqlInspector());
+    }
+}
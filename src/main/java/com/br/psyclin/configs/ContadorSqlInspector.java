@@ -0,0 +1,126 @@
+package com.br.psyclin.configs;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * StatementInspector do Hibernate que conta os comandos SQL da unidade de trabalho em andamento
+ * na thread (normalmente uma requisição HTTP), agrupados pelo formato da consulta.
+ * O mesmo formato repetido muitas vezes numa requisição é o sinal típico de N+1
+ * (coleção lazy ou @ManyToOne carregado item a item). Não altera o SQL.
+ */
+public class ContadorSqlInspector implements StatementInspector {
+
+    /** Formatos distintos guardados por contagem; acima disso só o total é somado. */
+    private static final int MAX_FORMATOS = 200;
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final Pattern LITERAIS_TEXTO = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern LITERAIS_NUMERO = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTAS_IN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    /**
+     * Comandos contados em uma unidade de trabalho.
+     */
+    public static final class Contagem {
+        private int total;
+        private int formatosDescartados;
+        private final Map<String, Integer> porFormato = new LinkedHashMap<>();
+
+        private synchronized void registrar(String sql) {
+            total++;
+            String formato = normalizar(sql);
+            Integer quantidade = porFormato.get(formato);
+            if (quantidade != null) {
+                porFormato.put(formato, quantidade + 1);
+            } else if (porFormato.size() < MAX_FORMATOS) {
+                porFormato.put(formato, 1);
+            } else {
+                formatosDescartados++;
+            }
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        /**
+         * Quantidade de execuções por formato de consulta, na ordem da primeira execução.
+         * @return Mapa formato → execuções
+         */
+        public Map<String, Integer> getPorFormato() {
+            return porFormato;
+        }
+
+        public int getFormatosDescartados() {
+            return formatosDescartados;
+        }
+    }
+
+    /**
+     * Começa a contar os comandos da thread atual.
+     * @return Contagem em andamento
+     */
+    public static Contagem iniciar() {
+        Contagem contagem = new Contagem();
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    /**
+     * Para de contar os comandos da thread atual.
+     * @return Contagem encerrada, ou null se não havia uma em andamento
+     */
+    public static Contagem encerrar() {
+        Contagem contagem = ATUAL.get();
+        ATUAL.remove();
+        return contagem;
+    }
+
+    /**
+     * Contagem em andamento na thread atual, para continuá-la em outra thread
+     * (ex.: o corpo de uma resposta assíncrona).
+     * @return Contagem em andamento, ou null
+     */
+    public static Contagem atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * Passa a somar os comandos da thread atual a uma contagem aberta em outra thread.
+     * @param contagem Contagem obtida com {@link #atual()}; null para de contar
+     */
+    public static void continuar(Contagem contagem) {
+        if (contagem != null) {
+            ATUAL.set(contagem);
+        } else {
+            ATUAL.remove();
+        }
+    }
+
+    /**
+     * Formato da consulta: espaços colapsados, literais trocados por ? e listas IN (?, ?, ...) reduzidas.
+     * @param sql SQL gerado pelo Hibernate
+     * @return Formato normalizado
+     */
+    public static String normalizar(String sql) {
+        String formato = ESPACOS.matcher(sql.trim()).replaceAll(" ");
+        formato = LITERAIS_TEXTO.matcher(formato).replaceAll("?");
+        formato = LITERAIS_NUMERO.matcher(formato).replaceAll("?");
+        return LISTAS_IN.matcher(formato).replaceAll("(?...)");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Contagem contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.registrar(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,148 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.models.Agenda;
+import com.br.psyclin.models.Anamnese;
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.Profissional;
+import com.br.psyclin.services.ContadorStatusService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener do Hibernate que mantém os contadores de status (ContadorStatusService).
+ * Usa os eventos pós-commit, para que transações desfeitas não alterem as contagens.
+ */
+@Component
+public class ContadorStatusListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ContadorStatusService contadorStatusService;
+
+    /**
+     * Registra o listener no SessionFactory do Hibernate.
+     */
+    @PostConstruct
+    public void registrar() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entidade = event.getEntity();
+        if (entidade instanceof Paciente paciente) {
+            contadorStatusService.registrarPaciente(null, paciente.getStatusPaciente());
+        } else if (entidade instanceof Anamnese anamnese) {
+            contadorStatusService.registrarAnamnese(null, anamnese.getStatusFuncional());
+        } else if (entidade instanceof Profissional profissional) {
+            contadorStatusService.registrarProfissional(null, profissional.getStatusProfissional());
+        } else if (entidade instanceof Agenda agenda) {
+            contadorStatusService.registrarAgenda(null, agenda.getSituacaoAgenda());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entidade = event.getEntity();
+        if (!(entidade instanceof Paciente || entidade instanceof Anamnese
+                || entidade instanceof Profissional || entidade instanceof Agenda)) {
+            return;
+        }
+
+        Object[] estadoAntigo = event.getOldState();
+        if (estadoAntigo == null) {
+            // Sem o estado anterior não há como saber a variação - fica para a reconciliação
+            contadorStatusService.invalidar();
+            return;
+        }
+
+        EntityPersister persister = event.getPersister();
+        if (entidade instanceof Paciente paciente) {
+            contadorStatusService.registrarPaciente(
+                    (Boolean) valorAntigo(persister, estadoAntigo, "statusPaciente"), paciente.getStatusPaciente());
+        } else if (entidade instanceof Anamnese anamnese) {
+            contadorStatusService.registrarAnamnese(
+                    (Boolean) valorAntigo(persister, estadoAntigo, "statusFuncional"), anamnese.getStatusFuncional());
+        } else if (entidade instanceof Profissional profissional) {
+            contadorStatusService.registrarProfissional(
+                    (Profissional.StatusProfissional) valorAntigo(persister, estadoAntigo, "statusProfissional"),
+                    profissional.getStatusProfissional());
+        } else if (entidade instanceof Agenda agenda) {
+            contadorStatusService.registrarAgenda(
+                    (Agenda.SituacaoAgenda) valorAntigo(persister, estadoAntigo, "situacaoAgenda"),
+                    agenda.getSituacaoAgenda());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entidade = event.getEntity();
+        if (entidade instanceof Paciente paciente) {
+            contadorStatusService.registrarPaciente(paciente.getStatusPaciente(), null);
+        } else if (entidade instanceof Anamnese anamnese) {
+            contadorStatusService.registrarAnamnese(anamnese.getStatusFuncional(), null);
+        } else if (entidade instanceof Profissional profissional) {
+            contadorStatusService.registrarProfissional(profissional.getStatusProfissional(), null);
+        } else if (entidade instanceof Agenda agenda) {
+            contadorStatusService.registrarAgenda(agenda.getSituacaoAgenda(), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Commit falhou: nada foi contado
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Commit falhou: nada foi contado
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Commit falhou: nada foi contado
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    /**
+     * Lê o valor anterior de uma propriedade no estado carregado pelo Hibernate.
+     * @param persister Persister da entidade
+     * @param estado Estado anterior
+     * @param propriedade Nome da propriedade
+     * @return Valor anterior, ou null se a propriedade não existir
+     */
+    private Object valorAntigo(EntityPersister persister, Object[] estado, String propriedade) {
+        String[] nomes = persister.getPropertyNames();
+        for (int i = 0; i < nomes.length; i++) {
+            if (nomes[i].equals(propriedade)) {
+                return estado[i];
+            }
+        }
+        return null;
+    }
+}
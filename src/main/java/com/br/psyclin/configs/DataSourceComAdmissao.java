@@ -0,0 +1,96 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.services.ControleAdmissaoService;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource que passa cada pedido de conexão pelo {@link ControleAdmissaoService}.
+ * A vaga é devolvida quando a conexão é fechada (devolvida ao pool). Até o controle ser ativado
+ * (ao fim da inicialização) as conexões passam direto, como no DataSource original.
+ */
+public class DataSourceComAdmissao extends DelegatingDataSource {
+
+    private volatile ControleAdmissaoService controle;
+
+    public DataSourceComAdmissao(DataSource alvo) {
+        super(alvo);
+    }
+
+    /**
+     * Passa a exigir vaga do controle de admissão.
+     * @param controle Controle de admissão
+     */
+    public void ativar(ControleAdmissaoService controle) {
+        this.controle = controle;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ControleAdmissaoService atual = controle;
+        if (atual == null) {
+            return super.getConnection();
+        }
+        ControleAdmissaoService.Permissao permissao = atual.adquirir();
+        try {
+            return envolver(super.getConnection(), permissao);
+        } catch (SQLException | RuntimeException e) {
+            permissao.liberar();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        ControleAdmissaoService atual = controle;
+        if (atual == null) {
+            return super.getConnection(username, password);
+        }
+        ControleAdmissaoService.Permissao permissao = atual.adquirir();
+        try {
+            return envolver(super.getConnection(username, password), permissao);
+        } catch (SQLException | RuntimeException e) {
+            permissao.liberar();
+            throw e;
+        }
+    }
+
+    private static Connection envolver(Connection conexao, ControleAdmissaoService.Permissao permissao) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    switch (metodo.getName()) {
+                        case "close" -> {
+                            try {
+                                conexao.close();
+                            } finally {
+                                permissao.liberar();
+                            }
+                            return null;
+                        }
+                        case "equals" -> {
+                            return proxy == argumentos[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return "Conexão com admissão [" + conexao + "]";
+                        }
+                        default -> {
+                            try {
+                                return metodo.invoke(conexao, argumentos);
+                            } catch (InvocationTargetException e) {
+                                throw e.getTargetException();
+                            }
+                        }
+                    }
+                });
+    }
+}
@@ -1,5 +1,12 @@
 package com.br.psyclin.configs;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -7,23 +14,51 @@ import org.springframework.stereotype.Component;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import javax.sql.DataSource;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Monitora e gerencia conexões do banco de dados automaticamente
- * Para resolver o problema: User 'aluno7' has exceeded the 'max_user_connections' resource
+ * O limite max_user_connections do servidor é respeitado pelo ControleAdmissaoService, sem encerrar sessões.
+ * A telemetria vem do MXBean do pool (HikariCP) e das métricas hikaricp.connections.* do Micrometer:
+ * ativas, ociosas, threads aguardando, latência de aquisição e timeouts. O snapshot é atualizado
+ * periodicamente em memória, então o health check não consome conexão nem faz consulta ao banco.
  */
 @Component
 public class DatabaseConnectionManager implements HealthIndicator {
 
+    /**
+     * Estado do pool em um instante.
+     * @param disponivel Se o pool é HikariCP e já foi iniciado
+     * @param ativas Conexões emprestadas
+     * @param ociosas Conexões livres no pool
+     * @param total Conexões abertas pelo pool
+     * @param aguardando Threads esperando por uma conexão
+     * @param maximo Tamanho máximo do pool
+     * @param aquisicaoMediaMs Tempo médio de aquisição de conexão
+     * @param aquisicaoMaximaMs Maior tempo de aquisição na janela recente
+     * @param aquisicaoPercentisMs Percentis do tempo de aquisição (p50, p95, p99)
+     * @param timeouts Total de aquisições que estouraram o connectionTimeout
+     * @param atualizadoEm Instante da leitura (epoch ms)
+     */
+    public record SnapshotPool(boolean disponivel, int ativas, int ociosas, int total, int aguardando, int maximo,
+                               double aquisicaoMediaMs, double aquisicaoMaximaMs,
+                               Map<String, Double> aquisicaoPercentisMs, double timeouts, long atualizadoEm) {
+
+        static SnapshotPool indisponivel() {
+            return new SnapshotPool(false, 0, 0, 0, 0, 0, 0, 0, Map.of(), 0, System.currentTimeMillis());
+        }
+    }
+
     @Autowired
     private DataSource dataSource;
-    
-    private int activeConnections = 0;
-    private int maxConnections = 0;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile SnapshotPool snapshot = SnapshotPool.indisponivel();
 
     /**
      * Verifica status das conexões a cada 2 minutos (mais frequente)
@@ -31,13 +66,17 @@ public class DatabaseConnectionManager implements HealthIndicator {
     @Scheduled(fixedRate = 120000) // 2 minutos
     public void monitorConnections() {
         try {
-            checkConnectionStatus();
-            if (activeConnections >= maxConnections * 0.7) { // 70% do limite (mais agressivo)
-                System.out.println("⚠️ AVISO: Muitas conexões ativas (" + activeConnections + "/" + maxConnections + ")");
-                // Força limpeza de conexões ociosas
-                forceCleanIdleConnections();
-            } else if (activeConnections >= maxConnections * 0.5) { // 50% do limite
-                System.out.println("📊 INFO: Uso moderado de conexões (" + activeConnections + "/" + maxConnections + ")");
+            atualizarSnapshot();
+            SnapshotPool atual = snapshot;
+            if (!atual.disponivel()) {
+                return;
+            }
+            if (atual.ativas() >= atual.maximo() * 0.7) { // 70% do limite (mais agressivo)
+                // O controle de admissão segura o excedente em fila; aqui só fica o aviso
+                System.out.println("⚠️ AVISO: Muitas conexões ativas (" + atual.ativas() + "/" + atual.maximo()
+                        + ", aguardando " + atual.aguardando() + ")");
+            } else if (atual.ativas() >= atual.maximo() * 0.5) { // 50% do limite
+                System.out.println("📊 INFO: Uso moderado de conexões (" + atual.ativas() + "/" + atual.maximo() + ")");
             }
         } catch (Exception e) {
             System.err.println("❌ Erro ao monitorar conexões: " + e.getMessage());
@@ -45,110 +84,101 @@ public class DatabaseConnectionManager implements HealthIndicator {
     }
 
     /**
-     * Verifica status atual das conexões
+     * Relê o MXBean do pool e as métricas de aquisição (só memória, sem ida ao banco).
      */
-    private void checkConnectionStatus() {
-        try (Connection conn = dataSource.getConnection()) {
-            // Verifica conexões do usuário atual
-            String query = "SHOW PROCESSLIST";
-            try (PreparedStatement stmt = conn.prepareStatement(query);
-                 ResultSet rs = stmt.executeQuery()) {
-                
-                int userConnections = 0;
-                while (rs.next()) {
-                    String user = rs.getString("User");
-                    if ("aluno7".equals(user)) {
-                        userConnections++;
-                    }
-                }
-                
-                this.activeConnections = userConnections;
-                
-                // Pega limite máximo
-                String limitQuery = "SHOW VARIABLES LIKE 'max_user_connections'";
-                try (PreparedStatement limitStmt = conn.prepareStatement(limitQuery);
-                     ResultSet limitRs = limitStmt.executeQuery()) {
-                    if (limitRs.next()) {
-                        this.maxConnections = limitRs.getInt("Value");
-                    }
-                }
-                
-                System.out.println("📊 Conexões ativas: " + activeConnections + "/" + maxConnections);
-                
+    @Scheduled(fixedDelayString = "${psyclin.db.telemetria.intervalo-ms:5000}")
+    public void atualizarSnapshot() {
+        HikariDataSource hikari = hikari();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            // DataSource não é HikariCP ou o pool ainda não abriu a primeira conexão
+            snapshot = SnapshotPool.indisponivel();
+            return;
+        }
+
+        double mediaMs = 0;
+        double maximaMs = 0;
+        Map<String, Double> percentis = new LinkedHashMap<>();
+        Timer aquisicao = meterRegistry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+        if (aquisicao != null) {
+            HistogramSnapshot histograma = aquisicao.takeSnapshot();
+            mediaMs = histograma.mean(TimeUnit.MILLISECONDS);
+            maximaMs = histograma.max(TimeUnit.MILLISECONDS);
+            for (ValueAtPercentile percentil : histograma.percentileValues()) {
+                percentis.put("p" + Math.round(percentil.percentile() * 100), percentil.value(TimeUnit.MILLISECONDS));
             }
-        } catch (SQLException e) {
-            System.err.println("❌ Erro ao verificar status das conexões: " + e.getMessage());
         }
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").tag("pool", hikari.getPoolName()).counter();
+
+        snapshot = new SnapshotPool(true,
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getTotalConnections(),
+                pool.getThreadsAwaitingConnection(),
+                hikari.getMaximumPoolSize(),
+                mediaMs,
+                maximaMs,
+                percentis,
+                timeouts != null ? timeouts.count() : 0,
+                System.currentTimeMillis());
     }
 
     /**
-     * Força fechamento de conexões ociosas de forma mais agressiva
+     * Último snapshot do pool.
+     * @return Snapshot em memória
      */
-    private void forceCleanIdleConnections() {
-        try (Connection conn = dataSource.getConnection()) {
-            // Mata conexões ociosas há mais de 3 minutos (mais agressivo que 5 minutos)
-            String query = "SELECT ID, TIME, COMMAND, STATE FROM INFORMATION_SCHEMA.PROCESSLIST " +
-                          "WHERE USER = 'aluno7' AND COMMAND IN ('Sleep', 'Query') AND TIME > 180 " +
-                          "AND ID != CONNECTION_ID()";
-            
-            int killedConnections = 0;
-            
-            try (PreparedStatement stmt = conn.prepareStatement(query);
-                 ResultSet rs = stmt.executeQuery()) {
-                
-                while (rs.next()) {
-                    int processId = rs.getInt("ID");
-                    int time = rs.getInt("TIME");
-                    String command = rs.getString("COMMAND");
-                    String state = rs.getString("STATE");
-                    
-                    try (PreparedStatement killStmt = conn.prepareStatement("KILL " + processId)) {
-                        killStmt.execute();
-                        killedConnections++;
-                        System.out.println("🗑️ Conexão ociosa eliminada: ID=" + processId + 
-                                         ", Tempo=" + time + "s, Comando=" + command + ", Estado=" + state);
-                    } catch (SQLException killError) {
-                        // Conexão pode já ter sido fechada - não é erro crítico
-                        System.out.println("⚠️ Não foi possível matar conexão " + processId + ": " + killError.getMessage());
-                    }
-                }
-            }
-            
-            if (killedConnections > 0) {
-                System.out.println("🧹 LIMPEZA CONCLUÍDA: " + killedConnections + " conexões ociosas eliminadas");
-            } else {
-                System.out.println("✅ Nenhuma conexão ociosa >3min encontrada para limpeza");
+    public SnapshotPool getSnapshot() {
+        return snapshot;
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
             }
-            
         } catch (SQLException e) {
-            System.err.println("❌ Erro ao limpar conexões ociosas: " + e.getMessage());
+            System.err.println("❌ Erro ao acessar o pool de conexões: " + e.getMessage());
         }
+        return null;
     }
 
     /**
      * Health check para o Spring Boot Actuator
+     * Usa o snapshot em memória: não abre conexão nem consulta o banco.
      */
     @Override
     public Health health() {
         try {
-            checkConnectionStatus();
-            
-            if (activeConnections >= maxConnections) {
-                return Health.down()
-                    .withDetail("connections", activeConnections + "/" + maxConnections)
-                    .withDetail("status", "LIMITE_ATINGIDO")
-                    .build();
-            } else if (activeConnections >= maxConnections * 0.8) {
-                return Health.up()
-                    .withDetail("connections", activeConnections + "/" + maxConnections)
-                    .withDetail("status", "AVISO_ALTO_USO")
+            SnapshotPool atual = snapshot;
+            if (!atual.disponivel()) {
+                atualizarSnapshot();
+                atual = snapshot;
+            }
+            if (!atual.disponivel()) {
+                return Health.unknown()
+                    .withDetail("status", "POOL_NAO_INICIADO")
                     .build();
+            }
+
+            Health.Builder builder;
+            if (atual.ativas() >= atual.maximo() && atual.aguardando() > 0) {
+                builder = Health.down().withDetail("status", "LIMITE_ATINGIDO");
+            } else if (atual.ativas() >= atual.maximo() * 0.8) {
+                builder = Health.up().withDetail("status", "AVISO_ALTO_USO");
             } else {
-                return Health.up()
-                    .withDetail("connections", activeConnections + "/" + maxConnections)
-                    .withDetail("status", "OK")
-                    .build();
+                builder = Health.up().withDetail("status", "OK");
             }
+            return builder
+                .withDetail("connections", atual.ativas() + "/" + atual.maximo())
+                .withDetail("ociosas", atual.ociosas())
+                .withDetail("total", atual.total())
+                .withDetail("aguardando", atual.aguardando())
+                .withDetail("aquisicaoMediaMs", atual.aquisicaoMediaMs())
+                .withDetail("aquisicaoMaximaMs", atual.aquisicaoMaximaMs())
+                .withDetail("aquisicaoPercentisMs", atual.aquisicaoPercentisMs())
+                .withDetail("timeouts", (long) atual.timeouts())
+                .withDetail("atualizadoEm", atual.atualizadoEm())
+                .build();
         } catch (Exception e) {
             return Health.down()
                 .withDetail("error", e.getMessage())
@@ -157,51 +187,20 @@ public class DatabaseConnectionManager implements HealthIndicator {
     }
 
     /**
-     * Endpoint para forçar limpeza manual - mais agressiva
+     * Recicla as conexões do pool: as ociosas são fechadas já e as emprestadas ao serem devolvidas.
+     * Não encerra sessões no servidor nem interrompe consultas em andamento.
+     * @return Conexões abertas antes da reciclagem
      */
-    public void forceCleanup() {
-        System.out.println("🧹 Iniciando limpeza forçada de conexões...");
-        
-        try (Connection conn = dataSource.getConnection()) {
-            // Limpeza agressiva: mata conexões ociosas há mais de 1 minuto
-            String query = "SELECT ID, TIME, COMMAND, STATE, INFO FROM INFORMATION_SCHEMA.PROCESSLIST " +
-                          "WHERE USER = 'aluno7' AND COMMAND IN ('Sleep', 'Query') AND TIME > 60 " +
-                          "AND ID != CONNECTION_ID()";
-            
-            int killedConnections = 0;
-            
-            try (PreparedStatement stmt = conn.prepareStatement(query);
-                 ResultSet rs = stmt.executeQuery()) {
-                
-                while (rs.next()) {
-                    int processId = rs.getInt("ID");
-                    int time = rs.getInt("TIME");
-                    String command = rs.getString("COMMAND");
-                    String state = rs.getString("STATE");
-                    String info = rs.getString("INFO");
-                    
-                    try (PreparedStatement killStmt = conn.prepareStatement("KILL " + processId)) {
-                        killStmt.execute();
-                        killedConnections++;
-                        System.out.println("🗑️ [FORÇADA] Conexão eliminada: ID=" + processId + 
-                                         ", Tempo=" + time + "s, Cmd=" + command + 
-                                         ", Estado=" + state + ", Query=" + (info != null ? info.substring(0, Math.min(50, info.length())) : "null"));
-                    } catch (SQLException killError) {
-                        System.out.println("⚠️ Não foi possível matar conexão " + processId + ": " + killError.getMessage());
-                    }
-                }
-            }
-            
-            if (killedConnections > 0) {
-                System.out.println("🧹 LIMPEZA FORÇADA CONCLUÍDA: " + killedConnections + " conexões eliminadas");
-            } else {
-                System.out.println("✅ Nenhuma conexão ociosa >1min encontrada na limpeza forçada");
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("❌ Erro na limpeza forçada: " + e.getMessage());
+    public int reciclarConexoes() {
+        HikariDataSource hikari = hikari();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool == null) {
+            throw new IllegalStateException("Pool de conexões não disponível");
         }
-        
-        System.out.println("✅ Limpeza forçada concluída");
+        int total = pool.getTotalConnections();
+        pool.softEvictConnections();
+        System.out.println("♻️ Conexões do pool marcadas para reciclagem: " + total);
+        atualizarSnapshot();
+        return total;
     }
 }
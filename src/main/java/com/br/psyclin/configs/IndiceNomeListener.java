@@ -0,0 +1,107 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.PessoaFisica;
+import com.br.psyclin.models.Profissional;
+import com.br.psyclin.services.BuscaNomeService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener do Hibernate que mantém o índice de nomes (BuscaNomeService) em dia.
+ * Reage a pacientes e profissionais criados/removidos e a mudanças de nome na pessoa física.
+ */
+@Component
+public class IndiceNomeListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BuscaNomeService buscaNomeService;
+
+    /**
+     * Registra o listener no SessionFactory do Hibernate.
+     */
+    @PostConstruct
+    public void registrar() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        indexar(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entidade = event.getEntity();
+        if (entidade instanceof PessoaFisica pessoaFisica) {
+            if (pessoaFisica.getPaciente() != null) {
+                buscaNomeService.indexarPaciente(pessoaFisica.getPaciente().getIdPaciente(), pessoaFisica.getNomePessoa());
+            }
+            if (pessoaFisica.getProfissional() != null) {
+                buscaNomeService.indexarProfissional(pessoaFisica.getProfissional().getIdProfissional(), pessoaFisica.getNomePessoa());
+            }
+        } else {
+            indexar(entidade);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entidade = event.getEntity();
+        if (entidade instanceof Paciente paciente) {
+            buscaNomeService.removerPaciente(paciente.getIdPaciente());
+        } else if (entidade instanceof Profissional profissional) {
+            buscaNomeService.removerProfissional(profissional.getIdProfissional());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Commit falhou: o índice não foi alterado
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Commit falhou: o índice não foi alterado
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Commit falhou: o índice não foi alterado
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void indexar(Object entidade) {
+        if (entidade instanceof Paciente paciente && paciente.getPessoaFisica() != null) {
+            buscaNomeService.indexarPaciente(paciente.getIdPaciente(), paciente.getPessoaFisica().getNomePessoa());
+        } else if (entidade instanceof Profissional profissional && profissional.getPessoaFisica() != null) {
+            buscaNomeService.indexarProfissional(profissional.getIdProfissional(), profissional.getPessoaFisica().getNomePessoa());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.models.Anamnese;
+import com.br.psyclin.models.Prontuario;
+import com.br.psyclin.models.Resposta;
+import com.br.psyclin.services.BuscaTextoService;
+import com.br.psyclin.services.BuscaTextoService.TipoTexto;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener do Hibernate que mantém o índice textual (BuscaTextoService) em dia
+ * com as respostas subjetivas e as descrições de prontuário.
+ */
+@Component
+public class IndiceTextoListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BuscaTextoService buscaTextoService;
+
+    /**
+     * Registra o listener no SessionFactory do Hibernate.
+     */
+    @PostConstruct
+    public void registrar() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        indexar(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        indexar(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entidade = event.getEntity();
+        if (entidade instanceof Resposta resposta) {
+            buscaTextoService.remover(TipoTexto.RESPOSTA, resposta.getIdResposta());
+        } else if (entidade instanceof Prontuario prontuario) {
+            buscaTextoService.remover(TipoTexto.PRONTUARIO, prontuario.getIdProntuario());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Commit falhou: nada foi indexado
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Commit falhou: nada foi indexado
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Commit falhou: nada foi indexado
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void indexar(Object entidade) {
+        if (entidade instanceof Resposta resposta) {
+            Anamnese anamnese = resposta.getAnamnese();
+            buscaTextoService.indexar(TipoTexto.RESPOSTA, resposta.getIdResposta(),
+                    anamnese != null && anamnese.getPaciente() != null ? anamnese.getPaciente().getIdPaciente() : null,
+                    anamnese != null && anamnese.getProfissional() != null ? anamnese.getProfissional().getIdProfissional() : null,
+                    resposta.getRespostaSubjetiva());
+        } else if (entidade instanceof Prontuario prontuario) {
+            buscaTextoService.indexar(TipoTexto.PRONTUARIO, prontuario.getIdProntuario(),
+                    prontuario.getPaciente() != null ? prontuario.getPaciente().getIdPaciente() : null,
+                    prontuario.getProfissional() != null ? prontuario.getProfissional().getIdProfissional() : null,
+                    prontuario.getDescricaoProntuario());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.dto.response.ChatResponse;
+import com.br.psyclin.services.LimitadorTokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interceptor que limita a taxa de mensagens do chat por cliente (IP ou sessão).
+ * Excedido o limite, responde 429 com o cabeçalho Retry-After, sem chegar ao ChatService.
+ * Métricas: psyclin.chat.limite.overhead (custo da decisão por requisição), .recusas e .baldes.
+ */
+@Component
+public class LimiteTaxaChatInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${psyclin.chat.limite.por-minuto:20}")
+    private int porMinuto;
+
+    @Value("${psyclin.chat.limite.rajada:5}")
+    private int rajada;
+
+    @Value("${psyclin.chat.limite.max-clientes:100000}")
+    private int maxClientes;
+
+    @Value("${psyclin.chat.limite.faixas:16}")
+    private int faixas;
+
+    /** ip ou sessao (usa a sessão quando existir, senão o IP). */
+    @Value("${psyclin.chat.limite.chave:ip}")
+    private String chave;
+
+    @Value("${psyclin.chat.limite.confiar-x-forwarded-for:false}")
+    private boolean confiarXForwardedFor;
+
+    private LimitadorTokenBucket limitador;
+    private Timer overhead;
+    private Counter recusas;
+
+    @PostConstruct
+    public void inicializar() {
+        limitador = new LimitadorTokenBucket(porMinuto, rajada, maxClientes, faixas, System::nanoTime);
+        overhead = Timer.builder("psyclin.chat.limite.overhead")
+                .description("Custo da decisão do limitador por requisição")
+                .register(meterRegistry);
+        recusas = Counter.builder("psyclin.chat.limite.recusas")
+                .description("Requisições do chat recusadas com 429")
+                .register(meterRegistry);
+        Gauge.builder("psyclin.chat.limite.baldes", limitador, LimitadorTokenBucket::totalBaldes)
+                .description("Clientes acompanhados pelo limitador")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // Pré-voo CORS e o redespacho das respostas assíncronas não contam como nova mensagem
+        if ("OPTIONS".equalsIgnoreCase(request.getMethod()) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        long inicio = System.nanoTime();
+        LimitadorTokenBucket.Decisao decisao = limitador.tentarConsumir(cliente(request));
+        overhead.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        if (decisao.permitido()) {
+            return true;
+        }
+
+        recusas.increment();
+        long espera = decisao.esperaSegundos();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(espera));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), ChatResponse.error(
+                "Muitas mensagens em sequência. Aguarde " + espera + " segundo(s) e tente novamente."));
+        return false;
+    }
+
+    /**
+     * Descarta periodicamente os baldes de clientes ociosos.
+     */
+    @Scheduled(fixedDelayString = "${psyclin.chat.limite.limpeza-ms:60000}",
+               initialDelayString = "${psyclin.chat.limite.limpeza-ms:60000}")
+    public void descartarOciosos() {
+        limitador.descartarOciosos();
+    }
+
+    private String cliente(HttpServletRequest request) {
+        if ("sessao".equalsIgnoreCase(chave)) {
+            HttpSession sessao = request.getSession(false);
+            if (sessao != null) {
+                return "s:" + sessao.getId();
+            }
+        }
+        if (confiarXForwardedFor) {
+            String encaminhado = request.getHeader("X-Forwarded-For");
+            if (encaminhado != null && !encaminhado.isBlank()) {
+                int virgula = encaminhado.indexOf(',');
+                return "ip:" + (virgula >= 0 ? encaminhado.substring(0, virgula) : encaminhado).trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
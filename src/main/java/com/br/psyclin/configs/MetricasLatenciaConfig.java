@@ -0,0 +1,43 @@
+package com.br.psyclin.configs;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Percentis e histograma das métricas de latência: endpoints (http.server.requests),
+ * métodos de repositório (spring.data.repository.invocations) e services (psyclin.servicos.chamadas).
+ * Os percentis p50/p95/p99 aparecem em /actuator/metrics/{nome}.percentile; o histograma
+ * fica disponível para registros que o exportam (ex.: Prometheus).
+ */
+@Configuration
+public class MetricasLatenciaConfig {
+
+    private static final Set<String> METRICAS_LATENCIA = Set.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            MetricasServicoAspect.METRICA);
+
+    @Bean
+    public MeterFilter histogramaLatencias() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!METRICAS_LATENCIA.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .minimumExpectedValue((double) Duration.ofMillis(1).toNanos())
+                        .maximumExpectedValue((double) Duration.ofSeconds(30).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
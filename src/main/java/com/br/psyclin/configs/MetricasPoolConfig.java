@@ -0,0 +1,42 @@
+package com.br.psyclin.configs;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+/**
+ * Configuração das métricas do pool de conexões (HikariCP, publicadas pelo Spring Boot em hikaricp.connections.*).
+ * O tempo de aquisição de conexão ganha histograma e percentis, usados pelo {@link DatabaseConnectionManager}
+ * no health check e disponíveis em /actuator/metrics/hikaricp.connections.acquire.
+ */
+@Configuration
+public class MetricasPoolConfig {
+
+    private static final String PREFIXO_HIKARI = "hikaricp.connections.";
+
+    @Bean
+    public MeterFilter histogramaAquisicaoConexoes() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals(PREFIXO_HIKARI + "acquire") && !id.getName().equals(PREFIXO_HIKARI + "usage")) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .percentiles(0.5, 0.95, 0.99)
+                        .serviceLevelObjectives(
+                                Duration.ofMillis(1).toNanos(),
+                                Duration.ofMillis(10).toNanos(),
+                                Duration.ofMillis(100).toNanos(),
+                                Duration.ofSeconds(1).toNanos(),
+                                Duration.ofSeconds(5).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
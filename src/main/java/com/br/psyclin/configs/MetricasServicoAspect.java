@@ -0,0 +1,65 @@
+package com.br.psyclin.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a latência de todos os métodos públicos dos beans de com.br.psyclin.services.
+ * Timer psyclin.servicos.chamadas com as tags class, method, outcome (SUCCESS|ERROR) e exception;
+ * os repositórios e os endpoints já são medidos pelo Spring Boot (spring.data.repository.invocations
+ * e http.server.requests). Os percentis são configurados em {@link MetricasLatenciaConfig}.
+ * Para métodos que devolvem CompletableFuture, SseEmitter ou Flux, mede só até o retorno.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "psyclin.metricas.servicos.habilitado", havingValue = "true", matchIfMissing = true)
+public class MetricasServicoAspect {
+
+    public static final String METRICA = "psyclin.servicos.chamadas";
+
+    private record Chave(Method metodo, String resultado, String excecao) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<Chave, Timer> timers = new ConcurrentHashMap<>();
+
+    public MetricasServicoAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.br.psyclin.services..*) && execution(public * *(..))")
+    public Object medir(ProceedingJoinPoint ponto) throws Throwable {
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = ponto.proceed();
+            registrar(ponto, "SUCCESS", "none", inicio);
+            return resultado;
+        } catch (Throwable e) {
+            registrar(ponto, "ERROR", e.getClass().getSimpleName(), inicio);
+            throw e;
+        }
+    }
+
+    private void registrar(ProceedingJoinPoint ponto, String resultado, String excecao, long inicio) {
+        long duracao = System.nanoTime() - inicio;
+        Method metodo = ((MethodSignature) ponto.getSignature()).getMethod();
+        // Cache por método: evita montar o Meter.Id e consultar o registro a cada chamada
+        Timer timer = timers.computeIfAbsent(new Chave(metodo, resultado, excecao), chave -> Timer.builder(METRICA)
+                .description("Latência dos métodos dos services")
+                .tag("class", chave.metodo().getDeclaringClass().getSimpleName())
+                .tag("method", chave.metodo().getName())
+                .tag("outcome", chave.resultado())
+                .tag("exception", chave.excecao())
+                .register(meterRegistry));
+        timer.record(duracao, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,32 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.services.OrcamentoSqlService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+/**
+ * Endpoint do actuator com os endpoints que mais executam comandos SQL por requisição (/actuator/nmaisum).
+ * Exposição web: management.endpoints.web.exposure.include=nmaisum
+ */
+@Component
+@Endpoint(id = "nmaisum")
+public class NMaisUmEndpoint {
+
+    @Autowired
+    private OrcamentoSqlService orcamentoSqlService;
+
+    @ReadOperation
+    public Map<String, Object> relatorio(@Nullable Integer limite) {
+        return orcamentoSqlService.relatorio(limite != null ? limite : 20);
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        orcamentoSqlService.limpar();
+    }
+}
@@ -0,0 +1,61 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.services.OrcamentoSqlService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Interceptor que conta os comandos SQL de cada requisição (via {@link ContadorSqlInspector})
+ * e entrega o total ao {@link OrcamentoSqlService}, identificado por método HTTP e padrão da rota.
+ * Em respostas assíncronas conta só o trecho executado na thread da requisição.
+ */
+@Component
+public class OrcamentoSqlInterceptor implements AsyncHandlerInterceptor {
+
+    @Autowired
+    private OrcamentoSqlService orcamentoSqlService;
+
+    @Value("${psyclin.sql.detector.habilitado:true}")
+    private boolean habilitado;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (habilitado && request.getDispatcherType() != DispatcherType.ASYNC) {
+            ContadorSqlInspector.iniciar();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        concluir(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        concluir(request);
+    }
+
+    private void concluir(HttpServletRequest request) {
+        if (!habilitado) {
+            // Desligado, não abriu contagem: não encerra a de outro chamador da mesma thread
+            return;
+        }
+        ContadorSqlInspector.Contagem contagem = ContadorSqlInspector.encerrar();
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (contagem == null || padrao == null) {
+            return;
+        }
+        try {
+            orcamentoSqlService.registrar(request.getMethod() + " " + padrao, contagem);
+        } catch (Exception e) {
+            System.err.println("❌ Erro ao registrar comandos SQL da requisição: " + e.getMessage());
+        }
+    }
+}
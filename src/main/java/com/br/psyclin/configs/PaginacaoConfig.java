@@ -0,0 +1,42 @@
+package com.br.psyclin.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuração da paginação por cursor das listagens.
+ * Tamanhos ajustáveis por psyclin.paginacao.tamanho-padrao e psyclin.paginacao.tamanho-maximo.
+ */
+@Component
+public class PaginacaoConfig {
+
+    @Value("${psyclin.paginacao.tamanho-padrao:50}")
+    private int tamanhoPadrao;
+
+    @Value("${psyclin.paginacao.tamanho-maximo:200}")
+    private int tamanhoMaximo;
+
+    /**
+     * Resolve o tamanho de página pedido pelo cliente dentro dos limites configurados.
+     * @param tamanho Tamanho pedido (opcional)
+     * @return Tamanho efetivo da página
+     */
+    public int resolverTamanho(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0) {
+            return tamanhoPadrao;
+        }
+        return Math.min(tamanho, tamanhoMaximo);
+    }
+
+    /**
+     * Janela de leitura: uma linha a mais que a página para saber se existe próxima.
+     * Sempre a partir do offset 0 - o deslocamento é feito pelo cursor, não por OFFSET.
+     * @param tamanho Tamanho efetivo da página
+     * @return Pageable para o repositório
+     */
+    public Pageable janela(int tamanho) {
+        return PageRequest.of(0, tamanho + 1);
+    }
+}
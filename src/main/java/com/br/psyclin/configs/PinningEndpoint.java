@@ -0,0 +1,31 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.services.DiagnosticoPinningService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+/**
+ * Endpoint do actuator com o relatório de pinning de threads virtuais (/actuator/pinning).
+ * Exposição web: management.endpoints.web.exposure.include=pinning
+ */
+@Component
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+
+    @Autowired
+    private DiagnosticoPinningService diagnosticoPinningService;
+
+    @ReadOperation
+    public Map<String, Object> relatorio() {
+        return diagnosticoPinningService.relatorio();
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        diagnosticoPinningService.limpar();
+    }
+}
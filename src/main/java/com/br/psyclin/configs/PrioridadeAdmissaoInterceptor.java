@@ -0,0 +1,67 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.services.ControleAdmissaoService;
+import com.br.psyclin.services.ControleAdmissaoService.Prioridade;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import java.util.List;
+
+/**
+ * Interceptor que define a prioridade de admissão de conexões da requisição:
+ * escritas em recursos clínicos são CLINICA; dashboard, busca, exportação e importação em lote são RELATORIO
+ * (trabalho em lote não disputa a reserva das escritas clínicas);
+ * o chat é CHAT; o restante é PADRAO.
+ */
+@Component
+public class PrioridadeAdmissaoInterceptor implements AsyncHandlerInterceptor {
+
+    private static final List<String> RECURSOS_CLINICOS = List.of(
+            "/paciente", "/prontuario", "/anamnese", "/resposta", "/agenda", "/documento", "/procedimento");
+
+    private static final List<String> RECURSOS_RELATORIO = List.of(
+            "/dashboard", "/busca", "/prontuario/exportar", "/paciente/importar");
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ControleAdmissaoService.definirPrioridade(classificar(request.getMethod(), request.getRequestURI()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Resposta assíncrona: afterCompletion só roda no redespacho, a thread atual já vai atender outra requisição.
+        // A tarefa assíncrona já capturou a prioridade (AdmissaoConexoesConfig.prioridadeAdmissaoTaskDecorator)
+        ControleAdmissaoService.limparPrioridade();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ControleAdmissaoService.limparPrioridade();
+    }
+
+    static Prioridade classificar(String metodo, String caminho) {
+        if (corresponde(caminho, "/chat")) {
+            return Prioridade.CHAT;
+        }
+        for (String recurso : RECURSOS_RELATORIO) {
+            if (corresponde(caminho, recurso)) {
+                return Prioridade.RELATORIO;
+            }
+        }
+        boolean escrita = !"GET".equalsIgnoreCase(metodo) && !"HEAD".equalsIgnoreCase(metodo);
+        if (escrita) {
+            for (String recurso : RECURSOS_CLINICOS) {
+                if (corresponde(caminho, recurso)) {
+                    return Prioridade.CLINICA;
+                }
+            }
+        }
+        return Prioridade.PADRAO;
+    }
+
+    private static boolean corresponde(String caminho, String recurso) {
+        return caminho.equals(recurso) || caminho.startsWith(recurso + "/");
+    }
+}
@@ -0,0 +1,85 @@
+package com.br.psyclin.configs;
+
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.PessoaFisica;
+import com.br.psyclin.models.PessoaJuridica;
+import com.br.psyclin.models.Procedimento;
+import com.br.psyclin.services.RegistroDocumentosService;
+import com.br.psyclin.services.RegistroDocumentosService.TipoDocumento;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener do Hibernate que alimenta o registro de documentos (RegistroDocumentosService).
+ * Só acrescenta valores: exclusões e valores antigos continuam marcados como "talvez presentes"
+ * (custo de uma confirmação no banco) até a próxima reconstrução do registro.
+ */
+@Component
+public class RegistroDocumentosListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RegistroDocumentosService registroDocumentosService;
+
+    /**
+     * Registra o listener no SessionFactory do Hibernate.
+     */
+    @PostConstruct
+    public void registrar() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        registrarDocumentos(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        registrarDocumentos(event.getEntity());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Commit falhou: nada a registrar
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Commit falhou: nada a registrar
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void registrarDocumentos(Object entidade) {
+        if (entidade instanceof PessoaFisica pessoaFisica) {
+            registroDocumentosService.registrar(TipoDocumento.CPF, pessoaFisica.getCpfPessoa());
+        } else if (entidade instanceof Paciente paciente) {
+            registroDocumentosService.registrar(TipoDocumento.RG, paciente.getRgPaciente());
+        } else if (entidade instanceof PessoaJuridica pessoaJuridica) {
+            registroDocumentosService.registrar(TipoDocumento.CNPJ, pessoaJuridica.getCnpj());
+        } else if (entidade instanceof Procedimento procedimento) {
+            registroDocumentosService.registrar(TipoDocumento.CODIGO_PROCEDIMENTO, procedimento.getCodProcedimento());
+        }
+    }
+}
@@ -1,14 +1,45 @@
 package com.br.psyclin.configs;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebMvc
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private LimiteTaxaChatInterceptor limiteTaxaChatInterceptor;
+
+    @Autowired
+    private PrioridadeAdmissaoInterceptor prioridadeAdmissaoInterceptor;
+
+    @Autowired
+    private OrcamentoSqlInterceptor orcamentoSqlInterceptor;
+
+    /**
+     * Executor de tarefas do Spring Boot: usa threads virtuais com spring.threads.virtual.enabled=true
+     */
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    /**
+     * Timeout das respostas assíncronas (mesmo valor do conector do Tomcat); o prazo total da faixa da IA fica abaixo dele
+     */
+    @Value("${psyclin.mvc.async-timeout:PT30S}")
+    private Duration asyncTimeout;
+
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("*")
@@ -16,4 +47,20 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "PUT", "POST", "PATCH", "DELETE", "OPTIONS");
     }
 
+    /**
+     * Com @EnableWebMvc a configuração automática do MVC não se aplica: sem isto, respostas
+     * assíncronas (StreamingResponseBody da exportação/importação) criariam uma thread nova por requisição.
+     */
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(limiteTaxaChatInterceptor)
+                .addPathPatterns("/chat/message", "/chat/message/**");
+        registry.addInterceptor(prioridadeAdmissaoInterceptor);
+        registry.addInterceptor(orcamentoSqlInterceptor);
+    }
+
 }
\ No newline at end of file
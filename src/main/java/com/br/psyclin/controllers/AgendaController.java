@@ -1,7 +1,11 @@
 package com.br.psyclin.controllers;
 
+import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.dto.response.HorarioLivreDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.models.Agenda;
 import com.br.psyclin.services.AgendaService;
+import com.br.psyclin.services.DisponibilidadeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -13,9 +17,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 /**
@@ -30,13 +37,19 @@ public class AgendaController {
     @Autowired
     private AgendaService agendaService;
 
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
     /**
-     * Lista todos os agendamentos.
+     * Lista os agendamentos, paginados por cursor (use o nextCursor da resposta para a próxima página).
      */
     @GetMapping
-    public ResponseEntity<List<Agenda>> listarTodos() {
-        List<Agenda> agendamentos = agendaService.listarTodos();
-        return ResponseEntity.ok().body(agendamentos);
+    public ResponseEntity<ApiResponseDTO<List<Agenda>>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaCursor<Agenda> pagina = agendaService.listarPagina(cursor, tamanho);
+        return ResponseEntity.ok().body(ApiResponseDTO.success("Agendamentos listados com sucesso",
+                pagina.getItens(), pagina.getProximoCursor()));
     }
 
     /**
@@ -80,6 +93,32 @@ public class AgendaController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Busca os horários livres de um profissional no período, dentro do expediente.
+     * Datas no formato YYYY-MM-DDTHH:MM; duracao em minutos (opcional).
+     */
+    @GetMapping("/disponibilidade")
+    public ResponseEntity<ApiResponseDTO<List<HorarioLivreDTO>>> buscarHorariosLivres(
+            @RequestParam Integer idProfissional,
+            @RequestParam String inicio,
+            @RequestParam String fim,
+            @RequestParam(required = false) Integer duracao) {
+        List<HorarioLivreDTO> livres = disponibilidadeService.buscarHorariosLivres(
+                idProfissional, converterDataHora(inicio), converterDataHora(fim), duracao);
+        return ResponseEntity.ok().body(ApiResponseDTO.success("Horários livres encontrados", livres));
+    }
+
+    /**
+     * Converte o parâmetro de data e hora; formato inválido vira 400 no GlobalExceptionHandler.
+     */
+    private LocalDateTime converterDataHora(String valor) {
+        try {
+            return LocalDateTime.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data inválida: " + valor + " (use YYYY-MM-DDTHH:MM)");
+        }
+    }
+
     /**
      * Lista agendamentos aguardando atendimento.
      */
@@ -98,6 +137,15 @@ public class AgendaController {
         return ResponseEntity.ok().body(encontrosHoje);
     }
     
+    /**
+     * Conta agendamentos por situação (AGUARDANDO, ATENDIDO ou CANCELADO).
+     */
+    @GetMapping("/situacao/{situacao}/count")
+    public ResponseEntity<Long> contarPorSituacao(@PathVariable Agenda.SituacaoAgenda situacao) {
+        long count = agendaService.contarPorSituacao(situacao);
+        return ResponseEntity.ok().body(count);
+    }
+
     /**
      * Conta encontros ativos de hoje para o dashboard.
      * Endpoint otimizado que retorna apenas a contagem, sem dados sensíveis.
@@ -1,9 +1,13 @@
 package com.br.psyclin.controllers;
 
+import com.br.psyclin.dto.request.RespostaLoteDTO;
 import com.br.psyclin.dto.response.ApiResponseDTO;
 import com.br.psyclin.dto.response.AnamneseResponseDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
+import com.br.psyclin.dto.response.RespostaResponseDTO;
 import com.br.psyclin.models.Anamnese;
 import com.br.psyclin.services.AnamneseService;
+import com.br.psyclin.services.RespostaService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -15,10 +19,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import jakarta.validation.Valid;
 import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -34,15 +41,23 @@ public class AnamneseController {
     @Autowired
     private AnamneseService anamneseService;
 
+    @Autowired
+    private RespostaService respostaService;
+
     /**
-     * Lista todas as anamneses.
+     * Lista as anamneses, paginadas por cursor (use o nextCursor da resposta para a próxima página).
      */
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<AnamneseResponseDTO>>> listarTodos() {
+    public ResponseEntity<ApiResponseDTO<List<AnamneseResponseDTO>>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
         try {
-            List<Anamnese> anamneses = anamneseService.listarTodos();
-            List<AnamneseResponseDTO> anamnesesDTO = anamneseService.converterParaDTO(anamneses);
-            return ResponseEntity.ok(ApiResponseDTO.success("Anamneses listadas com sucesso", anamnesesDTO));
+            PaginaCursor<AnamneseResponseDTO> pagina = anamneseService.listarPagina(cursor, tamanho);
+            return ResponseEntity.ok(ApiResponseDTO.success("Anamneses listadas com sucesso",
+                    pagina.getItens(), pagina.getProximoCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.error("Erro ao listar anamneses", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(ApiResponseDTO.error("Erro ao listar anamneses", e.getMessage()));
@@ -55,8 +70,7 @@ public class AnamneseController {
     @GetMapping("/ativas")
     public ResponseEntity<ApiResponseDTO<List<AnamneseResponseDTO>>> listarAtivas() {
         try {
-            List<Anamnese> anamnesesAtivas = anamneseService.listarAtivas();
-            List<AnamneseResponseDTO> anamnesesDTO = anamneseService.converterParaDTO(anamnesesAtivas);
+            List<AnamneseResponseDTO> anamnesesDTO = anamneseService.listarAtivasDTO();
             return ResponseEntity.ok(ApiResponseDTO.success("Anamneses ativas listadas", anamnesesDTO));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -64,6 +78,38 @@ public class AnamneseController {
         }
     }
 
+    /**
+     * Lista anamneses pendentes de aprovação do coordenador.
+     */
+    @GetMapping("/pendentes")
+    public ResponseEntity<ApiResponseDTO<List<AnamneseResponseDTO>>> listarPendentesAprovacao() {
+        try {
+            List<AnamneseResponseDTO> anamnesesDTO = anamneseService.listarPendentesAprovacaoDTO();
+            return ResponseEntity.ok(ApiResponseDTO.success("Anamneses pendentes listadas", anamnesesDTO));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro ao listar anamneses pendentes", e.getMessage()));
+        }
+    }
+
+    /**
+     * Lista anamneses por período (formato: YYYY-MM-DD, datas inclusivas).
+     */
+    @GetMapping("/periodo")
+    public ResponseEntity<ApiResponseDTO<List<AnamneseResponseDTO>>> listarPorPeriodo(
+            @RequestParam String dataInicio,
+            @RequestParam String dataFim) {
+        try {
+            List<AnamneseResponseDTO> anamnesesDTO = anamneseService.listarPorPeriodoDTO(
+                    LocalDate.parse(dataInicio).atStartOfDay(),
+                    LocalDate.parse(dataFim).atTime(LocalTime.MAX));
+            return ResponseEntity.ok(ApiResponseDTO.success("Anamneses do período listadas", anamnesesDTO));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.error("Erro ao listar anamneses por período", e.getMessage()));
+        }
+    }
+
     /**
      * Busca uma anamnese por id.
      */
@@ -136,4 +182,23 @@ public class AnamneseController {
                     .body(ApiResponseDTO.error("Erro ao atualizar status", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Envia o questionário completo da anamnese em uma única requisição.
+     * Perguntas já respondidas são atualizadas; as demais são inseridas.
+     */
+    @PostMapping("/{id}/respostas")
+    public ResponseEntity<ApiResponseDTO<List<RespostaResponseDTO>>> salvarRespostas(
+            @PathVariable Integer id, @RequestBody RespostaLoteDTO lote) {
+        try {
+            List<RespostaResponseDTO> respostas = respostaService.salvarLote(id, lote.getRespostas());
+            return ResponseEntity.ok(ApiResponseDTO.success("Respostas salvas com sucesso", respostas));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.error("Erro ao salvar respostas", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro ao salvar respostas", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.br.psyclin.controllers;
+
+import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.dto.response.ResultadoBuscaTextoDTO;
+import com.br.psyclin.services.BuscaTextoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para a busca textual em respostas de anamnese e prontuários.
+ */
+@RestController
+@RequestMapping("/busca")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class BuscaController {
+
+    @Autowired
+    private BuscaTextoService buscaTextoService;
+
+    /**
+     * Busca textual ordenada por relevância.
+     * tipo: RESPOSTA ou PRONTUARIO (opcional); filtros opcionais por paciente e profissional.
+     */
+    @GetMapping("/texto")
+    public ResponseEntity<ApiResponseDTO<ResultadoBuscaTextoDTO>> buscarTexto(
+            @RequestParam String q,
+            @RequestParam(required = false) BuscaTextoService.TipoTexto tipo,
+            @RequestParam(required = false) Integer idPaciente,
+            @RequestParam(required = false) Integer idProfissional,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        try {
+            ResultadoBuscaTextoDTO resultado = buscaTextoService.buscar(
+                    q, tipo, idPaciente, idProfissional, pagina, Math.min(tamanho, 100));
+            return ResponseEntity.ok(ApiResponseDTO.success("Busca realizada com sucesso", resultado));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.error("Erro na busca textual", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro na busca textual", e.getMessage()));
+        }
+    }
+
+    /**
+     * Dispara a reconstrução do índice textual a partir do banco, em segundo plano.
+     */
+    @PostMapping("/texto/reconstruir")
+    public ResponseEntity<ApiResponseDTO<Boolean>> reconstruir() {
+        boolean iniciada = buscaTextoService.reconstruirEmSegundoPlano();
+        return ResponseEntity.accepted().body(ApiResponseDTO.success(
+                iniciada ? "Reconstrução do índice iniciada" : "Reconstrução já em andamento", iniciada));
+    }
+}
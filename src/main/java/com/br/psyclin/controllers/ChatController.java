@@ -3,11 +3,16 @@ package com.br.psyclin.controllers;
 import com.br.psyclin.dto.request.ChatRequest;
 import com.br.psyclin.dto.response.ChatResponse;
 import com.br.psyclin.services.ChatService;
+import com.br.psyclin.services.TopicosProibidosService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import jakarta.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller REST para o chat AI educacional.
@@ -22,25 +27,30 @@ public class ChatController {
     @Autowired
     private ChatService chatService;
     
+    @Autowired
+    private TopicosProibidosService topicosProibidosService;
+    
     /**
      * Processa uma mensagem do chat.
+     * A thread do Tomcat é liberada enquanto a IA responde (processamento assíncrono).
      * 
      * @param request Requisição contendo a mensagem do usuário
      * @return Resposta do assistente virtual
      */
     @PostMapping("/message")
-    public ResponseEntity<ChatResponse> processarMensagem(@Valid @RequestBody ChatRequest request) {
+    public CompletableFuture<ResponseEntity<ChatResponse>> processarMensagem(@Valid @RequestBody ChatRequest request) {
         try {
             System.out.println("📨 Recebida mensagem: " + request.getMessage());
-            ChatResponse response = chatService.processarMensagem(request);
-            System.out.println("✅ Resposta enviada: " + response.getMessage().substring(0, Math.min(50, response.getMessage().length())) + "...");
-            return ResponseEntity.ok(response);
+            return chatService.processarMensagemAsync(request).thenApply(response -> {
+                System.out.println("✅ Resposta enviada: " + response.getMessage().substring(0, Math.min(50, response.getMessage().length())) + "...");
+                return ResponseEntity.ok(response);
+            });
         } catch (Exception e) {
             System.err.println("❌ Erro no controller: " + e.getMessage());
             e.printStackTrace();
-            return ResponseEntity.ok(
+            return CompletableFuture.completedFuture(ResponseEntity.ok(
                 ChatResponse.error("Erro interno do servidor. Tente novamente.")
-            );
+            ));
         }
     }
     
@@ -51,22 +61,57 @@ public class ChatController {
      * @return Resposta do assistente virtual
      */
     @GetMapping("/message")
-    public ResponseEntity<ChatResponse> processarMensagemGet(@RequestParam String message) {
+    public CompletableFuture<ResponseEntity<ChatResponse>> processarMensagemGet(@RequestParam String message) {
         try {
             System.out.println("📨 Recebida mensagem via GET: " + message);
             ChatRequest request = new ChatRequest(message);
-            ChatResponse response = chatService.processarMensagem(request);
-            System.out.println("✅ Resposta enviada via GET");
-            return ResponseEntity.ok(response);
+            return chatService.processarMensagemAsync(request).thenApply(response -> {
+                System.out.println("✅ Resposta enviada via GET");
+                return ResponseEntity.ok(response);
+            });
         } catch (Exception e) {
             System.err.println("❌ Erro no controller GET: " + e.getMessage());
             e.printStackTrace();
-            return ResponseEntity.ok(
+            return CompletableFuture.completedFuture(ResponseEntity.ok(
                 ChatResponse.error("Erro interno do servidor. Tente novamente.")
-            );
+            ));
         }
     }
     
+    /**
+     * Variante em streaming: repassa os tokens da resposta via Server-Sent Events.
+     * 
+     * @param request Requisição contendo a mensagem do usuário
+     * @return Emitter com eventos "token" e "fim"
+     */
+    @PostMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transmitirMensagem(@Valid @RequestBody ChatRequest request) {
+        System.out.println("📨 Recebida mensagem (stream): " + request.getMessage());
+        return chatService.transmitirMensagem(request);
+    }
+    
+    /**
+     * Variante GET do streaming, para uso com EventSource.
+     * 
+     * @param message Mensagem via query parameter
+     * @return Emitter com eventos "token" e "fim"
+     */
+    @GetMapping(value = "/message/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter transmitirMensagemGet(@RequestParam String message) {
+        System.out.println("📨 Recebida mensagem via GET (stream): " + message);
+        return chatService.transmitirMensagem(new ChatRequest(message));
+    }
+    
+    /**
+     * Lista os tópicos proibidos vigentes.
+     * 
+     * @return Tópicos na ordem de prioridade
+     */
+    @GetMapping("/topicos-proibidos")
+    public ResponseEntity<List<String>> listarTopicosProibidos() {
+        return ResponseEntity.ok(topicosProibidosService.listar());
+    }
+    
     /**
      * Endpoint de health check para o chat.
      * 
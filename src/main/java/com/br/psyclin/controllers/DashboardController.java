@@ -0,0 +1,37 @@
+package com.br.psyclin.controllers;
+
+import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.dto.response.DashboardResumoDTO;
+import com.br.psyclin.services.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para os indicadores do dashboard.
+ */
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    /**
+     * Retorna todos os indicadores do dashboard em uma única resposta.
+     */
+    @GetMapping("/resumo")
+    public ResponseEntity<ApiResponseDTO<DashboardResumoDTO>> buscarResumo() {
+        try {
+            DashboardResumoDTO resumo = dashboardService.buscarResumo();
+            return ResponseEntity.ok(ApiResponseDTO.success("Resumo do dashboard carregado", resumo));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro ao carregar resumo do dashboard", e.getMessage()));
+        }
+    }
+}
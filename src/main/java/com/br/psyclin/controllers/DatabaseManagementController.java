@@ -1,6 +1,7 @@
 package com.br.psyclin.controllers;
 
 import com.br.psyclin.configs.DatabaseConnectionManager;
+import com.br.psyclin.services.ControleAdmissaoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -19,8 +20,11 @@ public class DatabaseManagementController {
     @Autowired
     private DatabaseConnectionManager connectionManager;
 
+    @Autowired
+    private ControleAdmissaoService controleAdmissaoService;
+
     /**
-     * Força limpeza manual de conexões ociosas
+     * Recicla as conexões do pool (sem encerrar sessões no servidor)
      * GET /api/database/cleanup
      */
     @GetMapping("/cleanup")
@@ -28,10 +32,11 @@ public class DatabaseManagementController {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            connectionManager.forceCleanup();
+            int conexoes = connectionManager.reciclarConexoes();
             
             response.put("success", true);
-            response.put("message", "Limpeza de conexões executada com sucesso");
+            response.put("message", "Reciclagem de conexões executada com sucesso");
+            response.put("conexoes", conexoes);
             response.put("timestamp", System.currentTimeMillis());
             
             return ResponseEntity.ok(response);
@@ -74,21 +79,21 @@ public class DatabaseManagementController {
     }
 
     /**
-     * Endpoint de emergência - mata TODAS as conexões do usuário aluno7
+     * Endpoint de emergência - recicla todas as conexões do pool
      * POST /api/database/emergency-cleanup
-     * ⚠️ Use apenas em casos extremos!
+     * As ociosas fecham na hora e as emprestadas ao terminar a transação; nenhuma consulta é interrompida.
      */
     @PostMapping("/emergency-cleanup")
     public ResponseEntity<Map<String, Object>> emergencyCleanup() {
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // Aqui seria uma limpeza mais agressiva
-            connectionManager.forceCleanup();
+            int conexoes = connectionManager.reciclarConexoes();
             
             response.put("success", true);
-            response.put("message", "⚠️ Limpeza de emergência executada! Todas as conexões ociosas foram terminadas.");
-            response.put("warning", "Este é um endpoint de emergência. Use com cuidado.");
+            response.put("message", "⚠️ Reciclagem de emergência executada! Todas as conexões do pool serão renovadas.");
+            response.put("conexoes", conexoes);
+            response.put("admissao", controleAdmissaoService.relatorio());
             response.put("timestamp", System.currentTimeMillis());
             
             return ResponseEntity.ok(response);
@@ -101,4 +106,17 @@ public class DatabaseManagementController {
             return ResponseEntity.status(500).body(response);
         }
     }
+
+    /**
+     * Retorna o estado do controle de admissão (capacidade, ocupação e fila por prioridade)
+     * GET /api/database/admissao
+     */
+    @GetMapping("/admissao")
+    public ResponseEntity<Map<String, Object>> getAdmissao() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("admissao", controleAdmissaoService.relatorio());
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,42 @@
+package com.br.psyclin.controllers;
+
+import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.services.RegistroDocumentosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller REST para verificação de documentos já cadastrados.
+ * Usado pelos formulários de cadastro para avisar duplicidade antes do envio.
+ */
+@RestController
+@RequestMapping("/documento")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class DocumentoController {
+
+    @Autowired
+    private RegistroDocumentosService registroDocumentosService;
+
+    /**
+     * Verifica se um documento já está cadastrado.
+     * tipo: CPF, RG, CNPJ ou CODIGO_PROCEDIMENTO.
+     */
+    @GetMapping("/existe")
+    public ResponseEntity<ApiResponseDTO<Boolean>> existe(
+            @RequestParam RegistroDocumentosService.TipoDocumento tipo,
+            @RequestParam String valor) {
+        try {
+            boolean existe = registroDocumentosService.existe(tipo, valor);
+            return ResponseEntity.ok(ApiResponseDTO.success(
+                    existe ? "Documento já cadastrado" : "Documento não cadastrado", existe));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro ao verificar documento", e.getMessage()));
+        }
+    }
+}
@@ -2,7 +2,12 @@ package com.br.psyclin.controllers;
 
 import com.br.psyclin.models.Modulo;
 import com.br.psyclin.services.ModuloService;
+import com.br.psyclin.services.TemplateFormularioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +32,9 @@ public class ModuloController {
     @Autowired
     private ModuloService moduloService;
 
+    @Autowired
+    private TemplateFormularioService templateFormularioService;
+
     /**
      * Cadastra um novo módulo.
      */
@@ -64,4 +73,29 @@ public class ModuloController {
         Optional<Modulo> modulo = moduloService.buscarModuloPorId(id);
         return modulo.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Retorna o formulário pré-compilado do módulo (perguntas e tipos).
+     * Responde 304 quando o ETag enviado em If-None-Match ainda é o atual e 404 se o módulo não existir.
+     */
+    @GetMapping("/{id}/formulario")
+    public ResponseEntity<byte[]> formulario(@PathVariable Integer id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<TemplateFormularioService.TemplateCompilado> compilado = templateFormularioService.obterFormulario(id);
+        if (compilado.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        TemplateFormularioService.TemplateCompilado template = compilado.get();
+        if (ifNoneMatch != null && ifNoneMatch.contains(template.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(template.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(template.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(template.json());
+    }
+}
@@ -1,11 +1,16 @@
 package com.br.psyclin.controllers;
 
 import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.dto.response.ImportacaoProgressoDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.dto.response.PacienteResponseDTO;
 import com.br.psyclin.dto.request.PacienteUpdateDTO;
 import com.br.psyclin.models.Paciente;
+import com.br.psyclin.services.ImportacaoPacienteService;
 import com.br.psyclin.services.PacienteService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,8 +21,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -33,15 +44,26 @@ public class PacienteController {
     @Autowired
     private PacienteService pacienteService;
 
+    @Autowired
+    private ImportacaoPacienteService importacaoPacienteService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Lista todos os pacientes.
+     * Lista os pacientes, paginados por cursor (use o nextCursor da resposta para a próxima página).
      */
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<PacienteResponseDTO>>> listarTodos() {
+    public ResponseEntity<ApiResponseDTO<List<PacienteResponseDTO>>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
         try {
-            List<Paciente> pacientes = pacienteService.listarTodos();
-            List<PacienteResponseDTO> pacientesDTO = pacienteService.converterParaDTO(pacientes);
-            return ResponseEntity.ok(ApiResponseDTO.success("Pacientes listados com sucesso", pacientesDTO));
+            PaginaCursor<PacienteResponseDTO> pagina = pacienteService.listarPagina(cursor, tamanho);
+            return ResponseEntity.ok(ApiResponseDTO.success("Pacientes listados com sucesso",
+                    pagina.getItens(), pagina.getProximoCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.error("Erro ao listar pacientes", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(ApiResponseDTO.error("Erro ao listar pacientes", e.getMessage()));
@@ -54,8 +76,7 @@ public class PacienteController {
     @GetMapping("/ativos")
     public ResponseEntity<ApiResponseDTO<List<PacienteResponseDTO>>> listarAtivos() {
         try {
-            List<Paciente> pacientesAtivos = pacienteService.listarAtivos();
-            List<PacienteResponseDTO> pacientesDTO = pacienteService.converterParaDTO(pacientesAtivos);
+            List<PacienteResponseDTO> pacientesDTO = pacienteService.listarAtivosDTO();
             return ResponseEntity.ok(ApiResponseDTO.success("Pacientes ativos listados", pacientesDTO));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -63,6 +84,22 @@ public class PacienteController {
         }
     }
 
+    /**
+     * Busca pacientes por trecho ou prefixo do nome (autocomplete), ignorando acentos.
+     */
+    @GetMapping("/buscar")
+    public ResponseEntity<ApiResponseDTO<List<PacienteResponseDTO>>> buscarPorNome(
+            @RequestParam String nome,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            List<PacienteResponseDTO> pacientesDTO = pacienteService.buscarPorNomeDTO(nome, limite);
+            return ResponseEntity.ok(ApiResponseDTO.success("Pacientes encontrados", pacientesDTO));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro ao buscar pacientes", e.getMessage()));
+        }
+    }
+
     /**
      * Conta pacientes ativos para dashboard.
      */
@@ -87,6 +124,41 @@ public class PacienteController {
         }
     }
 
+    /**
+     * Importa pacientes em massa a partir do corpo da requisição (CSV com cabeçalho ou NDJSON).
+     * Colunas/campos: cpf, nome, dataNascimento, sexo, rg, estadoRg, telefone, email.
+     * A resposta é NDJSON: um evento "progresso" por lote gravado e um "resumo" ao final,
+     * com os erros por linha.
+     */
+    @PostMapping(value = "/importar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importar(
+            @RequestParam(defaultValue = "csv") String formato,
+            HttpServletRequest request) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(formato);
+
+        StreamingResponseBody corpo = saida -> {
+            try {
+                ImportacaoProgressoDTO resumo = importacaoPacienteService.importar(request.getInputStream(), ndjson,
+                        progresso -> escreverEvento(saida, progresso));
+                escreverEvento(saida, resumo);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
+    private void escreverEvento(OutputStream saida, ImportacaoProgressoDTO evento) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(evento));
+            saida.write('\n');
+            saida.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * Cadastra um novo paciente.
      */
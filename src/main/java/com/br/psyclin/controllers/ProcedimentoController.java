@@ -1,5 +1,7 @@
 package com.br.psyclin.controllers;
 
+import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.models.Procedimento;
 import com.br.psyclin.services.ProcedimentoService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,12 +34,15 @@ public class ProcedimentoController {
     private ProcedimentoService procedimentoService;
 
     /**
-     * Lista todos os procedimentos.
+     * Lista os procedimentos, paginados por cursor (use o nextCursor da resposta para a próxima página).
      */
     @GetMapping
-    public ResponseEntity<List<Procedimento>> listarTodos() {
-        List<Procedimento> procedimentos = procedimentoService.listarTodos();
-        return ResponseEntity.ok().body(procedimentos);
+    public ResponseEntity<ApiResponseDTO<List<Procedimento>>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        PaginaCursor<Procedimento> pagina = procedimentoService.listarPagina(cursor, tamanho);
+        return ResponseEntity.ok().body(ApiResponseDTO.success("Procedimentos listados com sucesso",
+                pagina.getItens(), pagina.getProximoCursor()));
     }
 
     /**
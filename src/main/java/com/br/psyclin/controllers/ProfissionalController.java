@@ -1,6 +1,7 @@
 package com.br.psyclin.controllers;
 
 import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.dto.response.ProfissionalResponseDTO;
 import com.br.psyclin.dto.request.ProfissionalUpdateDTO;
 import com.br.psyclin.models.Profissional;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -34,14 +36,19 @@ public class ProfissionalController {
     private ProfissionalService profissionalService;
 
     /**
-     * Lista todos os profissionais.
+     * Lista os profissionais, paginados por cursor (use o nextCursor da resposta para a próxima página).
      */
     @GetMapping
-    public ResponseEntity<ApiResponseDTO<List<ProfissionalResponseDTO>>> listarTodos() {
+    public ResponseEntity<ApiResponseDTO<List<ProfissionalResponseDTO>>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
         try {
-            List<Profissional> profissionais = profissionalService.listarTodos();
-            List<ProfissionalResponseDTO> profissionaisDTO = profissionalService.converterParaDTO(profissionais);
-            return ResponseEntity.ok(ApiResponseDTO.success("Profissionais listados com sucesso", profissionaisDTO));
+            PaginaCursor<ProfissionalResponseDTO> pagina = profissionalService.listarPagina(cursor, tamanho);
+            return ResponseEntity.ok(ApiResponseDTO.success("Profissionais listados com sucesso",
+                    pagina.getItens(), pagina.getProximoCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.error("Erro ao listar profissionais", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                     .body(ApiResponseDTO.error("Erro ao listar profissionais", e.getMessage()));
@@ -63,6 +70,22 @@ public class ProfissionalController {
         }
     }
 
+    /**
+     * Busca profissionais por trecho ou prefixo do nome (autocomplete), ignorando acentos.
+     */
+    @GetMapping("/buscar")
+    public ResponseEntity<ApiResponseDTO<List<ProfissionalResponseDTO>>> buscarPorNome(
+            @RequestParam String nome,
+            @RequestParam(required = false) Integer limite) {
+        try {
+            List<ProfissionalResponseDTO> profissionaisDTO = profissionalService.buscarPorNomeDTO(nome, limite);
+            return ResponseEntity.ok(ApiResponseDTO.success("Profissionais encontrados", profissionaisDTO));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro ao buscar profissionais", e.getMessage()));
+        }
+    }
+
     /**
      * Conta profissionais ativos para dashboard (otimizado para cache de 8 horas).
      */
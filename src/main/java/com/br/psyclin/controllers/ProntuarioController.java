@@ -1,7 +1,12 @@
 package com.br.psyclin.controllers;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.br.psyclin.dto.response.ApiResponseDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.models.Prontuario;
 import com.br.psyclin.services.ProntuarioService;
 import java.time.LocalDate;
@@ -73,17 +78,26 @@ public class ProntuarioController {
     }
 
     /**
-     * Endpoint para listar todos os prontuários.
+     * Endpoint para listar os prontuários, paginados por cursor.
      * 
-     * @return ResponseEntity com a lista de prontuários
+     * @param cursor cursor da próxima página (nextCursor da resposta anterior)
+     * @param tamanho tamanho da página (opcional)
+     * @return ResponseEntity com a página de prontuários e o cursor da próxima
      */
     @GetMapping
-    public ResponseEntity<List<Prontuario>> listarTodos() {
+    public ResponseEntity<ApiResponseDTO<List<Prontuario>>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
         try {
-            List<Prontuario> prontuarios = prontuarioService.listarTodos();
-            return ResponseEntity.ok(prontuarios);
+            PaginaCursor<Prontuario> pagina = prontuarioService.listarPagina(cursor, tamanho);
+            return ResponseEntity.ok(ApiResponseDTO.success("Prontuários listados com sucesso",
+                    pagina.getItens(), pagina.getProximoCursor()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.error("Erro ao listar prontuários", e.getMessage()));
         } catch (Exception e) {
-            return ResponseEntity.internalServerError().build();
+            return ResponseEntity.internalServerError()
+                    .body(ApiResponseDTO.error("Erro ao listar prontuários", e.getMessage()));
         }
     }
 
@@ -157,6 +171,34 @@ public class ProntuarioController {
         }
     }
 
+    /**
+     * Endpoint para exportar prontuários em streaming, com memória constante.
+     * O período é opcional; sem ele, exporta o histórico completo.
+     * 
+     * @param formato "ndjson" (padrão, um JSON por linha) ou "json" (array)
+     * @param dataInicio data de início opcional (formato: YYYY-MM-DD)
+     * @param dataFim data de fim opcional (formato: YYYY-MM-DD)
+     * @return ResponseEntity com o corpo escrito conforme os registros são lidos
+     */
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "ndjson") String formato,
+            @RequestParam(required = false) String dataInicio,
+            @RequestParam(required = false) String dataFim) {
+        // Data mal formatada sobe como DateTimeParseException e vira 400 com mensagem no GlobalExceptionHandler
+        boolean ndjson = !"json".equalsIgnoreCase(formato);
+        LocalDate inicio = dataInicio != null ? LocalDate.parse(dataInicio) : null;
+        LocalDate fim = dataFim != null ? LocalDate.parse(dataFim) : null;
+
+        StreamingResponseBody corpo = saida -> prontuarioService.exportar(inicio, fim, ndjson, saida);
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=prontuarios." + (ndjson ? "ndjson" : "json"))
+                .body(corpo);
+    }
+
     /**
      * Endpoint para buscar os últimos prontuários criados.
      * 
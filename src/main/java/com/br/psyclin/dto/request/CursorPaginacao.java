@@ -0,0 +1,91 @@
+package com.br.psyclin.dto.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma paginação por cursor (keyset).
+ * Guarda a chave de ordenação e o ID do último item da página anterior;
+ * para o cliente, o cursor é apenas um texto opaco em Base64.
+ */
+public class CursorPaginacao {
+
+    private static final char SEPARADOR = '|';
+
+    private final String chave;
+    private final Integer id;
+
+    public CursorPaginacao(String chave, Integer id) {
+        this.chave = chave;
+        this.id = id;
+    }
+
+    /**
+     * Decodifica o cursor recebido na requisição.
+     * @param cursor Cursor opaco (pode ser nulo ou vazio na primeira página)
+     * @return Posição decodificada, ou null quando não há cursor
+     */
+    public static CursorPaginacao decodificar(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separador = conteudo.indexOf(SEPARADOR);
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            Integer id = Integer.valueOf(conteudo.substring(0, separador));
+            return new CursorPaginacao(conteudo.substring(separador + 1), id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    /**
+     * Codifica a posição como cursor opaco para o cliente.
+     * @return Cursor em Base64 (URL safe)
+     */
+    public String codificar() {
+        String conteudo = id + String.valueOf(SEPARADOR) + (chave != null ? chave : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    /**
+     * Chave de ordenação como data e hora (listagens ordenadas por data e hora).
+     * @return Data e hora do último item da página anterior
+     * @throws IllegalArgumentException Se a chave não for uma data e hora válida
+     */
+    public LocalDateTime getChaveDataHora() {
+        try {
+            return LocalDateTime.parse(chave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido: chave " + chave);
+        }
+    }
+
+    /**
+     * Chave de ordenação como data (listagens ordenadas por data).
+     * @return Data do último item da página anterior
+     * @throws IllegalArgumentException Se a chave não for uma data válida
+     */
+    public LocalDate getChaveData() {
+        try {
+            return LocalDate.parse(chave);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido: chave " + chave);
+        }
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
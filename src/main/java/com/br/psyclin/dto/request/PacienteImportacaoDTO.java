@@ -0,0 +1,26 @@
+package com.br.psyclin.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de uma linha da importação em massa de pacientes (CSV ou NDJSON)
+ * Todos os campos chegam como texto; a validação é feita linha a linha no serviço
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PacienteImportacaoDTO {
+
+    private String cpf;
+    private String nome;
+    private String dataNascimento;
+    private String sexo;
+    private String rg;
+    private String estadoRg;
+    private String telefone;
+    private String email;
+}
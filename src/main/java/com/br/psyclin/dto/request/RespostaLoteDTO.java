@@ -0,0 +1,30 @@
+package com.br.psyclin.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO para envio do questionário completo de uma anamnese
+ * Cada item responde uma pergunta; perguntas já respondidas são atualizadas
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RespostaLoteDTO {
+
+    private List<Item> respostas;
+
+    /**
+     * Resposta a uma pergunta
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private Integer idPergunta;
+        private String respostaSubjetiva;
+        private Boolean respostaObjetiva;
+    }
+}
@@ -1,8 +1,12 @@
 package com.br.psyclin.dto.response;
 
+import com.br.psyclin.models.Anamnese;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * DTO para resposta de dados de anamnese
@@ -13,6 +17,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class AnamneseResponseDTO {
     
+    private static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    
     private Integer idAnamnese;
     private String nomePaciente;
     private String nomeProfissional;
@@ -23,6 +29,32 @@ public class AnamneseResponseDTO {
     private Boolean autorizacaoVisualizacao;
     private String observacoes;
     
+    /**
+     * Data original da anamnese, usada apenas como chave do cursor de paginação
+     */
+    @JsonIgnore
+    private LocalDateTime dataAnamnese;
+    
+    /**
+     * Construtor usado pelas consultas de projeção do AnamneseRepository.
+     * Já entrega a data formatada (dd/MM/yyyy) e o status como texto.
+     */
+    public AnamneseResponseDTO(Integer idAnamnese, String nomePaciente, String nomeProfissional,
+                               LocalDateTime dataAnamnese, Anamnese.StatusAnamnese statusAnamnese,
+                               String nomeResponsavel, String cpfResponsavel,
+                               Boolean autorizacaoVisualizacao, String observacoes) {
+        this.idAnamnese = idAnamnese;
+        this.nomePaciente = nomePaciente;
+        this.nomeProfissional = nomeProfissional;
+        this.dataAplicacao = dataAnamnese != null ? dataAnamnese.format(FORMATO_DATA) : null;
+        this.statusAnamnese = statusAnamnese != null ? statusAnamnese.toString() : null;
+        this.nomeResponsavel = nomeResponsavel;
+        this.cpfResponsavel = cpfResponsavel;
+        this.autorizacaoVisualizacao = autorizacaoVisualizacao;
+        this.observacoes = observacoes;
+        this.dataAnamnese = dataAnamnese;
+    }
+    
     /**
      * Converte status enum para texto legível
      */
@@ -1,5 +1,6 @@
 package com.br.psyclin.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,31 +19,44 @@ public class ApiResponseDTO<T> {
     private T data;
     private String error;
     
+    /**
+     * Cursor opaco da próxima página nas listagens paginadas (ausente na última página)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+    
     /**
      * Resposta de sucesso com dados
      */
     public static <T> ApiResponseDTO<T> success(T data) {
-        return new ApiResponseDTO<>(true, "Operação realizada com sucesso", data, null);
+        return new ApiResponseDTO<>(true, "Operação realizada com sucesso", data, null, null);
     }
     
     /**
      * Resposta de sucesso com mensagem personalizada
      */
     public static <T> ApiResponseDTO<T> success(String message, T data) {
-        return new ApiResponseDTO<>(true, message, data, null);
+        return new ApiResponseDTO<>(true, message, data, null, null);
+    }
+    
+    /**
+     * Resposta de sucesso de uma listagem paginada por cursor
+     */
+    public static <T> ApiResponseDTO<T> success(String message, T data, String nextCursor) {
+        return new ApiResponseDTO<>(true, message, data, null, nextCursor);
     }
     
     /**
      * Resposta de erro
      */
     public static <T> ApiResponseDTO<T> error(String error) {
-        return new ApiResponseDTO<>(false, null, null, error);
+        return new ApiResponseDTO<>(false, null, null, error, null);
     }
     
     /**
      * Resposta de erro com mensagem personalizada
      */
     public static <T> ApiResponseDTO<T> error(String message, String error) {
-        return new ApiResponseDTO<>(false, message, null, error);
+        return new ApiResponseDTO<>(false, message, null, error, null);
     }
 }
\ No newline at end of file
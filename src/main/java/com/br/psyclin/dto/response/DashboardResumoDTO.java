@@ -0,0 +1,23 @@
+package com.br.psyclin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO com os indicadores do dashboard
+ * Todos os contadores são calculados em uma única consulta
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DashboardResumoDTO {
+
+    private Long pacientesAtivos;
+    private Long profissionaisAtivos;
+    private Long anamnesesAtivas;
+    private Long encontrosAtivosHoje;
+    private Long procedimentos;
+    private Long prontuarios;
+    private Long prontuariosHoje;
+}
@@ -0,0 +1,34 @@
+package com.br.psyclin.dto.response;
+
+import com.br.psyclin.models.Pergunta;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO com a definição do formulário de um módulo (perguntas e seus tipos)
+ * Gerado uma vez por versão do módulo e servido já serializado
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FormularioModuloDTO {
+
+    private Integer idModulo;
+    private String modulo;
+    private Long versao;
+    private List<Campo> perguntas;
+
+    /**
+     * Pergunta do formulário
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Campo {
+        private Integer idPergunta;
+        private String pergunta;
+        private Pergunta.TipoPergunta tipo;
+    }
+}
@@ -0,0 +1,18 @@
+package com.br.psyclin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de um intervalo livre na agenda de um profissional
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HorarioLivreDTO {
+
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+}
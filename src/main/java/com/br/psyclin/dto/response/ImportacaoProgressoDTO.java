@@ -0,0 +1,36 @@
+package com.br.psyclin.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO de progresso da importação em massa
+ * Emitido a cada lote gravado ("progresso") e uma vez ao final ("resumo")
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportacaoProgressoDTO {
+
+    private String tipo;
+    private long processados;
+    private long importados;
+    private long rejeitados;
+    private List<Erro> erros;
+    private Long duracaoMs;
+
+    /**
+     * Erro de uma linha do arquivo
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Erro {
+        private long linha;
+        private String mensagem;
+    }
+}
@@ -1,8 +1,11 @@
 package com.br.psyclin.dto.response;
 
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.PessoaFisica;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.time.LocalDate;
 
 /**
  * DTO para resposta de dados de paciente
@@ -24,6 +27,26 @@ public class PacienteResponseDTO {
     private String estadoRg;
     private String statusPaciente;
     
+    /**
+     * Construtor usado pelas consultas de projeção do PacienteRepository.
+     * Recebe os tipos do banco e aplica as mesmas conversões de converterParaDTO.
+     */
+    public PacienteResponseDTO(Integer idPaciente, String nomePessoa, String cpfPessoa,
+                               String telefone, String email, LocalDate dataNascimento,
+                               PessoaFisica.Sexo sexo, String rgPaciente,
+                               Paciente.EstadoRg estadoRg, Boolean statusPaciente) {
+        this.idPaciente = idPaciente;
+        this.nomePessoa = nomePessoa;
+        this.cpfPessoa = cpfPessoa;
+        this.telefone = telefone;
+        this.email = email;
+        this.dataNascimento = dataNascimento != null ? dataNascimento.toString() : null;
+        this.sexo = sexo != null ? sexo.toString() : null;
+        this.rgPaciente = rgPaciente;
+        this.estadoRg = estadoRg != null ? estadoRg.toString() : null;
+        this.statusPaciente = Boolean.TRUE.equals(statusPaciente) ? "1" : "0";
+    }
+    
     /**
      * Converte status numérico para texto
      */
@@ -0,0 +1,46 @@
+package com.br.psyclin.dto.response;
+
+import com.br.psyclin.dto.request.CursorPaginacao;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de uma paginação por cursor (keyset).
+ * @param <T> Tipo dos itens da página
+ */
+public class PaginaCursor<T> {
+
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public PaginaCursor(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Monta a página a partir das linhas lidas com uma linha a mais que o tamanho pedido.
+     * Se a linha extra veio, existe próxima página e o cursor aponta para o último item mantido.
+     * @param linhas Linhas lidas do banco (até tamanho + 1)
+     * @param tamanho Tamanho da página
+     * @param posicao Extrai a chave de ordenação e o ID de um item
+     * @return Página com os itens e o cursor da próxima página (null na última)
+     */
+    public static <T> PaginaCursor<T> de(List<T> linhas, int tamanho, Function<T, CursorPaginacao> posicao) {
+        if (linhas.size() <= tamanho) {
+            return new PaginaCursor<>(linhas, null);
+        }
+
+        List<T> itens = linhas.subList(0, tamanho);
+        String proximo = posicao.apply(itens.get(tamanho - 1)).codificar();
+        return new PaginaCursor<>(itens, proximo);
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.br.psyclin.dto.response;
 
+import com.br.psyclin.models.Profissional;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,6 +24,24 @@ public class ProfissionalResponseDTO {
     private String telefone;
     private String email;
     
+    /**
+     * Construtor usado pelas consultas de projeção do ProfissionalRepository.
+     * Recebe os tipos do banco e aplica as mesmas conversões de converterParaDTO.
+     */
+    public ProfissionalResponseDTO(Integer idProfissional, String nomePessoa, Integer idConselhoProfissional,
+                                   Profissional.TipoProfissional tipoProfissional,
+                                   Profissional.StatusProfissional statusProfissional) {
+        this.idProfissional = idProfissional;
+        this.nomePessoa = nomePessoa;
+        this.telefone = "N/A";
+        this.email = "N/A";
+        this.codigoProfissional = "PROF" + idProfissional;
+        this.conselhoProfissional = idConselhoProfissional != null ? "CRP" : null;
+        this.tipoProfissional = tipoProfissional != null ? tipoProfissional.getValue() : null;
+        this.statusProfissional = statusProfissional != null ? statusProfissional.getValue() : null;
+        this.especialidade = "N/A";
+    }
+    
     /**
      * Converte status numérico para texto
      */
@@ -0,0 +1,29 @@
+package com.br.psyclin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * DTO de uma linha da exportação de prontuários
+ * Versão plana do prontuário, sem o grafo de entidades relacionadas
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProntuarioExportacaoDTO {
+
+    private Integer idProntuario;
+    private Integer idPaciente;
+    private String nomePaciente;
+    private Integer idProfissional;
+    private String nomeProfissional;
+    private String especialidade;
+    private String codigoProcedimento;
+    private String procedimento;
+    private LocalDate dataProcedimento;
+    private String descricaoProntuario;
+    private String linkProcedimento;
+    private Boolean autorizacaoPacienteVisualizacao;
+}
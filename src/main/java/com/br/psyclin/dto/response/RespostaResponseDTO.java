@@ -0,0 +1,20 @@
+package com.br.psyclin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta de uma pergunta da anamnese
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RespostaResponseDTO {
+
+    private Integer idResposta;
+    private Integer idPergunta;
+    private String pergunta;
+    private String respostaSubjetiva;
+    private Boolean respostaObjetiva;
+}
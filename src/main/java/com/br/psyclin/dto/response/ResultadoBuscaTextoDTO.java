@@ -0,0 +1,35 @@
+package com.br.psyclin.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * DTO com uma página de resultados da busca textual em respostas e prontuários
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoBuscaTextoDTO {
+
+    private Long total;
+    private Integer pagina;
+    private Integer tamanho;
+    private List<Item> itens;
+
+    /**
+     * Documento encontrado, em ordem de relevância
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private String tipo;
+        private Integer id;
+        private Integer idPaciente;
+        private Integer idProfissional;
+        private Float pontuacao;
+        private String trecho;
+    }
+}
@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -99,6 +100,7 @@ public class Agenda {
      * Lista de procedimentos prescritos agendados.
      */
     @OneToMany(mappedBy = "agenda")
+    @JsonIgnore
     private List<ProcPrescAge> procedimentosPrescritos;
 
     /**
@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -55,5 +56,6 @@ public class Cidade {
      * Lista de endereços localizados nesta cidade.
      */
     @OneToMany(mappedBy = "cidade")
+    @JsonIgnore
     private List<Endereco> enderecos;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
@@ -55,5 +56,6 @@ public class ConselhoProfissional {
      * Lista de profissionais registrados neste conselho.
      */
     @OneToMany(mappedBy = "conselhoProfissional")
+    @JsonIgnore
     private List<Profissional> profissionais;
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
@@ -53,11 +54,13 @@ public class Especialidade {
      * Lista de profissionais desta especialidade.
      */
     @ManyToMany(mappedBy = "especialidades")
+    @JsonIgnore
     private List<Profissional> profissionais;
 
     /**
      * Lista de procedimentos desta especialidade.
      */
     @ManyToMany(mappedBy = "especialidades")
+    @JsonIgnore
     private List<Procedimento> procedimentos;
 } 
\ No newline at end of file
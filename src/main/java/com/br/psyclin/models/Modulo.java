@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -47,5 +48,6 @@ public class Modulo {
      * Lista de perguntas que pertencem a este módulo.
      */
     @ManyToMany(mappedBy = "modulos")
+    @JsonIgnore
     private List<Pergunta> perguntas;
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -70,6 +71,7 @@ public class Pergunta {
      * Lista de respostas para esta pergunta.
      */
     @OneToMany(mappedBy = "pergunta")
+    @JsonIgnore
     private List<Resposta> respostas;
 
     /**
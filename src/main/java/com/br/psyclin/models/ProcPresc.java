@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import jakarta.persistence.Id;
@@ -76,11 +77,13 @@ public class ProcPresc {
      * Lista de agendamentos para este procedimento.
      */
     @OneToMany(mappedBy = "procPresc")
+    @JsonIgnore
     private List<ProcPrescAge> agendamentos;
 
     /**
      * Lista de atendimentos deste procedimento.
      */
     @OneToMany(mappedBy = "procPresc")
+    @JsonIgnore
     private List<ProcPrescAte> atendimentos;
 } 
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -97,5 +98,6 @@ public class Prontuario {
      * Lista de procedimentos prescritos atendidos neste prontuário.
      */
     @OneToMany(mappedBy = "prontuario")
+    @JsonIgnore
     private List<ProcPrescAte> procedimentosPrescritosAtendidos;
 } 
\ No newline at end of file
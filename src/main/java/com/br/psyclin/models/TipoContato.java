@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -48,5 +49,6 @@ public class TipoContato {
      * Lista de contatos que utilizam este tipo.
      */
     @OneToMany(mappedBy = "tipoContato")
+    @JsonIgnore
     private List<Contato> contatos;
 } 
\ No newline at end of file
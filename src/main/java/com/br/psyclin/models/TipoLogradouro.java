@@ -1,5 +1,6 @@
 package com.br.psyclin.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -48,5 +49,6 @@ public class TipoLogradouro {
      * Lista de endereços que utilizam este tipo de logradouro.
      */
     @OneToMany(mappedBy = "tipoLogradouro")
+    @JsonIgnore
     private List<Endereco> enderecos;
 } 
\ No newline at end of file
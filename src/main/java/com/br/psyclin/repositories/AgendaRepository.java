@@ -1,6 +1,7 @@
 package com.br.psyclin.repositories;
 
 import com.br.psyclin.models.Agenda;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -115,4 +116,20 @@ public interface AgendaRepository extends JpaRepository<Agenda, Integer> {
            "ORDER BY COALESCE(a.dataNova, a.dataAbertura) DESC")
     List<Agenda> buscarAgendamentosAtendidosHoje(@Param("inicioHoje") LocalDateTime inicioHoje, 
                                                  @Param("fimHoje") LocalDateTime fimHoje);
+
+    /**
+     * Página de agendamentos, do mais recente para o mais antigo, por cursor (keyset).
+     * Continua após (cursorData, cursorId); sem cursor, retorna a primeira página.
+     * 
+     * @param cursorData Data de abertura do último agendamento da página anterior (null na primeira página)
+     * @param cursorId ID do último agendamento da página anterior (null na primeira página)
+     * @param pageable Limite de linhas da página (sempre offset 0)
+     * @return Lista de agendamentos da página
+     */
+    @Query("SELECT a FROM Agenda a WHERE (:cursorId IS NULL OR a.dataAbertura < :cursorData " +
+           "OR (a.dataAbertura = :cursorData AND a.idAgenda < :cursorId)) " +
+           "ORDER BY a.dataAbertura DESC, a.idAgenda DESC")
+    List<Agenda> buscarPagina(@Param("cursorData") LocalDateTime cursorData,
+                              @Param("cursorId") Integer cursorId,
+                              Pageable pageable);
 }
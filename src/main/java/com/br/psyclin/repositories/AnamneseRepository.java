@@ -1,6 +1,8 @@
 package com.br.psyclin.repositories;
 
+import com.br.psyclin.dto.response.AnamneseResponseDTO;
 import com.br.psyclin.models.Anamnese;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -163,4 +165,91 @@ public interface AnamneseRepository extends JpaRepository<Anamnese, Integer> {
      * @return Lista de anamneses com a autorização especificada
      */
     List<Anamnese> findByAutorizacaoVisualizacao(Boolean autorizacaoVisualizacao);
+
+    /**
+     * Lista todas as anamneses já projetadas no DTO de resposta.
+     * Paciente, profissional e seus nomes vêm no mesmo SELECT, sem consultas por linha.
+     * 
+     * @return Lista de DTOs de todas as anamneses
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.AnamneseResponseDTO(" +
+           "a.idAnamnese, pfPac.nomePessoa, pfProf.nomePessoa, a.dataAnamnese, a.statusAnamnese, " +
+           "a.nomeResponsavel, a.cpfResponsavel, a.autorizacaoVisualizacao, a.observacoes) " +
+           "FROM Anamnese a " +
+           "LEFT JOIN a.paciente pac LEFT JOIN pac.pessoaFisica pfPac " +
+           "LEFT JOIN a.profissional prof LEFT JOIN prof.pessoaFisica pfProf " +
+           "ORDER BY a.dataAnamnese DESC")
+    List<AnamneseResponseDTO> buscarResumoAnamneses();
+
+    /**
+     * Lista anamneses ativas (statusFuncional = true) já projetadas no DTO de resposta.
+     * Equivalente a {@link #findByStatusFuncionalTrue()} em uma única consulta.
+     * 
+     * @return Lista de DTOs das anamneses ativas
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.AnamneseResponseDTO(" +
+           "a.idAnamnese, pfPac.nomePessoa, pfProf.nomePessoa, a.dataAnamnese, a.statusAnamnese, " +
+           "a.nomeResponsavel, a.cpfResponsavel, a.autorizacaoVisualizacao, a.observacoes) " +
+           "FROM Anamnese a " +
+           "LEFT JOIN a.paciente pac LEFT JOIN pac.pessoaFisica pfPac " +
+           "LEFT JOIN a.profissional prof LEFT JOIN prof.pessoaFisica pfProf " +
+           "WHERE a.statusFuncional = true " +
+           "ORDER BY a.dataAnamnese DESC")
+    List<AnamneseResponseDTO> buscarResumoAnamnesesAtivas();
+
+    /**
+     * Lista anamneses pendentes de aprovação (REPROVADO) já projetadas no DTO de resposta.
+     * Equivalente a {@link #buscarAnamnesesPendentesAprovacao()} em uma única consulta.
+     * 
+     * @return Lista de DTOs das anamneses pendentes de aprovação
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.AnamneseResponseDTO(" +
+           "a.idAnamnese, pfPac.nomePessoa, pfProf.nomePessoa, a.dataAnamnese, a.statusAnamnese, " +
+           "a.nomeResponsavel, a.cpfResponsavel, a.autorizacaoVisualizacao, a.observacoes) " +
+           "FROM Anamnese a " +
+           "LEFT JOIN a.paciente pac LEFT JOIN pac.pessoaFisica pfPac " +
+           "LEFT JOIN a.profissional prof LEFT JOIN prof.pessoaFisica pfProf " +
+           "WHERE a.statusAnamnese = 'REPROVADO' " +
+           "ORDER BY a.dataAnamnese DESC")
+    List<AnamneseResponseDTO> buscarResumoAnamnesesPendentesAprovacao();
+
+    /**
+     * Lista anamneses de um período já projetadas no DTO de resposta.
+     * Equivalente a {@link #buscarAnamnesesPorPeriodo(LocalDateTime, LocalDateTime)} em uma única consulta.
+     * 
+     * @param dataInicio Data de início do período
+     * @param dataFim Data de fim do período
+     * @return Lista de DTOs das anamneses no período especificado
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.AnamneseResponseDTO(" +
+           "a.idAnamnese, pfPac.nomePessoa, pfProf.nomePessoa, a.dataAnamnese, a.statusAnamnese, " +
+           "a.nomeResponsavel, a.cpfResponsavel, a.autorizacaoVisualizacao, a.observacoes) " +
+           "FROM Anamnese a " +
+           "LEFT JOIN a.paciente pac LEFT JOIN pac.pessoaFisica pfPac " +
+           "LEFT JOIN a.profissional prof LEFT JOIN prof.pessoaFisica pfProf " +
+           "WHERE a.dataAnamnese BETWEEN :dataInicio AND :dataFim " +
+           "ORDER BY a.dataAnamnese DESC")
+    List<AnamneseResponseDTO> buscarResumoAnamnesesPorPeriodo(@Param("dataInicio") LocalDateTime dataInicio, @Param("dataFim") LocalDateTime dataFim);
+
+    /**
+     * Página de anamneses projetadas no DTO, da mais recente para a mais antiga, por cursor (keyset).
+     * Continua após (cursorData, cursorId); sem cursor, retorna a primeira página.
+     * 
+     * @param cursorData Data da última anamnese da página anterior (null na primeira página)
+     * @param cursorId ID da última anamnese da página anterior (null na primeira página)
+     * @param pageable Limite de linhas da página (sempre offset 0)
+     * @return Lista de DTOs da página
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.AnamneseResponseDTO(" +
+           "a.idAnamnese, pfPac.nomePessoa, pfProf.nomePessoa, a.dataAnamnese, a.statusAnamnese, " +
+           "a.nomeResponsavel, a.cpfResponsavel, a.autorizacaoVisualizacao, a.observacoes) " +
+           "FROM Anamnese a " +
+           "LEFT JOIN a.paciente pac LEFT JOIN pac.pessoaFisica pfPac " +
+           "LEFT JOIN a.profissional prof LEFT JOIN prof.pessoaFisica pfProf " +
+           "WHERE (:cursorId IS NULL OR a.dataAnamnese < :cursorData " +
+           "OR (a.dataAnamnese = :cursorData AND a.idAnamnese < :cursorId)) " +
+           "ORDER BY a.dataAnamnese DESC, a.idAnamnese DESC")
+    List<AnamneseResponseDTO> buscarResumoAnamnesesPagina(@Param("cursorData") LocalDateTime cursorData,
+                                                          @Param("cursorId") Integer cursorId,
+                                                          Pageable pageable);
 } 
\ No newline at end of file
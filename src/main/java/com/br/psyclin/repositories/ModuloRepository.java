@@ -83,4 +83,15 @@ public interface ModuloRepository extends JpaRepository<Modulo, Integer> {
      */
     @Query("SELECT m FROM Modulo m ORDER BY m.modulo ASC")
     List<Modulo> buscarModulosOrdenadosPorNome();
-} 
\ No newline at end of file
+
+    /**
+     * Busca a estrutura do formulário de um módulo em uma única consulta, sem carregar o grafo de entidades.
+     * Cada linha contém: idModulo, modulo, idPergunta, pergunta, tipo (pergunta nula se o módulo estiver vazio).
+     * 
+     * @param idModulo ID do módulo
+     * @return Linhas ordenadas pelo ID da pergunta
+     */
+    @Query("SELECT m.idModulo, m.modulo, p.idPergunta, p.pergunta, p.tipo " +
+           "FROM Modulo m LEFT JOIN m.perguntas p WHERE m.idModulo = :idModulo ORDER BY p.idPergunta")
+    List<Object[]> buscarEstruturaFormulario(@Param("idModulo") Integer idModulo);
+}
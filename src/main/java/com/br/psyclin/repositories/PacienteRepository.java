@@ -1,10 +1,13 @@
 package com.br.psyclin.repositories;
 
+import com.br.psyclin.dto.response.PacienteResponseDTO;
 import com.br.psyclin.models.Paciente;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,6 +61,13 @@ public interface PacienteRepository extends JpaRepository<Paciente, Integer> {
      */
     List<Paciente> findByStatusPacienteTrue();
 
+    /**
+     * Conta pacientes ativos sem carregar as entidades.
+     * 
+     * @return Quantidade de pacientes ativos
+     */
+    long countByStatusPacienteTrue();
+
     /**
      * Busca pacientes por status.
      * 
@@ -89,4 +99,89 @@ public interface PacienteRepository extends JpaRepository<Paciente, Integer> {
      * @return Lista de pacientes do estado especificado
      */
     List<Paciente> findByEstadoRg(Paciente.EstadoRg estadoRg);
+
+    /**
+     * Lista pacientes já projetados no DTO de resposta, em uma única consulta.
+     * O telefone e o email retornados são os primeiros cadastrados (menor ID),
+     * equivalentes ao primeiro item das listas usadas em converterParaDTO.
+     * 
+     * @return Lista de DTOs de todos os pacientes (ativos e inativos)
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.PacienteResponseDTO(" +
+           "p.idPaciente, pf.nomePessoa, pf.cpfPessoa, " +
+           "(SELECT c.numero FROM Contato c WHERE c.idContato = " +
+           "(SELECT MIN(c2.idContato) FROM Contato c2 WHERE c2.pessoa = pe)), " +
+           "(SELECT e.email FROM Email e WHERE e.idEmail = " +
+           "(SELECT MIN(e2.idEmail) FROM Email e2 WHERE e2.pessoa = pe)), " +
+           "pf.dataNascimento, pf.sexo, p.rgPaciente, p.estadoRg, p.statusPaciente) " +
+           "FROM Paciente p LEFT JOIN p.pessoaFisica pf LEFT JOIN pf.pessoa pe " +
+           "ORDER BY p.idPaciente")
+    List<PacienteResponseDTO> buscarResumoPacientes();
+
+    /**
+     * Lista pacientes de um conjunto de IDs já projetados no DTO de resposta.
+     * 
+     * @param ids IDs dos pacientes
+     * @return Lista de DTOs dos pacientes (sem ordem garantida)
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.PacienteResponseDTO(" +
+           "p.idPaciente, pf.nomePessoa, pf.cpfPessoa, " +
+           "(SELECT c.numero FROM Contato c WHERE c.idContato = " +
+           "(SELECT MIN(c2.idContato) FROM Contato c2 WHERE c2.pessoa = pe)), " +
+           "(SELECT e.email FROM Email e WHERE e.idEmail = " +
+           "(SELECT MIN(e2.idEmail) FROM Email e2 WHERE e2.pessoa = pe)), " +
+           "pf.dataNascimento, pf.sexo, p.rgPaciente, p.estadoRg, p.statusPaciente) " +
+           "FROM Paciente p LEFT JOIN p.pessoaFisica pf LEFT JOIN pf.pessoa pe " +
+           "WHERE p.idPaciente IN :ids")
+    List<PacienteResponseDTO> buscarResumoPacientesPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Lista ID e nome de todos os pacientes, para carga do índice de busca por nome.
+     * 
+     * @return Linhas [idPaciente, nomePessoa]
+     */
+    @Query("SELECT p.idPaciente, pf.nomePessoa FROM Paciente p JOIN p.pessoaFisica pf")
+    List<Object[]> buscarNomesPacientes();
+
+    /**
+     * Lista pacientes de um status já projetados no DTO de resposta, em uma única consulta.
+     * 
+     * @param statusPaciente Status do paciente (true = ativo, false = inativo)
+     * @return Lista de DTOs dos pacientes com o status especificado
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.PacienteResponseDTO(" +
+           "p.idPaciente, pf.nomePessoa, pf.cpfPessoa, " +
+           "(SELECT c.numero FROM Contato c WHERE c.idContato = " +
+           "(SELECT MIN(c2.idContato) FROM Contato c2 WHERE c2.pessoa = pe)), " +
+           "(SELECT e.email FROM Email e WHERE e.idEmail = " +
+           "(SELECT MIN(e2.idEmail) FROM Email e2 WHERE e2.pessoa = pe)), " +
+           "pf.dataNascimento, pf.sexo, p.rgPaciente, p.estadoRg, p.statusPaciente) " +
+           "FROM Paciente p LEFT JOIN p.pessoaFisica pf LEFT JOIN pf.pessoa pe " +
+           "WHERE p.statusPaciente = :statusPaciente " +
+           "ORDER BY p.idPaciente")
+    List<PacienteResponseDTO> buscarResumoPacientesPorStatus(@Param("statusPaciente") Boolean statusPaciente);
+
+    /**
+     * Página de pacientes projetados no DTO, em ordem alfabética, por cursor (keyset).
+     * Continua após (cursorNome, cursorId); sem cursor, retorna a primeira página.
+     * 
+     * @param cursorNome Nome do último paciente da página anterior (null na primeira página)
+     * @param cursorId ID do último paciente da página anterior (null na primeira página)
+     * @param pageable Limite de linhas da página (sempre offset 0)
+     * @return Lista de DTOs da página
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.PacienteResponseDTO(" +
+           "p.idPaciente, pf.nomePessoa, pf.cpfPessoa, " +
+           "(SELECT c.numero FROM Contato c WHERE c.idContato = " +
+           "(SELECT MIN(c2.idContato) FROM Contato c2 WHERE c2.pessoa = pe)), " +
+           "(SELECT e.email FROM Email e WHERE e.idEmail = " +
+           "(SELECT MIN(e2.idEmail) FROM Email e2 WHERE e2.pessoa = pe)), " +
+           "pf.dataNascimento, pf.sexo, p.rgPaciente, p.estadoRg, p.statusPaciente) " +
+           "FROM Paciente p JOIN p.pessoaFisica pf LEFT JOIN pf.pessoa pe " +
+           "WHERE (:cursorId IS NULL OR pf.nomePessoa > :cursorNome " +
+           "OR (pf.nomePessoa = :cursorNome AND p.idPaciente > :cursorId)) " +
+           "ORDER BY pf.nomePessoa ASC, p.idPaciente ASC")
+    List<PacienteResponseDTO> buscarResumoPacientesPagina(@Param("cursorNome") String cursorNome,
+                                                          @Param("cursorId") Integer cursorId,
+                                                          Pageable pageable);
 } 
\ No newline at end of file
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -93,4 +94,13 @@ public interface PerguntaRepository extends JpaRepository<Pergunta, Integer> {
      */
     @Query("SELECT p FROM Pergunta p WHERE p.tipo = 'A'")
     List<Pergunta> buscarPerguntasAmbas();
+
+    /**
+     * Lista, dentre os IDs informados, os que existem - sem carregar as perguntas.
+     * 
+     * @param ids IDs das perguntas
+     * @return IDs existentes
+     */
+    @Query("SELECT p.idPergunta FROM Pergunta p WHERE p.idPergunta IN :ids")
+    List<Integer> buscarIdsExistentes(@Param("ids") Collection<Integer> ids);
 } 
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.br.psyclin.repositories;
 
 import com.br.psyclin.models.Procedimento;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -77,4 +79,20 @@ public interface ProcedimentoRepository extends JpaRepository<Procedimento, Inte
      */
     @Query("SELECT p FROM Procedimento p WHERE p.valor BETWEEN :valorMinimo AND :valorMaximo ORDER BY p.valor ASC")
     List<Procedimento> findByFaixaValor(Double valorMinimo, Double valorMaximo);
+
+    /**
+     * Página de procedimentos em ordem alfabética de descrição, por cursor (keyset).
+     * Continua após (cursorDescricao, cursorId); sem cursor, retorna a primeira página.
+     * 
+     * @param cursorDescricao Descrição do último procedimento da página anterior (null na primeira página)
+     * @param cursorId ID do último procedimento da página anterior (null na primeira página)
+     * @param pageable Limite de linhas da página (sempre offset 0)
+     * @return Lista de procedimentos da página
+     */
+    @Query("SELECT p FROM Procedimento p WHERE (:cursorId IS NULL OR p.descricao > :cursorDescricao " +
+           "OR (p.descricao = :cursorDescricao AND p.idProcedimento > :cursorId)) " +
+           "ORDER BY p.descricao ASC, p.idProcedimento ASC")
+    List<Procedimento> buscarPagina(@Param("cursorDescricao") String cursorDescricao,
+                                    @Param("cursorId") Integer cursorId,
+                                    Pageable pageable);
 }
@@ -1,6 +1,8 @@
 package com.br.psyclin.repositories;
 
+import com.br.psyclin.dto.response.ProfissionalResponseDTO;
 import com.br.psyclin.models.Profissional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -126,4 +128,33 @@ public interface ProfissionalRepository extends JpaRepository<Profissional, Inte
      */
     @Query("SELECT p FROM Profissional p JOIN p.especialidades e WHERE e.idEspecialidade = :idEspecialidade AND p.statusProfissional = '_1'")
     List<Profissional> buscarProfissionaisAtivosPorEspecialidade(@Param("idEspecialidade") Integer idEspecialidade);
-} 
\ No newline at end of file
+
+    /**
+     * Página de profissionais projetados no DTO, em ordem alfabética, por cursor (keyset).
+     * Continua após (cursorNome, cursorId); sem cursor, retorna a primeira página.
+     * A projeção evita carregar as associações EAGER (pessoa, supervisor, conselho) de cada linha.
+     * 
+     * @param cursorNome Nome do último profissional da página anterior (null na primeira página)
+     * @param cursorId ID do último profissional da página anterior (null na primeira página)
+     * @param pageable Limite de linhas da página (sempre offset 0)
+     * @return Lista de DTOs da página
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.ProfissionalResponseDTO(" +
+           "p.idProfissional, pf.nomePessoa, p.conselhoProfissional.idConselhoProfissional, " +
+           "p.tipoProfissional, p.statusProfissional) " +
+           "FROM Profissional p JOIN p.pessoaFisica pf " +
+           "WHERE (:cursorId IS NULL OR pf.nomePessoa > :cursorNome " +
+           "OR (pf.nomePessoa = :cursorNome AND p.idProfissional > :cursorId)) " +
+           "ORDER BY pf.nomePessoa ASC, p.idProfissional ASC")
+    List<ProfissionalResponseDTO> buscarResumoProfissionaisPagina(@Param("cursorNome") String cursorNome,
+                                                                  @Param("cursorId") Integer cursorId,
+                                                                  Pageable pageable);
+
+    /**
+     * Lista ID e nome de todos os profissionais, para carga do índice de busca por nome.
+     * 
+     * @return Linhas [idProfissional, nomePessoa]
+     */
+    @Query("SELECT p.idProfissional, pf.nomePessoa FROM Profissional p JOIN p.pessoaFisica pf")
+    List<Object[]> buscarNomesProfissionais();
+}
@@ -1,12 +1,18 @@
 package com.br.psyclin.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.br.psyclin.dto.response.ProntuarioExportacaoDTO;
 import com.br.psyclin.models.Prontuario;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações relacionadas à entidade Prontuario.
@@ -80,4 +86,64 @@ public interface ProntuarioRepository extends JpaRepository<Prontuario, Integer>
      */
     @Query("SELECT p FROM Prontuario p ORDER BY p.dataProcedimento DESC, p.idProntuario DESC")
     List<Prontuario> buscarUltimosProntuarios(Pageable pageable);
+
+    /**
+     * Página de prontuários, do mais recente para o mais antigo, por cursor (keyset).
+     * Continua após (cursorData, cursorId); sem cursor, retorna a primeira página.
+     * 
+     * @param cursorData data do procedimento do último prontuário da página anterior (null na primeira página)
+     * @param cursorId ID do último prontuário da página anterior (null na primeira página)
+     * @param pageable limite de linhas da página (sempre offset 0)
+     * @return lista de prontuários da página
+     */
+    @Query("SELECT p FROM Prontuario p WHERE (:cursorId IS NULL OR p.dataProcedimento < :cursorData " +
+           "OR (p.dataProcedimento = :cursorData AND p.idProntuario < :cursorId)) " +
+           "ORDER BY p.dataProcedimento DESC, p.idProntuario DESC")
+    List<Prontuario> buscarPagina(@Param("cursorData") LocalDate cursorData,
+                                  @Param("cursorId") Integer cursorId,
+                                  Pageable pageable);
+
+    /**
+     * Percorre os prontuários de um período como stream de linhas de exportação já projetadas.
+     * A projeção lê só as colunas exportadas em um único SELECT, sem instanciar as entidades
+     * nem suas associações EAGER (pessoa, supervisor, lado inverso de PessoaFisica), e o driver
+     * lê em blocos do tamanho do fetch size, sem materializar a lista inteira.
+     * No MySQL o fetch size só é respeitado com useCursorFetch=true na URL JDBC.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @param dataInicio data de início do período (null para sem limite inicial)
+     * @param dataFim data de fim do período (null para sem limite final)
+     * @return stream de linhas de exportação ordenadas por ID do prontuário
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.br.psyclin.dto.response.ProntuarioExportacaoDTO(" +
+           "p.idProntuario, pac.idPaciente, pfPac.nomePessoa, prof.idProfissional, pfProf.nomePessoa, " +
+           "esp.descricao, proc.codProcedimento, proc.descricao, p.dataProcedimento, " +
+           "p.descricaoProntuario, p.linkProcedimento, p.autorizacaoPacienteVisualizacao) " +
+           "FROM Prontuario p " +
+           "LEFT JOIN p.paciente pac LEFT JOIN pac.pessoaFisica pfPac " +
+           "LEFT JOIN p.profissional prof LEFT JOIN prof.pessoaFisica pfProf " +
+           "LEFT JOIN p.especialidade esp LEFT JOIN p.procedimento proc " +
+           "WHERE (:dataInicio IS NULL OR p.dataProcedimento >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR p.dataProcedimento <= :dataFim) " +
+           "ORDER BY p.idProntuario")
+    Stream<ProntuarioExportacaoDTO> streamPorPeriodo(@Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    /**
+     * Percorre as descrições de todos os prontuários para a reconstrução do índice textual.
+     * Cada linha contém: idProntuario, idPaciente, idProfissional, descricaoProntuario.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return Stream de linhas com descrição preenchida
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.idProntuario, p.paciente.idPaciente, p.profissional.idProfissional, p.descricaoProntuario " +
+           "FROM Prontuario p WHERE p.descricaoProntuario IS NOT NULL")
+    Stream<Object[]> streamTextosProntuarios();
 }
@@ -1,12 +1,18 @@
 package com.br.psyclin.repositories;
 
+import com.br.psyclin.dto.response.RespostaResponseDTO;
 import com.br.psyclin.models.Resposta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações relacionadas a Respostas de Anamnese.
@@ -111,4 +117,53 @@ public interface RespostaRepository extends JpaRepository<Resposta, Integer> {
      */
     @Query("SELECT r FROM Resposta r WHERE r.respostaObjetiva IS NOT NULL AND r.respostaSubjetiva IS NOT NULL")
     List<Resposta> buscarRespostasCompletas();
-} 
\ No newline at end of file
+
+    /**
+     * Busca, em uma única consulta, as respostas já existentes de uma anamnese para um conjunto de perguntas.
+     * 
+     * @param idAnamnese ID da anamnese
+     * @param idsPergunta IDs das perguntas
+     * @return Lista de respostas existentes (com a pergunta carregada)
+     */
+    @Query("SELECT r FROM Resposta r JOIN FETCH r.pergunta p " +
+           "WHERE r.anamnese.idAnamnese = :idAnamnese AND p.idPergunta IN :idsPergunta")
+    List<Resposta> buscarPorAnamneseEPerguntas(@Param("idAnamnese") Integer idAnamnese,
+                                               @Param("idsPergunta") Collection<Integer> idsPergunta);
+
+    /**
+     * Lista as respostas de uma anamnese já projetadas no DTO, em uma única consulta.
+     * 
+     * @param idAnamnese ID da anamnese
+     * @return Lista de DTOs ordenada pela pergunta
+     */
+    @Query("SELECT new com.br.psyclin.dto.response.RespostaResponseDTO(" +
+           "r.idResposta, p.idPergunta, p.pergunta, r.respostaSubjetiva, r.respostaObjetiva) " +
+           "FROM Resposta r JOIN r.pergunta p WHERE r.anamnese.idAnamnese = :idAnamnese " +
+           "ORDER BY p.idPergunta")
+    List<RespostaResponseDTO> buscarRespostasDTOPorAnamnese(@Param("idAnamnese") Integer idAnamnese);
+
+    /**
+     * Percorre as respostas subjetivas para a reconstrução do índice textual.
+     * Cada linha contém: idResposta, idPaciente, idProfissional, respostaSubjetiva.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return Stream de linhas com resposta subjetiva preenchida
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.idResposta, a.paciente.idPaciente, a.profissional.idProfissional, r.respostaSubjetiva " +
+           "FROM Resposta r JOIN r.anamnese a WHERE r.respostaSubjetiva IS NOT NULL")
+    Stream<Object[]> streamTextosRespostas();
+
+    /**
+     * Lista as respostas subjetivas de uma anamnese no mesmo formato de {@link #streamTextosRespostas()}.
+     * 
+     * @param idAnamnese ID da anamnese
+     * @return Linhas com idResposta, idPaciente, idProfissional e respostaSubjetiva
+     */
+    @Query("SELECT r.idResposta, a.paciente.idPaciente, a.profissional.idProfissional, r.respostaSubjetiva " +
+           "FROM Resposta r JOIN r.anamnese a WHERE a.idAnamnese = :idAnamnese")
+    List<Object[]> buscarTextosRespostasPorAnamnese(@Param("idAnamnese") Integer idAnamnese);
+}
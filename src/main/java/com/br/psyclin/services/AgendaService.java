@@ -1,9 +1,13 @@
 package com.br.psyclin.services;
 
+import com.br.psyclin.configs.PaginacaoConfig;
+import com.br.psyclin.dto.request.CursorPaginacao;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.models.Agenda;
 import com.br.psyclin.repositories.AgendaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -25,10 +29,21 @@ public class AgendaService {
     @Autowired
     private AgendaRepository agendaRepository;
 
+    @Autowired
+    private PaginacaoConfig paginacaoConfig;
+
+    @Autowired
+    private ContadorStatusService contadorStatusService;
+
+    @Autowired
+    private DisponibilidadeService disponibilidadeService;
+
     /**
      * Cadastra um novo agendamento.
+     * Recusa o cadastro se o horário cruzar outro agendamento do mesmo profissional.
      * @param agenda Agendamento a ser cadastrado
      * @return Agendamento salvo
+     * @throws ConflitoHorarioException se houver conflito de horário
      */
     public Agenda cadastrarAgendamento(Agenda agenda) {
         try {
@@ -48,7 +63,12 @@ public class AgendaService {
                 throw new IllegalArgumentException("Data de abertura é obrigatória");
             }
             
-            return agendaRepository.save(agenda);
+            Object reserva = disponibilidadeService.reservar(agenda);
+            Agenda salva = agendaRepository.save(agenda);
+            disponibilidadeService.confirmarReserva(reserva, salva);
+            return salva;
+        } catch (ConflitoHorarioException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao cadastrar agendamento: " + e.getMessage(), e);
         }
@@ -56,9 +76,11 @@ public class AgendaService {
 
     /**
      * Atualiza os dados de um agendamento existente.
+     * Reagendamentos passam pela mesma checagem de conflito do cadastro.
      * @param id ID do agendamento
      * @param dadosAtualizados Dados a serem atualizados
      * @return Agendamento atualizado
+     * @throws ConflitoHorarioException se houver conflito de horário
      */
     public Agenda atualizarAgendamento(Integer id, Agenda dadosAtualizados) {
         try {
@@ -87,7 +109,10 @@ public class AgendaService {
                 agenda.setMotivoCancelamento(dadosAtualizados.getMotivoCancelamento());
             }
             
+            disponibilidadeService.reservar(agenda);
             return agendaRepository.save(agenda);
+        } catch (ConflitoHorarioException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao atualizar agendamento: " + e.getMessage(), e);
         }
@@ -109,6 +134,7 @@ public class AgendaService {
             }
             
             agendaRepository.deleteById(id);
+            disponibilidadeService.liberar(agenda.get());
         } catch (Exception e) {
             throw new RuntimeException("Erro ao excluir agendamento: " + e.getMessage(), e);
         }
@@ -146,6 +172,32 @@ public class AgendaService {
         }
     }
     
+    /**
+     * Lista uma página de agendamentos (mais recentes primeiro) por cursor.
+     * @param cursor Cursor retornado pela página anterior (null na primeira página)
+     * @param tamanho Tamanho da página (opcional)
+     * @return Página de agendamentos e cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<Agenda> listarPagina(String cursor, Integer tamanho) {
+        try {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            int limite = paginacaoConfig.resolverTamanho(tamanho);
+            
+            List<Agenda> linhas = agendaRepository.buscarPagina(
+                    posicao != null ? posicao.getChaveDataHora() : null,
+                    posicao != null ? posicao.getId() : null,
+                    paginacaoConfig.janela(limite));
+            
+            return PaginaCursor.de(linhas, limite,
+                    agenda -> new CursorPaginacao(agenda.getDataAbertura().toString(), agenda.getIdAgenda()));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar agendamentos: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Lista agendamentos aguardando atendimento.
      * @return Lista de agendamentos aguardando
@@ -159,6 +211,21 @@ public class AgendaService {
         }
     }
     
+    /**
+     * Conta agendamentos por situação.
+     * Lido do contador em memória, sem abrir transação nem ir ao banco.
+     * @param situacao Situação do agendamento
+     * @return Número de agendamentos na situação
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long contarPorSituacao(Agenda.SituacaoAgenda situacao) {
+        try {
+            return contadorStatusService.agendasPorSituacao(situacao);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao contar agendamentos por situação: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Conta encontros ativos de hoje (aguardando atendimento).
      * Este método é otimizado para contagem apenas, usado no dashboard.
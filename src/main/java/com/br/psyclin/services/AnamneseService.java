@@ -1,10 +1,16 @@
 package com.br.psyclin.services;
 
+import com.br.psyclin.configs.PaginacaoConfig;
+import com.br.psyclin.dto.request.CursorPaginacao;
+import com.br.psyclin.dto.response.AnamneseResponseDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.models.Anamnese;
 import com.br.psyclin.repositories.AnamneseRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +25,12 @@ public class AnamneseService {
     @Autowired
     private AnamneseRepository anamneseRepository;
 
+    @Autowired
+    private PaginacaoConfig paginacaoConfig;
+
+    @Autowired
+    private ContadorStatusService contadorStatusService;
+
     /**
      * Cadastra uma nova anamnese.
      * @param anamnese Anamnese a ser cadastrada
@@ -189,15 +201,105 @@ public class AnamneseService {
         }
     }
     
+    /**
+     * Lista todas as anamneses já convertidas para DTO, em uma única consulta.
+     * @return Lista de DTOs de todas as anamneses
+     */
+    @Transactional(readOnly = true)
+    public List<AnamneseResponseDTO> listarTodosDTO() {
+        try {
+            return anamneseRepository.buscarResumoAnamneses();
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar anamneses: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lista uma página de anamneses (mais recentes primeiro) já convertidas para DTO.
+     * Paginação por cursor: cada página custa o mesmo, independente da posição.
+     * @param cursor Cursor retornado pela página anterior (null na primeira página)
+     * @param tamanho Tamanho da página (opcional)
+     * @return Página de DTOs e cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<AnamneseResponseDTO> listarPagina(String cursor, Integer tamanho) {
+        try {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            int limite = paginacaoConfig.resolverTamanho(tamanho);
+            
+            List<AnamneseResponseDTO> linhas = anamneseRepository.buscarResumoAnamnesesPagina(
+                    posicao != null ? posicao.getChaveDataHora() : null,
+                    posicao != null ? posicao.getId() : null,
+                    paginacaoConfig.janela(limite));
+            
+            return PaginaCursor.de(linhas, limite,
+                    dto -> new CursorPaginacao(dto.getDataAnamnese().toString(), dto.getIdAnamnese()));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar anamneses: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lista as anamneses ativas já convertidas para DTO, em uma única consulta.
+     * @return Lista de DTOs das anamneses ativas
+     */
+    @Transactional(readOnly = true)
+    public List<AnamneseResponseDTO> listarAtivasDTO() {
+        try {
+            return anamneseRepository.buscarResumoAnamnesesAtivas();
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar anamneses ativas: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lista as anamneses pendentes de aprovação pelo coordenador, já convertidas para DTO.
+     * @return Lista de DTOs das anamneses pendentes
+     */
+    @Transactional(readOnly = true)
+    public List<AnamneseResponseDTO> listarPendentesAprovacaoDTO() {
+        try {
+            return anamneseRepository.buscarResumoAnamnesesPendentesAprovacao();
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar anamneses pendentes de aprovação: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lista as anamneses de um período já convertidas para DTO.
+     * @param dataInicio Data de início do período
+     * @param dataFim Data de fim do período
+     * @return Lista de DTOs das anamneses no período
+     */
+    @Transactional(readOnly = true)
+    public List<AnamneseResponseDTO> listarPorPeriodoDTO(LocalDateTime dataInicio, LocalDateTime dataFim) {
+        try {
+            if (dataInicio == null || dataFim == null) {
+                throw new IllegalArgumentException("Data de início e data de fim são obrigatórias");
+            }
+            
+            if (dataInicio.isAfter(dataFim)) {
+                throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+            }
+            
+            return anamneseRepository.buscarResumoAnamnesesPorPeriodo(dataInicio, dataFim);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar anamneses por período: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Conta o número de anamneses ativas para o dashboard.
      * Este método é otimizado para contagem apenas, sem retornar dados sensíveis.
+     * Lido do contador em memória, sem abrir transação nem ir ao banco.
      * @return Número de anamneses ativas
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Long contarAtivas() {
         try {
-            return anamneseRepository.countByStatusFuncionalTrue();
+            return contadorStatusService.anamnesesAtivas();
         } catch (Exception e) {
             throw new RuntimeException("Erro ao contar anamneses ativas: " + e.getMessage(), e);
         }
@@ -0,0 +1,246 @@
+package com.br.psyclin.services;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeSet;
+
+/**
+ * Autômato de Aho-Corasick imutável para localizar vários termos em uma única passada pelo texto.
+ * Termos e texto são comparados sem diferenciar maiúsculas nem acentos ("diagnóstico" casa com "DIAGNOSTICO"),
+ * dos dois lados e também em forma decomposta (letra seguida do acento combinante, U+0300 a U+036F).
+ * As transições são uma tabela densa já resolvida (sem seguir links de falha durante a busca),
+ * e a dobra de acentos é feita caractere a caractere por tabela: a busca não aloca memória.
+ * Assim como o String.contains anterior, um termo casa em qualquer posição do texto.
+ */
+public final class AutomatoTermos {
+
+    /** Dobra de maiúsculas/acentos para os caracteres até U+024F (Latim estendido). */
+    private static final char[] DOBRA = new char[0x250];
+
+    /** Faixa dos acentos combinantes, ignorados na comparação. */
+    private static final char PRIMEIRO_COMBINANTE = '\u0300';
+    private static final char ULTIMO_COMBINANTE = '\u036F';
+
+    static {
+        for (char c = 0; c < DOBRA.length; c++) {
+            String base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+            DOBRA[c] = Character.toLowerCase(base.charAt(0));
+        }
+    }
+
+    private final String[] termos;
+    private final char[] simbolos;
+    private final int[] classeAscii = new int[128];
+    private final int larguraAlfabeto;
+    private final int[] transicoes;
+    private final int[] menorTermo;
+    private final int[][] saidas;
+
+    private AutomatoTermos(String[] termos, char[] simbolos, int[] transicoes, int[] menorTermo, int[][] saidas) {
+        this.termos = termos;
+        this.simbolos = simbolos;
+        this.larguraAlfabeto = simbolos.length + 1;
+        this.transicoes = transicoes;
+        this.menorTermo = menorTermo;
+        this.saidas = saidas;
+        for (int i = 0; i < simbolos.length; i++) {
+            if (simbolos[i] < 128) {
+                classeAscii[simbolos[i]] = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Compila o autômato. Termos vazios (após a dobra) são ignorados; a ordem define a prioridade.
+     * @param lista Termos a procurar
+     * @return Autômato compilado
+     */
+    public static AutomatoTermos compilar(Collection<String> lista) {
+        List<String> termos = new ArrayList<>();
+        List<String> dobrados = new ArrayList<>();
+        for (String termo : lista) {
+            String dobrado = dobrar(termo == null ? "" : termo.trim());
+            if (!dobrado.isEmpty()) {
+                termos.add(termo.trim());
+                dobrados.add(dobrado);
+            }
+        }
+
+        TreeSet<Character> alfabeto = new TreeSet<>();
+        dobrados.forEach(t -> t.chars().forEach(c -> alfabeto.add((char) c)));
+        char[] simbolos = new char[alfabeto.size()];
+        int s = 0;
+        for (char c : alfabeto) {
+            simbolos[s++] = c;
+        }
+        int largura = simbolos.length + 1;
+
+        // Trie
+        List<int[]> filhos = new ArrayList<>();
+        List<List<Integer>> terminais = new ArrayList<>();
+        filhos.add(new int[largura]);
+        terminais.add(new ArrayList<>());
+        for (int t = 0; t < dobrados.size(); t++) {
+            int estado = 0;
+            for (char c : dobrados.get(t).toCharArray()) {
+                int classe = Arrays.binarySearch(simbolos, c) + 1;
+                if (filhos.get(estado)[classe] == 0) {
+                    filhos.add(new int[largura]);
+                    terminais.add(new ArrayList<>());
+                    filhos.get(estado)[classe] = filhos.size() - 1;
+                }
+                estado = filhos.get(estado)[classe];
+            }
+            terminais.get(estado).add(t);
+        }
+
+        // Links de falha em largura, já resolvendo a tabela densa e acumulando as saídas
+        int total = filhos.size();
+        int[] transicoes = new int[total * largura];
+        int[] falha = new int[total];
+        int[][] saidas = new int[total][];
+        int[] menorTermo = new int[total];
+        Map<Integer, List<Integer>> saidasAcumuladas = new HashMap<>();
+        Queue<Integer> fila = new ArrayDeque<>();
+
+        saidasAcumuladas.put(0, terminais.get(0));
+        for (int classe = 1; classe < largura; classe++) {
+            int filho = filhos.get(0)[classe];
+            transicoes[classe] = filho;
+            if (filho != 0) {
+                falha[filho] = 0;
+                fila.add(filho);
+            }
+        }
+        while (!fila.isEmpty()) {
+            int estado = fila.poll();
+            List<Integer> acumuladas = new ArrayList<>(terminais.get(estado));
+            acumuladas.addAll(saidasAcumuladas.get(falha[estado]));
+            saidasAcumuladas.put(estado, acumuladas);
+            for (int classe = 1; classe < largura; classe++) {
+                int filho = filhos.get(estado)[classe];
+                if (filho != 0) {
+                    falha[filho] = transicoes[falha[estado] * largura + classe];
+                    transicoes[estado * largura + classe] = filho;
+                    fila.add(filho);
+                } else {
+                    transicoes[estado * largura + classe] = transicoes[falha[estado] * largura + classe];
+                }
+            }
+        }
+        for (int estado = 0; estado < total; estado++) {
+            saidas[estado] = saidasAcumuladas.get(estado).stream().mapToInt(Integer::intValue).sorted().toArray();
+            menorTermo[estado] = saidas[estado].length > 0 ? saidas[estado][0] : -1;
+        }
+
+        return new AutomatoTermos(termos.toArray(String[]::new), simbolos, transicoes, menorTermo, saidas);
+    }
+
+    /**
+     * Procura os termos no texto em uma única passada, sem alocar memória.
+     * @param texto Texto a examinar
+     * @return Índice do termo encontrado de maior prioridade (menor posição na lista), ou -1
+     */
+    public int buscar(CharSequence texto) {
+        int estado = 0;
+        int encontrado = Integer.MAX_VALUE;
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            char c = texto.charAt(i);
+            if (combinante(c)) {
+                continue;
+            }
+            estado = transicoes[estado * larguraAlfabeto + classe(c)];
+            int termo = menorTermo[estado];
+            if (termo >= 0 && termo < encontrado) {
+                encontrado = termo;
+                if (encontrado == 0) {
+                    break;
+                }
+            }
+        }
+        return encontrado == Integer.MAX_VALUE ? -1 : encontrado;
+    }
+
+    /**
+     * Lista todos os termos presentes no texto (cada termo uma vez, na ordem da lista).
+     * @param texto Texto a examinar
+     * @return Termos encontrados
+     */
+    public List<String> encontrarTodos(CharSequence texto) {
+        boolean[] presentes = new boolean[termos.length];
+        int estado = 0;
+        for (int i = 0, n = texto.length(); i < n; i++) {
+            char c = texto.charAt(i);
+            if (combinante(c)) {
+                continue;
+            }
+            estado = transicoes[estado * larguraAlfabeto + classe(c)];
+            for (int termo : saidas[estado]) {
+                presentes[termo] = true;
+            }
+        }
+        List<String> encontrados = new ArrayList<>();
+        for (int t = 0; t < termos.length; t++) {
+            if (presentes[t]) {
+                encontrados.add(termos[t]);
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Termo original pelo índice.
+     * @param indice Índice retornado por {@link #buscar}
+     * @return Termo como foi cadastrado
+     */
+    public String termo(int indice) {
+        return termos[indice];
+    }
+
+    /**
+     * Termos compilados, na ordem de prioridade.
+     * @return Cópia da lista de termos
+     */
+    public List<String> termos() {
+        return List.of(termos);
+    }
+
+    /**
+     * Quantidade de estados do autômato.
+     * @return Total de estados
+     */
+    public int totalEstados() {
+        return menorTermo.length;
+    }
+
+    private int classe(char c) {
+        char dobrado = c < DOBRA.length ? DOBRA[c] : Character.toLowerCase(c);
+        if (dobrado < 128) {
+            return classeAscii[dobrado];
+        }
+        int posicao = Arrays.binarySearch(simbolos, dobrado);
+        return posicao >= 0 ? posicao + 1 : 0;
+    }
+
+    private static boolean combinante(char c) {
+        return c >= PRIMEIRO_COMBINANTE && c <= ULTIMO_COMBINANTE;
+    }
+
+    private static String dobrar(String texto) {
+        StringBuilder dobrado = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (!combinante(c)) {
+                dobrado.append(c < DOBRA.length ? DOBRA[c] : Character.toLowerCase(c));
+            }
+        }
+        return dobrado.toString();
+    }
+}
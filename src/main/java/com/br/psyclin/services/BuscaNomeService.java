@@ -0,0 +1,108 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.repositories.PacienteRepository;
+import com.br.psyclin.repositories.ProfissionalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serviço de busca de pacientes e profissionais por nome.
+ * 
+ * Mantém um índice de trigramas (IndiceTrigramas) para cada cadastro, carregado na subida
+ * da aplicação e atualizado pelo IndiceNomeListener a cada escrita confirmada. A busca
+ * ignora acentos e caixa ("joao" encontra "João") e não faz varredura no banco.
+ */
+@Service
+public class BuscaNomeService {
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private ProfissionalRepository profissionalRepository;
+
+    private final IndiceTrigramas indicePacientes = new IndiceTrigramas();
+    private final IndiceTrigramas indiceProfissionais = new IndiceTrigramas();
+
+    /**
+     * Carrega os índices a partir do banco.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            indicePacientes.recarregar(paraMapa(pacienteRepository.buscarNomesPacientes()));
+            indiceProfissionais.recarregar(paraMapa(profissionalRepository.buscarNomesProfissionais()));
+            System.out.println("🔎 Índice de nomes carregado: " + indicePacientes.tamanho() + " pacientes, "
+                    + indiceProfissionais.tamanho() + " profissionais");
+        } catch (Exception e) {
+            System.err.println("❌ Erro ao carregar índice de nomes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Busca IDs de pacientes pelo nome.
+     * @param nome Trecho ou prefixo do nome
+     * @param limite Quantidade máxima de resultados
+     * @return IDs dos pacientes, do mais relevante ao menos relevante
+     */
+    public List<Integer> buscarPacientes(String nome, int limite) {
+        return indicePacientes.buscar(nome, limite);
+    }
+
+    /**
+     * Busca IDs de profissionais pelo nome.
+     * @param nome Trecho ou prefixo do nome
+     * @param limite Quantidade máxima de resultados
+     * @return IDs dos profissionais, do mais relevante ao menos relevante
+     */
+    public List<Integer> buscarProfissionais(String nome, int limite) {
+        return indiceProfissionais.buscar(nome, limite);
+    }
+
+    /**
+     * Atualiza o nome de um paciente no índice.
+     * @param idPaciente ID do paciente
+     * @param nome Nome atual (null remove)
+     */
+    public void indexarPaciente(Integer idPaciente, String nome) {
+        indicePacientes.indexar(idPaciente, nome);
+    }
+
+    /**
+     * Remove um paciente do índice.
+     * @param idPaciente ID do paciente
+     */
+    public void removerPaciente(Integer idPaciente) {
+        indicePacientes.remover(idPaciente);
+    }
+
+    /**
+     * Atualiza o nome de um profissional no índice.
+     * @param idProfissional ID do profissional
+     * @param nome Nome atual (null remove)
+     */
+    public void indexarProfissional(Integer idProfissional, String nome) {
+        indiceProfissionais.indexar(idProfissional, nome);
+    }
+
+    /**
+     * Remove um profissional do índice.
+     * @param idProfissional ID do profissional
+     */
+    public void removerProfissional(Integer idProfissional) {
+        indiceProfissionais.remover(idProfissional);
+    }
+
+    private Map<Integer, String> paraMapa(List<Object[]> linhas) {
+        Map<Integer, String> nomes = new HashMap<>(linhas.size() * 2);
+        for (Object[] linha : linhas) {
+            nomes.put((Integer) linha[0], (String) linha[1]);
+        }
+        return nomes;
+    }
+}
@@ -0,0 +1,472 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.dto.response.ResultadoBuscaTextoDTO;
+import com.br.psyclin.repositories.ProntuarioRepository;
+import com.br.psyclin.repositories.RespostaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseLightStemFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Service de busca textual (Lucene embarcado, gravado em disco local) sobre as respostas subjetivas
+ * das anamneses e as descrições dos prontuários.
+ * A análise é em português (stopwords, stemming leve e remoção de acentos). O índice é atualizado a cada
+ * gravação confirmada (IndiceTextoListener) e pode ser reconstruído a partir do banco em segundo plano.
+ * As gravações só vão para o buffer do IndexWriter; a reabertura do searcher fica com uma thread própria
+ * (ControlledRealTimeReopenThread), de modo que as buscas enxergam uma gravação em no máximo
+ * psyclin.busca.atraso-maximo-ms. Nenhuma tela depende de ler a própria gravação na busca textual;
+ * quem precisar disso usa aguardarGeracao com o valor devolvido por indexar/remover.
+ */
+@Service
+public class BuscaTextoService {
+
+    /**
+     * Origem do texto indexado
+     */
+    public enum TipoTexto {
+        RESPOSTA, PRONTUARIO
+    }
+
+    private static final String CAMPO_CHAVE = "chave";
+    private static final String CAMPO_TIPO = "tipo";
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_PACIENTE = "idPaciente";
+    private static final String CAMPO_PROFISSIONAL = "idProfissional";
+    private static final String CAMPO_TEXTO = "texto";
+    private static final String CAMPO_GERACAO = "geracao";
+    private static final int TAMANHO_TRECHO = 200;
+
+    @Autowired
+    private RespostaRepository respostaRepository;
+
+    @Autowired
+    private ProntuarioRepository prontuarioRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${psyclin.busca.diretorio:indice-texto}")
+    private String diretorio;
+
+    @Value("${psyclin.busca.max-resultados:1000}")
+    private int maxResultados;
+
+    @Value("${psyclin.busca.atraso-maximo-ms:1000}")
+    private long atrasoMaximoMs;
+
+    private final Analyzer analisador = new AnalisadorPortugues();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reabertura;
+
+    /**
+     * Geração gravada em cada documento; a reconstrução remove os documentos de gerações anteriores
+     */
+    private volatile long geracao = System.currentTimeMillis();
+    private final AtomicBoolean reconstruindo = new AtomicBoolean(false);
+
+    /**
+     * Chaves gravadas pelos listeners durante a reconstrução (a leitura do banco pode estar desatualizada)
+     */
+    private final Set<String> alteradasDuranteReconstrucao = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "psyclin-indice-texto");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Abre (ou cria) o índice no diretório configurado.
+     */
+    @PostConstruct
+    public void abrir() {
+        try {
+            directory = FSDirectory.open(Path.of(diretorio));
+            IndexWriterConfig config = new IndexWriterConfig(analisador)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            writer = new IndexWriter(directory, config);
+            searcherManager = new SearcherManager(writer, null);
+            // Reabre no máximo a cada atrasoMaximoMs; com alguém aguardando uma geração, em até 25 ms
+            reabertura = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                    atrasoMaximoMs / 1000.0, Math.min(0.025, atrasoMaximoMs / 1000.0));
+            reabertura.setName("psyclin-indice-texto-reabertura");
+            reabertura.setDaemon(true);
+            reabertura.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao abrir índice textual: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Se o índice estiver vazio (primeira execução ou diretório removido), reconstrói em segundo plano.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        if (writer.getDocStats().numDocs == 0) {
+            reconstruirEmSegundoPlano();
+        }
+    }
+
+    /**
+     * Indexa (ou reindexa) um texto. Texto vazio remove o documento.
+     * @param tipo Origem do texto
+     * @param id ID da resposta ou do prontuário
+     * @param idPaciente ID do paciente
+     * @param idProfissional ID do profissional
+     * @param texto Conteúdo
+     * @return Geração da gravação (para aguardarGeracao), ou -1 se falhou
+     */
+    public long indexar(TipoTexto tipo, Integer id, Integer idPaciente, Integer idProfissional, String texto) {
+        if (texto == null || texto.isBlank()) {
+            return remover(tipo, id);
+        }
+        String chave = chave(tipo, id);
+        try {
+            long geracaoGravacao = writer.updateDocument(new Term(CAMPO_CHAVE, chave),
+                    documento(chave, tipo, id, idPaciente, idProfissional, texto, geracao));
+            marcarAlterada(chave);
+            return geracaoGravacao;
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao indexar " + chave + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Remove um documento do índice.
+     * @param tipo Origem do texto
+     * @param id ID da resposta ou do prontuário
+     * @return Geração da remoção (para aguardarGeracao), ou -1 se falhou
+     */
+    public long remover(TipoTexto tipo, Integer id) {
+        String chave = chave(tipo, id);
+        try {
+            long geracaoGravacao = writer.deleteDocuments(new Term(CAMPO_CHAVE, chave));
+            marcarAlterada(chave);
+            return geracaoGravacao;
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao remover " + chave + " do índice: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Aguarda até que as buscas enxerguem a gravação (leitura da própria escrita).
+     * @param geracaoGravacao Valor devolvido por indexar ou remover
+     * @param timeoutMs Tempo máximo de espera
+     * @return true se a gravação já está visível
+     */
+    public boolean aguardarGeracao(long geracaoGravacao, long timeoutMs) {
+        if (geracaoGravacao < 0) {
+            return false;
+        }
+        try {
+            return reabertura.waitForGeneration(geracaoGravacao, (int) Math.min(timeoutMs, Integer.MAX_VALUE));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Reindexa as respostas de uma anamnese (usado após inserções em lote feitas fora do Hibernate).
+     * @param idAnamnese ID da anamnese
+     */
+    public void reindexarAnamnese(Integer idAnamnese) {
+        for (Object[] linha : respostaRepository.buscarTextosRespostasPorAnamnese(idAnamnese)) {
+            indexar(TipoTexto.RESPOSTA, (Integer) linha[0], (Integer) linha[1], (Integer) linha[2], (String) linha[3]);
+        }
+    }
+
+    /**
+     * Busca textual com ordenação por relevância.
+     * A consulta aceita a sintaxe simples do Lucene: termos (todos obrigatórios), "frases", prefixo*, -exclusão e |.
+     * @param consulta Texto da consulta
+     * @param tipo Restringe a origem (opcional)
+     * @param idPaciente Restringe ao paciente (opcional)
+     * @param idProfissional Restringe ao profissional (opcional)
+     * @param pagina Página (a partir de 0)
+     * @param tamanho Tamanho da página
+     * @return Página de resultados
+     */
+    public ResultadoBuscaTextoDTO buscar(String consulta, TipoTexto tipo, Integer idPaciente, Integer idProfissional,
+                                         int pagina, int tamanho) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("Informe o texto a ser buscado");
+        }
+        if (pagina < 0 || tamanho < 1) {
+            throw new IllegalArgumentException("Página ou tamanho inválido");
+        }
+
+        SimpleQueryParser parser = new SimpleQueryParser(analisador, CAMPO_TEXTO);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query texto = parser.parse(consulta);
+        if (texto == null) {
+            // Consulta composta só por stopwords
+            return new ResultadoBuscaTextoDTO(0L, pagina, tamanho, List.of());
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(texto, BooleanClause.Occur.MUST);
+        if (tipo != null) {
+            query.add(new TermQuery(new Term(CAMPO_TIPO, tipo.name())), BooleanClause.Occur.FILTER);
+        }
+        if (idPaciente != null) {
+            query.add(new TermQuery(new Term(CAMPO_PACIENTE, idPaciente.toString())), BooleanClause.Occur.FILTER);
+        }
+        if (idProfissional != null) {
+            query.add(new TermQuery(new Term(CAMPO_PROFISSIONAL, idProfissional.toString())), BooleanClause.Occur.FILTER);
+        }
+
+        long inicio = (long) pagina * tamanho;
+        int ate = (int) Math.min(inicio + tamanho, maxResultados);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                if (inicio >= ate) {
+                    return new ResultadoBuscaTextoDTO((long) searcher.count(query.build()), pagina, tamanho, List.of());
+                }
+                TopDocs topo = searcher.search(query.build(), ate);
+                StoredFields campos = searcher.storedFields();
+                List<ResultadoBuscaTextoDTO.Item> itens = new ArrayList<>();
+                for (int i = (int) inicio; i < topo.scoreDocs.length; i++) {
+                    ScoreDoc hit = topo.scoreDocs[i];
+                    Document doc = campos.document(hit.doc);
+                    itens.add(new ResultadoBuscaTextoDTO.Item(
+                            doc.get(CAMPO_TIPO),
+                            doc.getField(CAMPO_ID).numericValue().intValue(),
+                            inteiro(doc.get(CAMPO_PACIENTE)),
+                            inteiro(doc.get(CAMPO_PROFISSIONAL)),
+                            hit.score,
+                            trecho(doc.get(CAMPO_TEXTO))));
+                }
+                return new ResultadoBuscaTextoDTO(topo.totalHits.value, pagina, tamanho, itens);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao buscar no índice textual: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Dispara a reconstrução do índice em segundo plano.
+     * @return false se já havia uma reconstrução em andamento
+     */
+    public boolean reconstruirEmSegundoPlano() {
+        if (!reconstruindo.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.submit(this::reconstruir);
+        return true;
+    }
+
+    /**
+     * Indica se há reconstrução em andamento.
+     * @return true durante a reconstrução
+     */
+    public boolean isReconstruindo() {
+        return reconstruindo.get();
+    }
+
+    /**
+     * Total de documentos no índice.
+     * @return Quantidade de documentos
+     */
+    public int totalDocumentos() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Confirma periodicamente as alterações em disco (as buscas já as enxergam antes disso).
+     */
+    @Scheduled(fixedDelayString = "${psyclin.busca.commit-ms:30000}",
+               initialDelayString = "${psyclin.busca.commit-ms:30000}")
+    public void confirmar() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao confirmar índice textual: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Confirma e fecha o índice ao desligar a aplicação.
+     */
+    @PreDestroy
+    public void fechar() {
+        executor.shutdownNow();
+        try {
+            reabertura.close();
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            System.err.println("❌ Erro ao fechar índice textual: " + e.getMessage());
+        }
+    }
+
+    private void reconstruir() {
+        // Leitura longa em streaming: entra na faixa de relatórios do controle de admissão
+        ControleAdmissaoService.definirPrioridade(ControleAdmissaoService.Prioridade.RELATORIO);
+        long inicio = System.currentTimeMillis();
+        long novaGeracao = Math.max(inicio, geracao + 1);
+        alteradasDuranteReconstrucao.clear();
+        geracao = novaGeracao;
+        try {
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setReadOnly(true);
+            long total = transacao.execute(status -> {
+                long indexados = 0;
+                try (Stream<Object[]> respostas = respostaRepository.streamTextosRespostas()) {
+                    indexados += reindexar(TipoTexto.RESPOSTA, respostas, novaGeracao);
+                }
+                try (Stream<Object[]> prontuarios = prontuarioRepository.streamTextosProntuarios()) {
+                    indexados += reindexar(TipoTexto.PRONTUARIO, prontuarios, novaGeracao);
+                }
+                return indexados;
+            });
+
+            // Documentos de gerações anteriores não existem mais no banco
+            writer.deleteDocuments(LongPoint.newRangeQuery(CAMPO_GERACAO, Long.MIN_VALUE, novaGeracao - 1));
+            writer.commit();
+            searcherManager.maybeRefresh();
+            System.out.println("🔎 Índice textual reconstruído: " + total + " documento(s) em "
+                    + (System.currentTimeMillis() - inicio) + " ms");
+        } catch (Exception e) {
+            System.err.println("❌ Erro ao reconstruir índice textual: " + e.getMessage());
+        } finally {
+            alteradasDuranteReconstrucao.clear();
+            reconstruindo.set(false);
+        }
+    }
+
+    private long reindexar(TipoTexto tipo, Stream<Object[]> linhas, long novaGeracao) {
+        long[] indexados = {0};
+        linhas.forEach(linha -> {
+            String chave = chave(tipo, (Integer) linha[0]);
+            if (alteradasDuranteReconstrucao.contains(chave)) {
+                return;
+            }
+            try {
+                writer.updateDocument(new Term(CAMPO_CHAVE, chave), documento(chave, tipo, (Integer) linha[0],
+                        (Integer) linha[1], (Integer) linha[2], (String) linha[3], novaGeracao));
+                indexados[0]++;
+            } catch (IOException e) {
+                throw new RuntimeException("Erro ao indexar " + chave + ": " + e.getMessage(), e);
+            }
+        });
+        return indexados[0];
+    }
+
+    private void marcarAlterada(String chave) {
+        if (reconstruindo.get()) {
+            alteradasDuranteReconstrucao.add(chave);
+        }
+    }
+
+    private static Document documento(String chave, TipoTexto tipo, Integer id, Integer idPaciente,
+                                       Integer idProfissional, String texto, long geracao) {
+        Document doc = new Document();
+        doc.add(new StringField(CAMPO_CHAVE, chave, Field.Store.NO));
+        doc.add(new StringField(CAMPO_TIPO, tipo.name(), Field.Store.YES));
+        doc.add(new StoredField(CAMPO_ID, id));
+        if (idPaciente != null) {
+            doc.add(new StringField(CAMPO_PACIENTE, idPaciente.toString(), Field.Store.YES));
+        }
+        if (idProfissional != null) {
+            doc.add(new StringField(CAMPO_PROFISSIONAL, idProfissional.toString(), Field.Store.YES));
+        }
+        doc.add(new TextField(CAMPO_TEXTO, texto, Field.Store.YES));
+        doc.add(new LongPoint(CAMPO_GERACAO, geracao));
+        return doc;
+    }
+
+    private static String chave(TipoTexto tipo, Integer id) {
+        return tipo.name() + ":" + id;
+    }
+
+    private static Integer inteiro(String valor) {
+        return valor != null ? Integer.valueOf(valor) : null;
+    }
+
+    private static String trecho(String texto) {
+        if (texto == null || texto.length() <= TAMANHO_TRECHO) {
+            return texto;
+        }
+        return texto.substring(0, TAMANHO_TRECHO) + "...";
+    }
+
+    /**
+     * Análise em português: minúsculas, stopwords, stemming leve e remoção de acentos
+     * (o stemming vem antes da remoção de acentos, pois as regras do stemmer consideram a acentuação).
+     */
+    private static final class AnalisadorPortugues extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String campo) {
+            Tokenizer fonte = new StandardTokenizer();
+            TokenStream fluxo = new LowerCaseFilter(fonte);
+            fluxo = new StopFilter(fluxo, PortugueseAnalyzer.getDefaultStopSet());
+            fluxo = new PortugueseLightStemFilter(fluxo);
+            fluxo = new ASCIIFoldingFilter(fluxo);
+            return new TokenStreamComponents(fonte, fluxo);
+        }
+
+        @Override
+        protected TokenStream normalize(String campo, TokenStream entrada) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+        }
+    }
+}
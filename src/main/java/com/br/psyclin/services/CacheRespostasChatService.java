@@ -0,0 +1,131 @@
+package com.br.psyclin.services;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache das respostas do assistente educacional, na frente das chamadas ao modelo.
+ * A chave é a pergunta normalizada (maiúsculas, acentos, pontuação e espaços desconsiderados),
+ * de modo que "O que é anamnese?" e "o que e anamnese" compartilham a mesma resposta.
+ * Perguntas idênticas simultâneas aguardam uma única chamada ao modelo (single-flight): a chamada
+ * entra na faixa da IA dentro do carregamento do cache, então repetições não ocupam a faixa.
+ * Falhas não são guardadas. Métricas em /actuator/metrics/cache.* (cache=chatRespostas).
+ */
+@Service
+public class CacheRespostasChatService {
+
+    private static final String NOME_CACHE = "chatRespostas";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${psyclin.chat.cache.tamanho-maximo:500}")
+    private long tamanhoMaximo;
+
+    @Value("${psyclin.chat.cache.ttl:PT12H}")
+    private Duration ttl;
+
+    private AsyncCache<String, String> respostas;
+    private Counter chamadasModelo;
+
+    @PostConstruct
+    public void inicializar() {
+        respostas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, respostas, NOME_CACHE);
+        chamadasModelo = Counter.builder("psyclin.chat.chamadas-modelo")
+                .description("Chamadas efetivas ao modelo de IA (falhas do cache de respostas)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtém a resposta em cache ou dispara a chamada ao modelo uma única vez para todas as requisições
+     * simultâneas com a mesma pergunta normalizada; as repetições recebem o mesmo futuro.
+     * @param pergunta Pergunta do usuário
+     * @param chamada Dispara a chamada ao modelo (ex.: enfileirando na faixa da IA)
+     * @return Futuro com a resposta; se falhar, nada é guardado
+     */
+    public CompletableFuture<String> obter(String pergunta, Supplier<CompletableFuture<String>> chamada) {
+        return respostas.get(chave(pergunta), (chave, executor) -> {
+            chamadasModelo.increment();
+            // O Caffeine registra em WARN, com stack trace, toda carga que falha, exceto cancelamentos;
+            // recusas da faixa saturada são esperadas e já são contadas, então passam como cancelamento
+            CompletableFuture<String> carga = new CompletableFuture<>();
+            chamada.get().whenComplete((resposta, erro) -> {
+                if (erro == null) {
+                    carga.complete(resposta);
+                } else {
+                    carga.completeExceptionally(new FalhaChamadaModelo(erro));
+                }
+            });
+            return carga;
+        }).exceptionallyCompose(e -> CompletableFuture.failedFuture(causaOriginal(e)));
+    }
+
+    private static Throwable causaOriginal(Throwable e) {
+        Throwable causa = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return causa instanceof FalhaChamadaModelo falha ? falha.getCause() : causa;
+    }
+
+    /**
+     * Falha da chamada ao modelo embrulhada como cancelamento enquanto passa pelo cache.
+     */
+    private static final class FalhaChamadaModelo extends CancellationException {
+
+        FalhaChamadaModelo(Throwable causa) {
+            super(causa.getMessage());
+            initCause(causa instanceof CompletionException && causa.getCause() != null ? causa.getCause() : causa);
+        }
+    }
+
+    /**
+     * Consulta o cache sem chamar o modelo.
+     * @param pergunta Pergunta do usuário
+     * @return Resposta em cache, ou null
+     */
+    public String buscar(String pergunta) {
+        CompletableFuture<String> futuro = respostas.getIfPresent(chave(pergunta));
+        if (futuro == null || !futuro.isDone() || futuro.isCompletedExceptionally()) {
+            return null;
+        }
+        return futuro.join();
+    }
+
+    /**
+     * Guarda uma resposta obtida fora de {@link #obter} (ex.: montada a partir do streaming).
+     * @param pergunta Pergunta do usuário
+     * @param resposta Resposta completa
+     */
+    public void guardar(String pergunta, String resposta) {
+        if (resposta != null && !resposta.isBlank()) {
+            chamadasModelo.increment();
+            respostas.put(chave(pergunta), CompletableFuture.completedFuture(resposta));
+        }
+    }
+
+    /**
+     * Remove todas as respostas em cache.
+     */
+    public void limpar() {
+        respostas.synchronous().invalidateAll();
+    }
+
+    private static String chave(String pergunta) {
+        return IndiceTrigramas.normalizar(pergunta);
+    }
+}
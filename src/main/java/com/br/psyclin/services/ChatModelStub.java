@@ -0,0 +1,75 @@
+package com.br.psyclin.services;
+
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ChatModel local, sem chamadas externas, para medir latência e vazão do chat offline.
+ * Gera um texto determinístico (mesma pergunta, mesma resposta) com latência inicial e intervalo
+ * entre tokens configuráveis. Ativado com psyclin.chat.stub.habilitado=true; tem precedência sobre o OpenAI.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "psyclin.chat.stub.habilitado", havingValue = "true")
+public class ChatModelStub implements ChatModel {
+
+    private static final String[] VOCABULARIO = {
+        "a", "psicologia", "estuda", "o", "comportamento", "e", "os", "processos", "mentais",
+        "na", "prática", "clínica", "entrevista", "anamnese", "ética", "sigilo", "supervisão",
+        "teoria", "método", "observação", "registro", "relatório", "estudante", "formação"
+    };
+
+    @Value("${psyclin.chat.stub.latencia-ms:300}")
+    private long latenciaMs;
+
+    @Value("${psyclin.chat.stub.atraso-token-ms:20}")
+    private long atrasoTokenMs;
+
+    @Value("${psyclin.chat.stub.tokens:60}")
+    private int quantidadeTokens;
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        List<String> tokens = gerarTokens(prompt);
+        try {
+            Thread.sleep(latenciaMs + atrasoTokenMs * tokens.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return resposta(String.join("", tokens));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.fromIterable(gerarTokens(prompt))
+                .delayElements(Duration.ofMillis(atrasoTokenMs))
+                .delaySubscription(Duration.ofMillis(latenciaMs))
+                .map(this::resposta);
+    }
+
+    private List<String> gerarTokens(Prompt prompt) {
+        Random random = new Random(prompt.getContents().hashCode());
+        List<String> tokens = new ArrayList<>(quantidadeTokens + 1);
+        tokens.add("[stub]");
+        for (int i = 0; i < quantidadeTokens; i++) {
+            tokens.add(" " + VOCABULARIO[random.nextInt(VOCABULARIO.length)]);
+        }
+        return tokens;
+    }
+
+    private ChatResponse resposta(String texto) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(texto))));
+    }
+}
@@ -2,11 +2,20 @@ package com.br.psyclin.services;
 
 import com.br.psyclin.dto.request.ChatRequest;
 import com.br.psyclin.dto.response.ChatResponse;
-import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.chat.model.ChatModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import java.util.Arrays;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Serviço responsável por processar mensagens do chat AI.
@@ -16,50 +25,172 @@ import java.util.List;
 public class ChatService {
     
     @Autowired(required = false)
-    private OpenAiChatModel chatModel;
+    private ChatModel chatModel;
+
+    @Autowired
+    private CacheRespostasChatService cacheRespostas;
+
+    @Value("${psyclin.chat.stream-timeout-ms:120000}")
+    private long streamTimeoutMs;
+    
+    // Tópicos proibidos (lista recarregável, busca sem diferenciar acentos)
+    @Autowired
+    private TopicosProibidosService topicosProibidosService;
     
-    // Lista de tópicos proibidos
-    private static final List<String> TOPICOS_PROIBIDOS = Arrays.asList(
-        "diagnóstico", "medicamento", "prescrição", "tratamento específico",
-        "dados pessoais", "telefone", "endereço", "cpf", "rg",
-        "informações confidenciais", "prontuário específico",
-        "terapia individual", "caso clínico real"
-    );
+    @Autowired
+    private FaixaChamadasIAService faixaChamadasIA;
     
     public ChatResponse processarMensagem(ChatRequest request) {
+        return processarMensagemAsync(request).join();
+    }
+    
+    /**
+     * Processa a mensagem sem prender a thread de quem chama: a chamada ao modelo roda na faixa
+     * exclusiva da IA (FaixaChamadasIAService). Com a faixa saturada, ou em caso de erro,
+     * responde com o fallback sem IA.
+     * @param request Requisição com a mensagem
+     * @return Futuro com a resposta (nunca completa com erro)
+     */
+    public CompletableFuture<ChatResponse> processarMensagemAsync(ChatRequest request) {
         try {
-            String mensagem = request.getMessage().toLowerCase();
-            
             // Verificar se contém tópicos proibidos
-            for (String proibido : TOPICOS_PROIBIDOS) {
-                if (mensagem.contains(proibido)) {
-                    return ChatResponse.limitation(
-                        "Desculpe, não posso fornecer informações sobre " + proibido + ". " +
-                        "Como assistente educacional, posso ajudar apenas com conceitos gerais de psicologia, " +
-                        "métodos de estudo e orientações acadêmicas."
-                    );
-                }
+            ChatResponse limitacao = verificarTopicosProibidos(request.getMessage());
+            if (limitacao != null) {
+                return CompletableFuture.completedFuture(limitacao);
             }
             
             // Verificar se o OpenAI está disponível
             if (chatModel == null) {
-                return responderSemIA(request.getMessage());
+                return CompletableFuture.completedFuture(responderSemIA(request.getMessage()));
+            }
+            
+            // Perguntas repetidas saem do cache sem ocupar a faixa da IA
+            String emCache = cacheRespostas.buscar(request.getMessage());
+            if (emCache != null) {
+                return CompletableFuture.completedFuture(ChatResponse.success(emCache));
             }
             
             // Criar prompt com contexto educacional
             String promptContextualizado = criarPromptEducacional(request.getMessage());
             
-            // Obter resposta da IA
-            String resposta = chatModel.call(promptContextualizado);
-            
-            return ChatResponse.success(resposta);
+            // Obter resposta da IA na faixa exclusiva; perguntas repetidas em andamento compartilham a mesma chamada
+            return cacheRespostas
+                .obter(request.getMessage(), () -> faixaChamadasIA.executar(() -> chatModel.call(promptContextualizado)))
+                .thenApply(ChatResponse::success)
+                .exceptionally(e -> {
+                    Throwable causa = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (causa instanceof RejectedExecutionException || causa instanceof TimeoutException) {
+                        System.err.println("⏳ Faixa da IA saturada: " + causa.getMessage());
+                    } else {
+                        System.err.println("Erro no ChatService: " + causa.getMessage());
+                    }
+                    // Se houver erro com a IA, usar fallback
+                    return responderSemIA(request.getMessage());
+                });
             
         } catch (Exception e) {
             System.err.println("Erro no ChatService: " + e.getMessage());
             e.printStackTrace();
             
             // Se houver erro com a IA, usar fallback
-            return responderSemIA(request.getMessage());
+            return CompletableFuture.completedFuture(responderSemIA(request.getMessage()));
+        }
+    }
+    
+    /**
+     * Variante em streaming de {@link #processarMensagem}: repassa os tokens via Server-Sent Events
+     * à medida que o modelo os produz, sem prender a thread do servlet.
+     * Eventos: "token" ({"texto": ...}) para cada trecho e "fim" com a ChatResponse completa.
+     * Tópicos proibidos, ausência de IA e respostas já em cache são enviados de uma vez.
+     * Falha antes do primeiro token cai no fallback sem IA; depois dele, termina com ChatResponse de erro.
+     * @param request Requisição com a mensagem
+     * @return Emitter SSE
+     */
+    public SseEmitter transmitirMensagem(ChatRequest request) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        String mensagem = request.getMessage();
+
+        ChatResponse limitacao = verificarTopicosProibidos(mensagem);
+        if (limitacao != null) {
+            enviarCompleta(emitter, limitacao);
+            return emitter;
+        }
+        if (chatModel == null) {
+            enviarCompleta(emitter, responderSemIA(mensagem));
+            return emitter;
+        }
+
+        String emCache = cacheRespostas.buscar(mensagem);
+        if (emCache != null) {
+            enviarCompleta(emitter, ChatResponse.success(emCache));
+            return emitter;
+        }
+
+        StringBuilder acumulado = new StringBuilder();
+        AtomicReference<Disposable> assinatura = new AtomicReference<>();
+        Runnable cancelar = () -> {
+            Disposable atual = assinatura.get();
+            if (atual != null) {
+                atual.dispose();
+            }
+        };
+        emitter.onCompletion(cancelar);
+        emitter.onTimeout(cancelar);
+        emitter.onError(erro -> cancelar.run());
+
+        assinatura.set(chatModel.stream(criarPromptEducacional(mensagem)).subscribe(
+            token -> {
+                if (token == null || token.isEmpty()) {
+                    return;
+                }
+                acumulado.append(token);
+                enviar(emitter, "token", Map.of("texto", token));
+            },
+            erro -> {
+                System.err.println("Erro no streaming do ChatService: " + erro.getMessage());
+                if (acumulado.isEmpty()) {
+                    enviarCompleta(emitter, responderSemIA(mensagem));
+                } else {
+                    enviar(emitter, "fim", ChatResponse.error("A resposta foi interrompida. Tente novamente."));
+                    emitter.complete();
+                }
+            },
+            () -> {
+                cacheRespostas.guardar(mensagem, acumulado.toString());
+                enviar(emitter, "fim", ChatResponse.success(acumulado.toString()));
+                emitter.complete();
+            }
+        ));
+        return emitter;
+    }
+
+    private ChatResponse verificarTopicosProibidos(String mensagem) {
+        String proibido = topicosProibidosService.encontrar(mensagem);
+        if (proibido == null) {
+            return null;
+        }
+        return ChatResponse.limitation(
+            "Desculpe, não posso fornecer informações sobre " + proibido + ". " +
+            "Como assistente educacional, posso ajudar apenas com conceitos gerais de psicologia, " +
+            "métodos de estudo e orientações acadêmicas."
+        );
+    }
+
+    /**
+     * Envia uma resposta pronta como um único token seguido do evento de fim.
+     */
+    private void enviarCompleta(SseEmitter emitter, ChatResponse resposta) {
+        enviar(emitter, "token", Map.of("texto", resposta.getMessage()));
+        enviar(emitter, "fim", resposta);
+        emitter.complete();
+    }
+
+    private void enviar(SseEmitter emitter, String evento, Object dados) {
+        try {
+            emitter.send(SseEmitter.event().name(evento).data(dados, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou emitter já encerrado: o onError/onCompletion cancela o modelo
+            emitter.completeWithError(e);
         }
     }
     
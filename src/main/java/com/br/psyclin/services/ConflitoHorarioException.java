@@ -0,0 +1,12 @@
+package com.br.psyclin.services;
+
+/**
+ * Exceção lançada quando um agendamento cruza o horário de outro agendamento do mesmo profissional.
+ * Respondida com 409 (Conflict) pelo GlobalExceptionHandler.
+ */
+public class ConflitoHorarioException extends RuntimeException {
+
+    public ConflitoHorarioException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,192 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.models.Agenda;
+import com.br.psyclin.models.Profissional;
+import com.br.psyclin.repositories.AgendaRepository;
+import com.br.psyclin.repositories.AnamneseRepository;
+import com.br.psyclin.repositories.PacienteRepository;
+import com.br.psyclin.repositories.ProfissionalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de status mantidos em memória.
+ * 
+ * Os listeners do Hibernate (ContadorStatusListener) ajustam os contadores a cada
+ * insert/update/delete confirmado, de modo que as contagens são respondidas sem ir ao banco.
+ * Uma reconciliação agendada recalcula tudo com COUNT e corrige desvios (ex.: updates em lote
+ * via JPQL, que não passam pelos listeners). Enquanto os contadores não estão sincronizados,
+ * as leituras vão direto ao banco.
+ * 
+ * A reconciliação monta um conjunto novo de contadores já com os valores do COUNT e o troca
+ * de uma vez, de modo que uma leitura concorrente vê o conjunto antigo ou o novo, nunca um
+ * contador zerado no meio da redefinição.
+ */
+@Service
+public class ContadorStatusService {
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private AnamneseRepository anamneseRepository;
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private ProfissionalRepository profissionalRepository;
+
+    private final AtomicReference<Contadores> contadores = new AtomicReference<>(new Contadores());
+
+    private volatile boolean sincronizado = false;
+
+    /**
+     * Carga inicial dos contadores assim que a aplicação sobe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconciliar();
+    }
+
+    /**
+     * Recalcula todos os contadores a partir do banco.
+     * Executa a cada 5 minutos por padrão (psyclin.contadores.reconciliacao-ms).
+     */
+    @Scheduled(fixedDelayString = "${psyclin.contadores.reconciliacao-ms:300000}",
+               initialDelayString = "${psyclin.contadores.reconciliacao-ms:300000}")
+    public synchronized void reconciliar() {
+        try {
+            Contadores novos = new Contadores();
+            novos.pacientesAtivos.add(pacienteRepository.countByStatusPacienteTrue());
+            novos.anamnesesAtivas.add(anamneseRepository.countByStatusFuncionalTrue());
+            novos.profissionaisAtivos.add(profissionalRepository.countByStatusProfissionalAtivo());
+            for (Agenda.SituacaoAgenda situacao : Agenda.SituacaoAgenda.values()) {
+                novos.agendasPorSituacao.get(situacao).add(agendaRepository.countBySituacaoAgenda(situacao));
+            }
+            contadores.set(novos);
+            sincronizado = true;
+        } catch (Exception e) {
+            sincronizado = false;
+            System.err.println("❌ Erro ao reconciliar contadores de status: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marca os contadores como não confiáveis até a próxima reconciliação.
+     * Usado quando um evento não traz o estado anterior da entidade.
+     */
+    public void invalidar() {
+        sincronizado = false;
+    }
+
+    /**
+     * @return Quantidade de pacientes ativos
+     */
+    public long pacientesAtivos() {
+        return sincronizado ? contadores.get().pacientesAtivos.sum() : pacienteRepository.countByStatusPacienteTrue();
+    }
+
+    /**
+     * @return Quantidade de anamneses com status funcional ativo
+     */
+    public long anamnesesAtivas() {
+        return sincronizado ? contadores.get().anamnesesAtivas.sum() : anamneseRepository.countByStatusFuncionalTrue();
+    }
+
+    /**
+     * @return Quantidade de profissionais ativos
+     */
+    public long profissionaisAtivos() {
+        return sincronizado ? contadores.get().profissionaisAtivos.sum() : profissionalRepository.countByStatusProfissionalAtivo();
+    }
+
+    /**
+     * @param situacao Situação do agendamento
+     * @return Quantidade de agendamentos na situação
+     */
+    public long agendasPorSituacao(Agenda.SituacaoAgenda situacao) {
+        return sincronizado ? contadores.get().agendasPorSituacao.get(situacao).sum() : agendaRepository.countBySituacaoAgenda(situacao);
+    }
+
+    /**
+     * Aplica a variação de status de um paciente.
+     * @param statusAntigo Status anterior (null em inserts)
+     * @param statusNovo Status novo (null em deletes)
+     */
+    public void registrarPaciente(Boolean statusAntigo, Boolean statusNovo) {
+        ajustar(contadores.get().pacientesAtivos, Boolean.TRUE.equals(statusAntigo), Boolean.TRUE.equals(statusNovo));
+    }
+
+    /**
+     * Aplica a variação de status funcional de uma anamnese.
+     * @param statusAntigo Status anterior (null em inserts)
+     * @param statusNovo Status novo (null em deletes)
+     */
+    public void registrarAnamnese(Boolean statusAntigo, Boolean statusNovo) {
+        ajustar(contadores.get().anamnesesAtivas, Boolean.TRUE.equals(statusAntigo), Boolean.TRUE.equals(statusNovo));
+    }
+
+    /**
+     * Aplica a variação de status de um profissional.
+     * @param statusAntigo Status anterior (null em inserts)
+     * @param statusNovo Status novo (null em deletes)
+     */
+    public void registrarProfissional(Profissional.StatusProfissional statusAntigo, Profissional.StatusProfissional statusNovo) {
+        ajustar(contadores.get().profissionaisAtivos,
+                statusAntigo == Profissional.StatusProfissional._1,
+                statusNovo == Profissional.StatusProfissional._1);
+    }
+
+    /**
+     * Aplica a mudança de situação de um agendamento.
+     * @param situacaoAntiga Situação anterior (null em inserts)
+     * @param situacaoNova Situação nova (null em deletes)
+     */
+    public void registrarAgenda(Agenda.SituacaoAgenda situacaoAntiga, Agenda.SituacaoAgenda situacaoNova) {
+        if (situacaoAntiga == situacaoNova) {
+            return;
+        }
+        Map<Agenda.SituacaoAgenda, LongAdder> agendasPorSituacao = contadores.get().agendasPorSituacao;
+        if (situacaoAntiga != null) {
+            agendasPorSituacao.get(situacaoAntiga).decrement();
+        }
+        if (situacaoNova != null) {
+            agendasPorSituacao.get(situacaoNova).increment();
+        }
+    }
+
+    private void ajustar(LongAdder contador, boolean contavaAntes, boolean contaAgora) {
+        if (contavaAntes == contaAgora) {
+            return;
+        }
+        if (contaAgora) {
+            contador.increment();
+        } else {
+            contador.decrement();
+        }
+    }
+
+    /**
+     * Conjunto de contadores de uma reconciliação. Só é publicado depois de preenchido.
+     */
+    private static final class Contadores {
+        private final LongAdder pacientesAtivos = new LongAdder();
+        private final LongAdder anamnesesAtivas = new LongAdder();
+        private final LongAdder profissionaisAtivos = new LongAdder();
+        private final Map<Agenda.SituacaoAgenda, LongAdder> agendasPorSituacao = new EnumMap<>(Agenda.SituacaoAgenda.class);
+
+        private Contadores() {
+            for (Agenda.SituacaoAgenda situacao : Agenda.SituacaoAgenda.values()) {
+                agendasPorSituacao.put(situacao, new LongAdder());
+            }
+        }
+    }
+}
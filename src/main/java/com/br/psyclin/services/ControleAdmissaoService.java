@@ -0,0 +1,430 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.configs.DataSourceComAdmissao;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Controle de admissão das conexões ao banco, no lado da aplicação.
+ * Descobre uma vez o limite do servidor (max_user_connections da conta no MySQL) e limita as conexões
+ * emprestadas simultaneamente abaixo dele, em vez de derrubar sessões com KILL quando o limite estoura.
+ * Quem excede a capacidade espera em fila, com prazo, por faixa de prioridade: escritas clínicas
+ * passam à frente de leituras comuns, que passam à frente de relatórios e do chat; dentro da mesma
+ * faixa a ordem é de chegada. As últimas vagas ficam reservadas às escritas clínicas e as faixas
+ * secundárias (relatório e chat) ocupam no máximo uma fração da capacidade.
+ * Uma conexão aninhada na mesma thread não entra na fila; por isso o pool do Hikari é reduzido,
+ * na inicialização, ao limite do servidor menos psyclin.db.admissao.reserva-servidor.
+ * A prioridade vem da thread atual ({@link #definirPrioridade}); sem definição, vale PADRAO.
+ * Métricas: psyclin.db.admissao.espera{prioridade}, .recusas{prioridade}, .em-uso, .fila, .capacidade.
+ */
+@Service
+public class ControleAdmissaoService {
+
+    /**
+     * Faixas de prioridade, da mais para a menos urgente.
+     */
+    public enum Prioridade {
+        CLINICA, PADRAO, RELATORIO, CHAT;
+
+        boolean secundaria() {
+            return this == RELATORIO || this == CHAT;
+        }
+    }
+
+    /**
+     * Vaga concedida; liberada uma única vez ao fechar a conexão.
+     */
+    public final class Permissao {
+        private final Prioridade prioridade;
+        private final boolean aninhada;
+        private final AtomicBoolean liberada = new AtomicBoolean(false);
+
+        private Permissao(Prioridade prioridade, boolean aninhada) {
+            this.prioridade = prioridade;
+            this.aninhada = aninhada;
+        }
+
+        public void liberar() {
+            if (!liberada.compareAndSet(false, true)) {
+                return;
+            }
+            if (PERMISSAO_ATUAL.get() == this) {
+                PERMISSAO_ATUAL.remove();
+            }
+            if (!aninhada) {
+                devolver(prioridade);
+            }
+        }
+    }
+
+    /**
+     * Pedido aguardando vaga.
+     */
+    private static final class Espera {
+        private final Prioridade prioridade;
+        private final long sequencia;
+        private final Condition condicao;
+        private boolean concedida;
+
+        private Espera(Prioridade prioridade, long sequencia, Condition condicao) {
+            this.prioridade = prioridade;
+            this.sequencia = sequencia;
+            this.condicao = condicao;
+        }
+    }
+
+    private static final ThreadLocal<Prioridade> PRIORIDADE = new ThreadLocal<>();
+    private static final ThreadLocal<Permissao> PERMISSAO_ATUAL = new ThreadLocal<>();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${psyclin.db.admissao.habilitado:true}")
+    private boolean habilitado;
+
+    /** Capacidade fixa (no máximo o tamanho do pool); 0 calcula a partir do limite do servidor e do tamanho do pool. */
+    @Value("${psyclin.db.admissao.capacidade:0}")
+    private int capacidadeConfigurada;
+
+    /** Conexões do limite do servidor deixadas livres (ferramentas de administração, migrações). */
+    @Value("${psyclin.db.admissao.reserva-servidor:1}")
+    private int reservaServidor;
+
+    @Value("${psyclin.db.admissao.reserva-clinica:1}")
+    private int reservaClinica;
+
+    @Value("${psyclin.db.admissao.fracao-secundaria:0.5}")
+    private double fracaoSecundaria;
+
+    @Value("${psyclin.db.admissao.prazo:PT5S}")
+    private Duration prazo;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final TreeSet<Espera> fila = new TreeSet<>(Comparator
+            .comparing((Espera e) -> e.prioridade)
+            .thenComparingLong(e -> e.sequencia));
+    private final Map<Prioridade, Timer> tempoEspera = new EnumMap<>(Prioridade.class);
+    private final Map<Prioridade, Counter> recusas = new EnumMap<>(Prioridade.class);
+    private long sequencia;
+    private int capacidade = Integer.MAX_VALUE;
+    private int emUso;
+    private int emUsoSecundario;
+    private volatile Integer limiteServidor;
+
+    /**
+     * Descobre o limite do servidor e passa a controlar as conexões do DataSource.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        try {
+            if (!habilitado || !dataSource.isWrapperFor(DataSourceComAdmissao.class)) {
+                System.out.println("ℹ️ Controle de admissão de conexões desabilitado");
+                return;
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao verificar o DataSource: " + e.getMessage());
+            return;
+        }
+        for (Prioridade prioridade : Prioridade.values()) {
+            tempoEspera.put(prioridade, Timer.builder("psyclin.db.admissao.espera")
+                    .description("Espera por vaga de conexão ao banco")
+                    .tag("prioridade", prioridade.name().toLowerCase())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+            recusas.put(prioridade, Counter.builder("psyclin.db.admissao.recusas")
+                    .description("Pedidos de conexão recusados por prazo esgotado")
+                    .tag("prioridade", prioridade.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("psyclin.db.admissao.em-uso", this, ControleAdmissaoService::conexoesEmUso).register(meterRegistry);
+        Gauge.builder("psyclin.db.admissao.fila", this, ControleAdmissaoService::tamanhoFila).register(meterRegistry);
+        Gauge.builder("psyclin.db.admissao.capacidade", this, ControleAdmissaoService::capacidade).register(meterRegistry);
+
+        int novaCapacidade = calcularCapacidade();
+        lock.lock();
+        try {
+            capacidade = novaCapacidade;
+            despachar();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            dataSource.unwrap(DataSourceComAdmissao.class).ativar(this);
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao ativar controle de admissão: " + e.getMessage(), e);
+        }
+        System.out.println("🚦 Controle de admissão ativo: capacidade " + novaCapacidade + " conexão(ões)"
+                + (limiteServidor != null ? " (limite do servidor " + limiteServidor + ")" : ""));
+    }
+
+    /**
+     * Define a prioridade das conexões pedidas pela thread atual.
+     * @param prioridade Faixa de prioridade
+     */
+    public static void definirPrioridade(Prioridade prioridade) {
+        PRIORIDADE.set(prioridade);
+    }
+
+    /**
+     * Volta a thread atual à prioridade padrão.
+     */
+    public static void limparPrioridade() {
+        PRIORIDADE.remove();
+    }
+
+    /**
+     * Executa uma tarefa com a prioridade informada, restaurando a anterior ao final.
+     * @param prioridade Faixa de prioridade
+     * @param tarefa Tarefa
+     * @return Resultado da tarefa
+     */
+    public static <T> T executarComo(Prioridade prioridade, Supplier<T> tarefa) {
+        Prioridade anterior = PRIORIDADE.get();
+        PRIORIDADE.set(prioridade);
+        try {
+            return tarefa.get();
+        } finally {
+            if (anterior != null) {
+                PRIORIDADE.set(anterior);
+            } else {
+                PRIORIDADE.remove();
+            }
+        }
+    }
+
+    /**
+     * Prioridade da thread atual.
+     * @return Prioridade definida, ou PADRAO
+     */
+    public static Prioridade prioridadeAtual() {
+        Prioridade prioridade = PRIORIDADE.get();
+        return prioridade != null ? prioridade : Prioridade.PADRAO;
+    }
+
+    /**
+     * Aguarda uma vaga na faixa da thread atual.
+     * Uma thread que já segura uma vaga (conexão aninhada, ex.: REQUIRES_NEW) não espera de novo,
+     * para não travar a si mesma quando a capacidade estiver toda ocupada; essas conexões ficam
+     * limitadas pelo tamanho do pool, ajustado ao limite do servidor em {@link #iniciar()}.
+     * @return Permissão a liberar quando a conexão for fechada
+     * @throws SQLTransientConnectionException Se o prazo de espera esgotar
+     */
+    public Permissao adquirir() throws SQLException {
+        Prioridade prioridade = prioridadeAtual();
+        Permissao atual = PERMISSAO_ATUAL.get();
+        if (atual != null && !atual.liberada.get()) {
+            return new Permissao(prioridade, true);
+        }
+
+        long inicio = System.nanoTime();
+        lock.lock();
+        Espera espera = new Espera(prioridade, sequencia++, lock.newCondition());
+        try {
+            fila.add(espera);
+            despachar();
+            long restante = prazo.toNanos();
+            while (!espera.concedida && restante > 0) {
+                restante = espera.condicao.awaitNanos(restante);
+            }
+            if (!espera.concedida) {
+                fila.remove(espera);
+                recusas.get(prioridade).increment();
+                throw new SQLTransientConnectionException("Sem vaga de conexão ao banco após " + prazo.toMillis()
+                        + " ms (prioridade " + prioridade + ", " + emUso + "/" + capacidade + " em uso, "
+                        + fila.size() + " na fila)");
+            }
+        } catch (InterruptedException e) {
+            if (espera.concedida) {
+                devolver(prioridade);
+            } else {
+                fila.remove(espera);
+            }
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Espera por conexão interrompida", e);
+        } finally {
+            lock.unlock();
+        }
+        tempoEspera.get(prioridade).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        Permissao permissao = new Permissao(prioridade, false);
+        PERMISSAO_ATUAL.set(permissao);
+        return permissao;
+    }
+
+    /**
+     * Estado atual do controle.
+     * @return Capacidade, ocupação e fila por prioridade
+     */
+    public Map<String, Object> relatorio() {
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            Map<String, Integer> filaPorPrioridade = new LinkedHashMap<>();
+            for (Prioridade prioridade : Prioridade.values()) {
+                filaPorPrioridade.put(prioridade.name(), 0);
+            }
+            for (Espera espera : fila) {
+                filaPorPrioridade.merge(espera.prioridade.name(), 1, Integer::sum);
+            }
+            relatorio.put("habilitado", capacidade != Integer.MAX_VALUE);
+            relatorio.put("limiteServidor", limiteServidor);
+            relatorio.put("capacidade", capacidade);
+            relatorio.put("emUso", emUso);
+            relatorio.put("emUsoSecundario", emUsoSecundario);
+            relatorio.put("fila", filaPorPrioridade);
+        } finally {
+            lock.unlock();
+        }
+        relatorio.put("prazoMs", prazo.toMillis());
+        return relatorio;
+    }
+
+    private int conexoesEmUso() {
+        return emUso;
+    }
+
+    private int tamanhoFila() {
+        lock.lock();
+        try {
+            return fila.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int capacidade() {
+        return capacidade;
+    }
+
+    private void devolver(Prioridade prioridade) {
+        lock.lock();
+        try {
+            emUso--;
+            if (prioridade.secundaria()) {
+                emUsoSecundario--;
+            }
+            despachar();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Concede vagas aos pedidos da fila, em ordem de prioridade e chegada. Chamado com o lock.
+     */
+    private void despachar() {
+        Iterator<Espera> iterator = fila.iterator();
+        while (iterator.hasNext() && emUso < capacidade) {
+            Espera espera = iterator.next();
+            if (!podeConceder(espera.prioridade)) {
+                continue;
+            }
+            iterator.remove();
+            emUso++;
+            if (espera.prioridade.secundaria()) {
+                emUsoSecundario++;
+            }
+            espera.concedida = true;
+            espera.condicao.signal();
+        }
+    }
+
+    private boolean podeConceder(Prioridade prioridade) {
+        if (prioridade == Prioridade.CLINICA) {
+            return true;
+        }
+        int reserva = Math.min(reservaClinica, capacidade - 1);
+        if (emUso >= capacidade - reserva) {
+            return false;
+        }
+        return !prioridade.secundaria()
+                || emUsoSecundario < Math.max(1, (int) Math.floor(capacidade * fracaoSecundaria));
+    }
+
+    private int calcularCapacidade() {
+        HikariDataSource hikari = null;
+        int tamanhoPool = 10;
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                hikari = dataSource.unwrap(HikariDataSource.class);
+                tamanhoPool = hikari.getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Erro ao ler tamanho do pool: " + e.getMessage());
+        }
+        limiteServidor = descobrirLimiteServidor();
+        if (limiteServidor != null && limiteServidor > 0) {
+            int teto = Math.max(1, limiteServidor - reservaServidor);
+            if (hikari != null && tamanhoPool > teto) {
+                reduzirPool(hikari, teto);
+                tamanhoPool = teto;
+            }
+        }
+        if (capacidadeConfigurada > 0) {
+            return Math.min(capacidadeConfigurada, tamanhoPool);
+        }
+        return tamanhoPool;
+    }
+
+    /**
+     * Reduz o pool ao teto do servidor. Conexões aninhadas não passam pela fila (ver {@link #adquirir()}),
+     * então só o tamanho do pool garante que as conexões reais fiquem abaixo de max_user_connections.
+     * @param hikari Pool da aplicação
+     * @param teto Limite do servidor descontada a reserva
+     */
+    private void reduzirPool(HikariDataSource hikari, int teto) {
+        System.out.println("⚠️ Pool de conexões (" + hikari.getMaximumPoolSize() + ") acima do limite do servidor ("
+                + limiteServidor + " - reserva " + reservaServidor + "): reduzido para " + teto);
+        hikari.getHikariConfigMXBean().setMaximumPoolSize(teto);
+        if (hikari.getMinimumIdle() > teto) {
+            hikari.getHikariConfigMXBean().setMinimumIdle(teto);
+        }
+        if (hikari.getHikariPoolMXBean() != null) {
+            // Fecha as ociosas já abertas; as emprestadas fecham ao voltar e o pool se refaz dentro do novo teto
+            hikari.getHikariPoolMXBean().softEvictConnections();
+        }
+    }
+
+    /**
+     * Lê max_user_connections da sessão (no MySQL reflete o limite da conta, se houver).
+     * @return Limite, 0 se ilimitado, ou null se o banco não informar
+     */
+    private Integer descobrirLimiteServidor() {
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT @@max_user_connections")) {
+            return rs.next() ? rs.getInt(1) : null;
+        } catch (SQLException e) {
+            System.out.println("ℹ️ Limite de conexões do servidor não disponível: " + e.getMessage());
+            return null;
+        }
+    }
+}
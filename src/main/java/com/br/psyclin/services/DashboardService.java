@@ -0,0 +1,60 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.configs.CacheConfig;
+import com.br.psyclin.dto.response.DashboardResumoDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Serviço dos indicadores do dashboard.
+ * Calcula todos os contadores em uma única ida ao banco, com subconsultas escalares.
+ */
+@Service
+public class DashboardService {
+
+    /**
+     * Consulta sem FROM (suportada pelo HQL do Hibernate 6): cada indicador é uma subconsulta COUNT.
+     * Os critérios são os mesmos dos endpoints de contagem individuais.
+     */
+    private static final String CONSULTA_RESUMO =
+            "SELECT new com.br.psyclin.dto.response.DashboardResumoDTO(" +
+            "(SELECT COUNT(pac) FROM Paciente pac WHERE pac.statusPaciente = true), " +
+            "(SELECT COUNT(prof) FROM Profissional prof WHERE prof.statusProfissional = com.br.psyclin.models.Profissional$StatusProfissional._1), " +
+            "(SELECT COUNT(an) FROM Anamnese an WHERE an.statusFuncional = true), " +
+            "(SELECT COUNT(ag) FROM Agenda ag WHERE ag.situacaoAgenda = com.br.psyclin.models.Agenda$SituacaoAgenda.AGUARDANDO AND " +
+            "((ag.dataNova IS NOT NULL AND ag.dataNova BETWEEN :inicioHoje AND :fimHoje) OR " +
+            "(ag.dataNova IS NULL AND ag.dataAbertura BETWEEN :inicioHoje AND :fimHoje))), " +
+            "(SELECT COUNT(proc) FROM Procedimento proc), " +
+            "(SELECT COUNT(pr) FROM Prontuario pr), " +
+            "(SELECT COUNT(prh) FROM Prontuario prh WHERE prh.dataProcedimento = CURRENT_DATE))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca o resumo do dashboard.
+     * Cache curto (região dashboardResumo) - absorve recargas seguidas sem atrasar muito os números.
+     * 
+     * @return indicadores do dashboard
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.DASHBOARD_RESUMO, key = "'resumo'", cacheManager = "cacheManager")
+    public DashboardResumoDTO buscarResumo() {
+        try {
+            LocalDateTime inicioHoje = LocalDateTime.now().with(LocalTime.MIN);
+            LocalDateTime fimHoje = LocalDateTime.now().with(LocalTime.MAX);
+
+            return entityManager.createQuery(CONSULTA_RESUMO, DashboardResumoDTO.class)
+                    .setParameter("inicioHoje", inicioHoje)
+                    .setParameter("fimHoje", fimHoje)
+                    .getSingleResult();
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao buscar resumo do dashboard: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.br.psyclin.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detecta threads virtuais presas à thread portadora (pinning), via evento JFR jdk.VirtualThreadPinned.
+ * Cada ocorrência é classificada pela origem (driver JDBC/pool, Hibernate ou outro) e agrupada pelo
+ * ponto de bloqueio, junto com o primeiro método da aplicação na pilha.
+ * Ativo por padrão quando spring.threads.virtual.enabled=true. Relatório em /actuator/pinning.
+ */
+@Service
+public class DiagnosticoPinningService {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int MAX_LOCAIS = 200;
+    private static final String[] PACOTES_JDBC = {"com.mysql.", "org.h2.", "com.zaxxer.hikari.", "java.sql.", "javax.sql."};
+    private static final String PACOTE_HIBERNATE = "org.hibernate.";
+    private static final String PACOTE_APLICACAO = "com.br.psyclin.";
+
+    /**
+     * Local (ponto de bloqueio) onde houve pinning.
+     */
+    private record Local(String origem, String bloqueio, String aplicacao) {
+    }
+
+    /**
+     * Estatísticas acumuladas de um local.
+     */
+    private static final class Ocorrencias {
+        private final LongAdder quantidade = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${psyclin.threads.pinning.habilitado:${spring.threads.virtual.enabled:false}}")
+    private boolean habilitado;
+
+    @Value("${psyclin.threads.pinning.limiar-ms:20}")
+    private long limiarMs;
+
+    private final Map<Local, Ocorrencias> locais = new ConcurrentHashMap<>();
+    private final LongAdder descartados = new LongAdder();
+    private RecordingStream gravacao;
+    private Timer duracao;
+
+    /**
+     * Inicia a gravação JFR contínua (só do evento de pinning) se habilitado.
+     */
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        duracao = Timer.builder("psyclin.threads.pinning.duracao")
+                .description("Tempo em que threads virtuais ficaram presas à portadora")
+                .register(meterRegistry);
+        try {
+            gravacao = new RecordingStream();
+            gravacao.enable(EVENTO).withThreshold(Duration.ofMillis(limiarMs)).withStackTrace();
+            gravacao.onEvent(EVENTO, this::registrar);
+            gravacao.startAsync();
+            System.out.println("📌 Diagnóstico de pinning ativo (limiar " + limiarMs + " ms)");
+        } catch (Exception e) {
+            System.err.println("❌ Não foi possível iniciar o diagnóstico de pinning: " + e.getMessage());
+            gravacao = null;
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (gravacao != null) {
+            gravacao.close();
+        }
+    }
+
+    /**
+     * Relatório dos locais de pinning, do maior tempo acumulado para o menor.
+     * @return Mapa com totais por origem e os locais
+     */
+    public Map<String, Object> relatorio() {
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("habilitado", gravacao != null);
+        relatorio.put("limiarMs", limiarMs);
+
+        Map<String, Long> porOrigem = new LinkedHashMap<>();
+        locais.forEach((local, ocorrencias) -> porOrigem.merge(local.origem(), ocorrencias.quantidade.sum(), Long::sum));
+        relatorio.put("porOrigem", porOrigem);
+        relatorio.put("locaisDescartados", descartados.sum());
+
+        List<Map<String, Object>> lista = locais.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Local, Ocorrencias> e) -> e.getValue().totalNanos.sum()).reversed())
+                .map(e -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("origem", e.getKey().origem());
+                    item.put("bloqueio", e.getKey().bloqueio());
+                    item.put("aplicacao", e.getKey().aplicacao());
+                    item.put("ocorrencias", e.getValue().quantidade.sum());
+                    item.put("totalMs", TimeUnit.NANOSECONDS.toMillis(e.getValue().totalNanos.sum()));
+                    item.put("maximoMs", TimeUnit.NANOSECONDS.toMillis(e.getValue().maximoNanos.get()));
+                    return item;
+                })
+                .toList();
+        relatorio.put("locais", lista);
+        return relatorio;
+    }
+
+    /**
+     * Zera as estatísticas acumuladas.
+     */
+    public void limpar() {
+        locais.clear();
+        descartados.reset();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        long nanos = evento.getDuration().toNanos();
+        Local local = classificar(evento.getStackTrace());
+        duracao.record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("psyclin.threads.pinning")
+                .tag("origem", local.origem())
+                .register(meterRegistry)
+                .increment();
+
+        Ocorrencias ocorrencias = locais.get(local);
+        if (ocorrencias == null) {
+            if (locais.size() >= MAX_LOCAIS) {
+                descartados.increment();
+                return;
+            }
+            ocorrencias = locais.computeIfAbsent(local, l -> {
+                System.out.println("📌 Pinning (" + l.origem() + ") em " + l.bloqueio() + " via " + l.aplicacao());
+                return new Ocorrencias();
+            });
+        }
+        ocorrencias.quantidade.increment();
+        ocorrencias.totalNanos.add(nanos);
+        ocorrencias.maximoNanos.accumulate(nanos);
+    }
+
+    private static Local classificar(RecordedStackTrace pilha) {
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return new Local("outro", "desconhecido", "desconhecido");
+        }
+        String origem = null;
+        String bloqueio = null;
+        String aplicacao = "desconhecido";
+        for (RecordedFrame frame : pilha.getFrames()) {
+            String classe = frame.getMethod().getType().getName();
+            if (origem == null) {
+                if (comecaCom(classe, PACOTES_JDBC)) {
+                    origem = "jdbc";
+                    bloqueio = descrever(frame);
+                } else if (classe.startsWith(PACOTE_HIBERNATE)) {
+                    origem = "hibernate";
+                    bloqueio = descrever(frame);
+                }
+            }
+            if (classe.startsWith(PACOTE_APLICACAO)) {
+                aplicacao = descrever(frame);
+                break;
+            }
+        }
+        if (origem == null) {
+            return new Local("outro", descrever(pilha.getFrames().get(0)), aplicacao);
+        }
+        return new Local(origem, bloqueio, aplicacao);
+    }
+
+    private static boolean comecaCom(String classe, String[] prefixos) {
+        for (String prefixo : prefixos) {
+            if (classe.startsWith(prefixo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
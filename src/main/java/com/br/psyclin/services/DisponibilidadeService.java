@@ -0,0 +1,220 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.dto.response.HorarioLivreDTO;
+import com.br.psyclin.models.Agenda;
+import com.br.psyclin.repositories.AgendaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serviço de disponibilidade da agenda dos profissionais.
+ * 
+ * Mantém em memória um índice de intervalos ocupados por profissional (carregado sob demanda
+ * do banco) usado para recusar agendamentos sobrepostos e para buscar horários livres.
+ * O horário efetivo de um agendamento é dataNova (se reagendado) ou dataAbertura; como o
+ * procedimento não tem duração cadastrada, usa-se psyclin.agenda.duracao-padrao-minutos.
+ * Agendamentos cancelados não ocupam horário.
+ */
+@Service
+public class DisponibilidadeService {
+
+    private static final DateTimeFormatter FORMATO_HORARIO = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    /** Maior janela aceita na busca de horários livres. */
+    private static final long MAXIMO_DIAS_BUSCA = 31;
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Value("${psyclin.agenda.duracao-padrao-minutos:50}")
+    private long duracaoPadraoMinutos;
+
+    @Value("${psyclin.agenda.expediente-inicio:08:00}")
+    private String expedienteInicio;
+
+    @Value("${psyclin.agenda.expediente-fim:18:00}")
+    private String expedienteFim;
+
+    private final ConcurrentMap<Integer, IndiceAgendaProfissional> indices = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva o horário de um agendamento, recusando sobreposição com a agenda do profissional.
+     * Agendamentos novos (sem ID) são reservados com um token; chame confirmarReserva após salvar.
+     * Se a transação for desfeita, só esta reserva é revertida no índice (o intervalo anterior do
+     * agendamento, se havia, é restaurado); as reservas de outras transações não são afetadas.
+     * @param agenda Agendamento com profissional e data preenchidos
+     * @return Token da reserva
+     * @throws ConflitoHorarioException se o horário conflitar com outro agendamento
+     */
+    public Object reservar(Agenda agenda) {
+        Integer idProfissional = agenda.getProfissional().getIdProfissional();
+        Object dono = agenda.getIdAgenda() != null ? agenda.getIdAgenda() : new Object();
+        IndiceAgendaProfissional indice = indice(idProfissional);
+        IndiceAgendaProfissional.Intervalo anterior;
+
+        synchronized (indice) {
+            anterior = indice.intervaloDe(dono);
+            if (agenda.getSituacaoAgenda() == Agenda.SituacaoAgenda.CANCELADO) {
+                indice.remover(dono);
+            } else {
+                IndiceAgendaProfissional.Intervalo conflito = indice.reservar(intervalo(agenda, dono));
+                if (conflito != null) {
+                    throw new ConflitoHorarioException("Conflito de horário: o profissional já possui agendamento das "
+                            + conflito.inicio().format(FORMATO_HORARIO) + " às " + conflito.fim().format(FORMATO_HORARIO));
+                }
+            }
+        }
+
+        desfazerSeRevertida(indice, agenda, dono, anterior);
+        return dono;
+    }
+
+    /**
+     * Associa a reserva ao ID gerado para o agendamento.
+     * @param token Token devolvido por reservar
+     * @param agenda Agendamento salvo
+     */
+    public void confirmarReserva(Object token, Agenda agenda) {
+        IndiceAgendaProfissional indice = indices.get(agenda.getProfissional().getIdProfissional());
+        if (indice != null && !token.equals(agenda.getIdAgenda())) {
+            indice.trocarDono(token, agenda.getIdAgenda());
+        }
+    }
+
+    /**
+     * Libera o horário de um agendamento excluído.
+     * @param agenda Agendamento excluído
+     */
+    public void liberar(Agenda agenda) {
+        Integer idProfissional = agenda.getProfissional().getIdProfissional();
+        IndiceAgendaProfissional indice = indices.get(idProfissional);
+        if (indice != null) {
+            IndiceAgendaProfissional.Intervalo anterior = indice.remover(agenda.getIdAgenda());
+            desfazerSeRevertida(indice, agenda, agenda.getIdAgenda(), anterior);
+        }
+    }
+
+    /**
+     * Busca os horários livres de um profissional dentro do expediente.
+     * @param idProfissional ID do profissional
+     * @param inicio Início da janela de busca
+     * @param fim Fim da janela de busca
+     * @param duracaoMinutos Duração mínima do horário livre (opcional, padrão a duração do atendimento)
+     * @return Intervalos livres em ordem cronológica
+     */
+    public List<HorarioLivreDTO> buscarHorariosLivres(Integer idProfissional, LocalDateTime inicio,
+                                                      LocalDateTime fim, Integer duracaoMinutos) {
+        if (idProfissional == null) {
+            throw new IllegalArgumentException("ID do profissional é obrigatório");
+        }
+        if (inicio == null || fim == null || !inicio.isBefore(fim)) {
+            throw new IllegalArgumentException("Período inválido");
+        }
+        if (Duration.between(inicio, fim).toDays() > MAXIMO_DIAS_BUSCA) {
+            throw new IllegalArgumentException("Período de busca limitado a " + MAXIMO_DIAS_BUSCA + " dias");
+        }
+
+        Duration duracaoMinima = Duration.ofMinutes(
+                duracaoMinutos != null && duracaoMinutos > 0 ? duracaoMinutos : duracaoPadraoMinutos);
+        LocalTime abertura = LocalTime.parse(expedienteInicio);
+        LocalTime fechamento = LocalTime.parse(expedienteFim);
+        IndiceAgendaProfissional indice = indice(idProfissional);
+
+        List<HorarioLivreDTO> livres = new ArrayList<>();
+        for (LocalDate dia = inicio.toLocalDate(); !dia.isAfter(fim.toLocalDate()); dia = dia.plusDays(1)) {
+            LocalDateTime janelaInicio = maior(inicio, dia.atTime(abertura));
+            LocalDateTime janelaFim = menor(fim, dia.atTime(fechamento));
+            if (!janelaInicio.isBefore(janelaFim)) {
+                continue;
+            }
+
+            LocalDateTime cursor = janelaInicio;
+            for (IndiceAgendaProfissional.Intervalo ocupado : indice.ocupadosEntre(janelaInicio, janelaFim)) {
+                adicionarSeCouber(livres, cursor, ocupado.inicio(), duracaoMinima);
+                cursor = maior(cursor, ocupado.fim());
+            }
+            adicionarSeCouber(livres, cursor, janelaFim, duracaoMinima);
+        }
+        return livres;
+    }
+
+    /**
+     * Índice do profissional, carregado do banco no primeiro uso.
+     * A consulta roda fora do mapa (computeIfAbsent seguraria o bin do ConcurrentHashMap durante
+     * o acesso ao banco); se duas threads carregarem ao mesmo tempo, vale o primeiro índice publicado.
+     */
+    private IndiceAgendaProfissional indice(Integer idProfissional) {
+        IndiceAgendaProfissional indice = indices.get(idProfissional);
+        if (indice != null) {
+            return indice;
+        }
+
+        IndiceAgendaProfissional carregado = new IndiceAgendaProfissional();
+        for (Agenda agenda : agendaRepository.findByProfissional_IdProfissional(idProfissional)) {
+            if (agenda.getSituacaoAgenda() != Agenda.SituacaoAgenda.CANCELADO) {
+                carregado.adicionar(intervalo(agenda, agenda.getIdAgenda()));
+            }
+        }
+        IndiceAgendaProfissional existente = indices.putIfAbsent(idProfissional, carregado);
+        return existente != null ? existente : carregado;
+    }
+
+    /**
+     * Reverte a alteração deste agendamento no índice se a transação corrente for desfeita:
+     * remove o intervalo reservado (pelo token ou pelo ID já confirmado) e restaura o anterior.
+     */
+    private void desfazerSeRevertida(IndiceAgendaProfissional indice, Agenda agenda, Object dono,
+                                     IndiceAgendaProfissional.Intervalo anterior) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                synchronized (indice) {
+                    indice.remover(dono);
+                    if (agenda.getIdAgenda() != null) {
+                        indice.remover(agenda.getIdAgenda());
+                    }
+                    if (anterior != null) {
+                        indice.adicionar(anterior);
+                    }
+                }
+            }
+        });
+    }
+
+    private IndiceAgendaProfissional.Intervalo intervalo(Agenda agenda, Object dono) {
+        LocalDateTime inicio = agenda.getDataNova() != null ? agenda.getDataNova() : agenda.getDataAbertura();
+        return new IndiceAgendaProfissional.Intervalo(inicio, inicio.plusMinutes(duracaoPadraoMinutos), dono);
+    }
+
+    private void adicionarSeCouber(List<HorarioLivreDTO> livres, LocalDateTime inicio, LocalDateTime fim, Duration duracaoMinima) {
+        if (Duration.between(inicio, fim).compareTo(duracaoMinima) >= 0) {
+            livres.add(new HorarioLivreDTO(inicio, fim));
+        }
+    }
+
+    private LocalDateTime maior(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private LocalDateTime menor(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,166 @@
+package com.br.psyclin.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Faixa de execução exclusiva para as chamadas ao modelo de IA (bulkhead).
+ * Limita as chamadas simultâneas, mantém uma fila limitada com prazo de espera e recusa
+ * o excedente de imediato, para que um pico de uso do chat não ocupe as threads do Tomcat
+ * que atendem agenda, pacientes e demais endpoints clínicos.
+ * Os prazos são vigiados por um agendador próprio: vencido o prazo de fila, a chamada sai da fila e
+ * quem chama recebe a recusa na hora (não só quando a tarefa chegaria à frente da fila); vencido o
+ * prazo total, a thread da chamada é interrompida e volta para a faixa.
+ * O prazo total padrão (25 s) fica abaixo do timeout das respostas assíncronas do MVC
+ * (psyclin.mvc.async-timeout, 30 s), para que o fallback chegue antes de o MVC desistir da requisição.
+ * Métricas: psyclin.chat.faixa.fila, .ativas, .espera e .rejeicoes (motivo=fila-cheia|prazo).
+ */
+@Service
+public class FaixaChamadasIAService {
+
+    private static final int NA_FILA = 0;
+    private static final int EM_EXECUCAO = 1;
+    private static final int CONCLUIDA = 2;
+    private static final int EXPIRADA = 3;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor agendador;
+    private final long prazoFilaNanos;
+    private final long prazoTotalNanos;
+    private final Timer tempoEspera;
+    private final Counter rejeitadasFilaCheia;
+    private final Counter rejeitadasPrazo;
+
+    public FaixaChamadasIAService(MeterRegistry meterRegistry,
+                                  @Value("${psyclin.chat.faixa.concorrencia:4}") int concorrencia,
+                                  @Value("${psyclin.chat.faixa.fila:16}") int capacidadeFila,
+                                  @Value("${psyclin.chat.faixa.prazo-fila:PT5S}") Duration prazoFila,
+                                  @Value("${psyclin.chat.faixa.prazo-total:PT25S}") Duration prazoTotal) {
+        AtomicInteger sequencia = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concorrencia, concorrencia, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                r -> {
+                    Thread thread = new Thread(r, "psyclin-ia-" + sequencia.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.agendador = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "psyclin-ia-prazos");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.agendador.setRemoveOnCancelPolicy(true);
+        this.prazoFilaNanos = prazoFila.toNanos();
+        this.prazoTotalNanos = prazoTotal.toNanos();
+
+        Gauge.builder("psyclin.chat.faixa.fila", executor, e -> e.getQueue().size())
+                .description("Chamadas ao modelo aguardando na fila").register(meterRegistry);
+        Gauge.builder("psyclin.chat.faixa.ativas", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Chamadas ao modelo em execução").register(meterRegistry);
+        this.tempoEspera = Timer.builder("psyclin.chat.faixa.espera")
+                .description("Tempo de espera na fila até a chamada ao modelo começar")
+                .register(meterRegistry);
+        this.rejeitadasFilaCheia = Counter.builder("psyclin.chat.faixa.rejeicoes")
+                .tag("motivo", "fila-cheia").register(meterRegistry);
+        this.rejeitadasPrazo = Counter.builder("psyclin.chat.faixa.rejeicoes")
+                .tag("motivo", "prazo").register(meterRegistry);
+    }
+
+    /**
+     * Enfileira uma chamada ao modelo. Não bloqueia quem chama.
+     * O futuro falha com RejectedExecutionException se a fila estiver cheia ou se o prazo de espera
+     * vencer antes de a chamada começar, e com TimeoutException se o prazo total vencer.
+     * Se o futuro for concluído por prazo (ou cancelado) com a chamada em andamento, ela é interrompida.
+     * @param chamada Chamada ao modelo
+     * @return Futuro com o resultado
+     */
+    public <T> CompletableFuture<T> executar(Supplier<T> chamada) {
+        long enfileiradaEm = System.nanoTime();
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        AtomicInteger estado = new AtomicInteger(NA_FILA);
+        FutureTask<Void> tarefa = new FutureTask<>(() -> {
+            if (!estado.compareAndSet(NA_FILA, EM_EXECUCAO)) {
+                return;
+            }
+            tempoEspera.record(System.nanoTime() - enfileiradaEm, TimeUnit.NANOSECONDS);
+            try {
+                T valor = chamada.get();
+                estado.set(CONCLUIDA);
+                resultado.complete(valor);
+            } catch (Throwable e) {
+                estado.set(CONCLUIDA);
+                resultado.completeExceptionally(e);
+            }
+        }, null);
+
+        try {
+            executor.execute(tarefa);
+        } catch (RejectedExecutionException e) {
+            rejeitadasFilaCheia.increment();
+            resultado.completeExceptionally(new RejectedExecutionException("Fila de chamadas à IA cheia", e));
+            return resultado;
+        }
+
+        ScheduledFuture<?> prazoFila = agendador.schedule(() -> {
+            if (estado.compareAndSet(NA_FILA, EXPIRADA)) {
+                executor.remove(tarefa);
+                tempoEspera.record(System.nanoTime() - enfileiradaEm, TimeUnit.NANOSECONDS);
+                rejeitadasPrazo.increment();
+                resultado.completeExceptionally(new RejectedExecutionException("Prazo de espera pela IA esgotado"));
+            }
+        }, prazoFilaNanos, TimeUnit.NANOSECONDS);
+        ScheduledFuture<?> prazoTotal = agendador.schedule(
+                () -> resultado.completeExceptionally(new TimeoutException("Prazo total da chamada à IA esgotado")),
+                prazoTotalNanos, TimeUnit.NANOSECONDS);
+
+        resultado.whenComplete((valor, erro) -> {
+            prazoFila.cancel(false);
+            prazoTotal.cancel(false);
+            if (estado.get() == EM_EXECUCAO) {
+                // Concluído por prazo ou cancelamento: libera a thread da faixa
+                tarefa.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Chamadas aguardando na fila.
+     * @return Tamanho da fila
+     */
+    public int tamanhoFila() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Chamadas em execução.
+     * @return Quantidade de chamadas ativas
+     */
+    public int chamadasAtivas() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        agendador.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,106 @@
+package com.br.psyclin.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para teste rápido de pertinência.
+ * "Não contém" é definitivo; "talvez contenha" precisa de confirmação.
+ * Dimensionado pela quantidade esperada de elementos e pela taxa de falso positivo desejada.
+ * Os k índices saem de hashing duplo (h1 + i*h2) sobre um hash de 64 bits.
+ * Seguro para uso concorrente: os bits ficam em um AtomicLongArray.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int quantidadeHashes;
+
+    /**
+     * @param elementosEsperados Quantidade esperada de elementos
+     * @param taxaFalsoPositivo Taxa de falso positivo desejada (ex.: 0.01)
+     */
+    public FiltroBloom(long elementosEsperados, double taxaFalsoPositivo) {
+        long n = Math.max(1, elementosEsperados);
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, ((m + 63) / 64) * 64);
+        this.totalBits = m;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (m / 64));
+    }
+
+    /**
+     * Adiciona um valor ao filtro.
+     * @param valor Valor (já normalizado)
+     */
+    public void adicionar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long indice = indice(h1, h2, i);
+            int palavra = (int) (indice >>> 6);
+            long mascara = 1L << indice;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    /**
+     * @param valor Valor (já normalizado)
+     * @return false se o valor certamente não foi adicionado
+     */
+    public boolean podeConter(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < quantidadeHashes; i++) {
+            long indice = indice(h1, h2, i);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falso positivo estimada pela ocupação atual: (bits ligados / total) ^ k.
+     * @return Estimativa entre 0 e 1
+     */
+    public double taxaFalsoPositivoEstimada() {
+        long ligados = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            ligados += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) ligados / totalBits, quantidadeHashes);
+    }
+
+    private long indice(int h1, int h2, int i) {
+        long combinado = (h1 + (long) i * h2) & Long.MAX_VALUE;
+        return combinado % totalBits;
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits sobre os bytes UTF-8, com mistura final para espalhar os bits.
+     * @param valor Valor
+     * @return Hash de 64 bits
+     */
+    public static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb93fe1a85ec5L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,424 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.dto.request.PacienteImportacaoDTO;
+import com.br.psyclin.dto.response.ImportacaoProgressoDTO;
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.PessoaFisica;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Serviço de importação em massa de pacientes.
+ * 
+ * Lê o arquivo linha a linha (CSV com cabeçalho ou NDJSON), valida cada linha com as mesmas
+ * regras do cadastro individual e grava em lotes: cada lote é uma transação com um batch JDBC
+ * por tabela (PESSOA, PESSOAFIS, PACIENTE, CONTATO, EMAIL). As chaves IDENTITY geradas em cada
+ * batch são lidas de volta com getGeneratedKeys e usadas como FK na tabela seguinte, sem
+ * alterar o mapeamento das entidades. No MySQL, use rewriteBatchedStatements=true na URL JDBC
+ * para que cada batch vire INSERTs de múltiplas linhas.
+ * 
+ * Como a gravação não passa pelo Hibernate, os índices em memória (contadores, nomes e
+ * documentos) são atualizados aqui após o commit de cada lote.
+ */
+@Service
+public class ImportacaoPacienteService {
+
+    private static final DateTimeFormatter FORMATO_DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /** Máximo de erros detalhados por evento de progresso. */
+    private static final int MAXIMO_ERROS_POR_EVENTO = 100;
+
+    private static final String INSERT_PESSOA = "INSERT INTO PESSOA (TIPOPESSOA) VALUES (?)";
+    private static final String INSERT_PESSOA_FISICA = "INSERT INTO PESSOAFIS "
+            + "(ID_PESSOA, CPFPESSOA, NOMEPESSOA, DATANASCPES, SEXOPESSOA, DATACRIACAO) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PACIENTE = "INSERT INTO PACIENTE "
+            + "(ID_PESSOAFIS, RGPACIENTE, ESTDORGPAC, STATUSPAC) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_CONTATO = "INSERT INTO CONTATO (ID_TIPOCONTATO, NUMERO, ID_PESSOA) VALUES (?, ?, ?)";
+    private static final String INSERT_EMAIL = "INSERT INTO EMAIL (EMAIL, ID_PESSOA) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RegistroDocumentosService registroDocumentosService;
+
+    @Autowired
+    private ContadorStatusService contadorStatusService;
+
+    @Autowired
+    private BuscaNomeService buscaNomeService;
+
+    @Value("${psyclin.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    @Value("${psyclin.importacao.tipo-contato-padrao:1}")
+    private int tipoContatoPadrao;
+
+    /**
+     * Linha validada, pronta para gravação.
+     */
+    private record LinhaValida(long numero, String cpf, String nome, LocalDate dataNascimento,
+                               PessoaFisica.Sexo sexo, String rg, Paciente.EstadoRg estadoRg,
+                               String telefone, String email) {
+    }
+
+    /**
+     * Importa pacientes de um arquivo.
+     * @param entrada Conteúdo do arquivo (UTF-8)
+     * @param ndjson true para NDJSON (um objeto JSON por linha), false para CSV com cabeçalho
+     * @param aoProgredir Recebe um evento a cada lote gravado
+     * @return Resumo final da importação
+     * @throws IOException se a leitura da entrada falhar
+     */
+    public ImportacaoProgressoDTO importar(InputStream entrada, boolean ndjson,
+                                           Consumer<ImportacaoProgressoDTO> aoProgredir) throws IOException {
+        long inicio = System.currentTimeMillis();
+        long[] totais = new long[3]; // processados, importados, rejeitados
+        List<ImportacaoProgressoDTO.Erro> erros = new ArrayList<>();
+        List<LinhaValida> lote = new ArrayList<>(tamanhoLote);
+        Set<String> cpfsDoArquivo = new HashSet<>();
+        Set<String> rgsDoArquivo = new HashSet<>();
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String[] cabecalho = null;
+            char separador = ',';
+            long numeroLinha = 0;
+            String linha;
+
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                if (!ndjson && cabecalho == null) {
+                    separador = linha.indexOf(';') >= 0 ? ';' : ',';
+                    cabecalho = dividirCsv(linha.replace("\uFEFF", ""), separador).toArray(new String[0]);
+                    continue;
+                }
+
+                totais[0]++;
+                try {
+                    PacienteImportacaoDTO dados = ndjson
+                            ? objectMapper.readValue(linha, PacienteImportacaoDTO.class)
+                            : lerCsv(cabecalho, dividirCsv(linha, separador));
+                    lote.add(validar(numeroLinha, dados, cpfsDoArquivo, rgsDoArquivo));
+                } catch (Exception e) {
+                    totais[2]++;
+                    registrarErro(erros, numeroLinha, e.getMessage());
+                }
+
+                if (lote.size() >= tamanhoLote) {
+                    gravar(lote, totais, erros);
+                    aoProgredir.accept(evento("progresso", totais, erros, null));
+                    erros = new ArrayList<>();
+                }
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            gravar(lote, totais, erros);
+        }
+        return evento("resumo", totais, erros, System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Grava um lote em uma transação. Se o lote falhar (ex.: violação de unicidade concorrente),
+     * regrava linha a linha para identificar as linhas com problema.
+     */
+    private void gravar(List<LinhaValida> lote, long[] totais, List<ImportacaoProgressoDTO.Erro> erros) {
+        try {
+            gravarLote(lote);
+            totais[1] += lote.size();
+        } catch (Exception e) {
+            for (LinhaValida linha : lote) {
+                try {
+                    gravarLote(List.of(linha));
+                    totais[1]++;
+                } catch (Exception erroLinha) {
+                    totais[2]++;
+                    registrarErro(erros, linha.numero(), "Erro ao gravar: " + mensagemRaiz(erroLinha));
+                }
+            }
+        }
+        lote.clear();
+    }
+
+    private void gravarLote(List<LinhaValida> lote) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        List<Integer> idsPaciente = new ArrayList<>(lote.size());
+
+        transacao.executeWithoutResult(status -> {
+            List<Integer> idsPessoa = inserirComChaves(INSERT_PESSOA, "IDPESSOA", lote,
+                    (ps, linha, i) -> ps.setString(1, "F"));
+
+            LocalDateTime agora = LocalDateTime.now();
+            List<Integer> idsPessoaFisica = inserirComChaves(INSERT_PESSOA_FISICA, "IDPESSOAFIS", lote,
+                    (ps, linha, i) -> {
+                        ps.setInt(1, idsPessoa.get(i));
+                        ps.setString(2, linha.cpf());
+                        ps.setString(3, linha.nome());
+                        ps.setObject(4, linha.dataNascimento());
+                        ps.setString(5, linha.sexo().name());
+                        ps.setObject(6, agora);
+                    });
+
+            idsPaciente.addAll(inserirComChaves(INSERT_PACIENTE, "IDPACIENTE", lote,
+                    (ps, linha, i) -> {
+                        ps.setInt(1, idsPessoaFisica.get(i));
+                        ps.setString(2, linha.rg());
+                        ps.setString(3, linha.estadoRg() != null ? linha.estadoRg().name() : null);
+                        ps.setBoolean(4, true);
+                    }));
+
+            List<Object[]> contatos = new ArrayList<>();
+            List<Object[]> emails = new ArrayList<>();
+            for (int i = 0; i < lote.size(); i++) {
+                LinhaValida linha = lote.get(i);
+                if (linha.telefone() != null) {
+                    contatos.add(new Object[] {tipoContatoPadrao, linha.telefone(), idsPessoa.get(i)});
+                }
+                if (linha.email() != null) {
+                    emails.add(new Object[] {linha.email(), idsPessoa.get(i)});
+                }
+            }
+            if (!contatos.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CONTATO, contatos);
+            }
+            if (!emails.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_EMAIL, emails);
+            }
+        });
+
+        // Lote confirmado: atualiza os índices em memória
+        for (int i = 0; i < lote.size(); i++) {
+            LinhaValida linha = lote.get(i);
+            registroDocumentosService.registrar(RegistroDocumentosService.TipoDocumento.CPF, linha.cpf());
+            registroDocumentosService.registrar(RegistroDocumentosService.TipoDocumento.RG, linha.rg());
+            contadorStatusService.registrarPaciente(null, true);
+            buscaNomeService.indexarPaciente(idsPaciente.get(i), linha.nome());
+        }
+    }
+
+    /**
+     * Preenche os parâmetros de uma linha do batch.
+     */
+    @FunctionalInterface
+    private interface PreencherLinha {
+        void preencher(PreparedStatement ps, LinhaValida linha, int indice) throws SQLException;
+    }
+
+    /**
+     * Executa um INSERT em batch e devolve as chaves geradas, na ordem das linhas.
+     */
+    private List<Integer> inserirComChaves(String sql, String colunaId, List<LinhaValida> linhas, PreencherLinha preencher) {
+        KeyHolder chaves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, new String[] {colunaId}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        preencher.preencher(ps, linhas.get(i), i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return linhas.size();
+                    }
+                },
+                chaves);
+
+        List<Integer> ids = new ArrayList<>(linhas.size());
+        for (Map<String, Object> chave : chaves.getKeyList()) {
+            ids.add(((Number) chave.values().iterator().next()).intValue());
+        }
+        if (ids.size() != linhas.size()) {
+            throw new IllegalStateException("Quantidade de chaves geradas diferente da quantidade de linhas");
+        }
+        return ids;
+    }
+
+    /**
+     * Valida uma linha com as regras do cadastro de paciente.
+     * @throws IllegalArgumentException com a mensagem do primeiro problema encontrado
+     */
+    private LinhaValida validar(long numero, PacienteImportacaoDTO dados, Set<String> cpfsDoArquivo, Set<String> rgsDoArquivo) {
+        String cpf = dados.getCpf() != null ? dados.getCpf().replaceAll("\\D", "") : "";
+        if (cpf.length() != 11) {
+            throw new IllegalArgumentException("CPF inválido");
+        }
+
+        String nome = dados.getNome() != null ? dados.getNome().trim() : "";
+        if (nome.isEmpty() || nome.length() > 100) {
+            throw new IllegalArgumentException("Nome é obrigatório (até 100 caracteres)");
+        }
+
+        LocalDate dataNascimento = lerData(dados.getDataNascimento());
+
+        PessoaFisica.Sexo sexo;
+        try {
+            sexo = PessoaFisica.Sexo.valueOf(dados.getSexo().trim().toUpperCase(Locale.ROOT));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Sexo inválido (use M ou F)");
+        }
+
+        String rg = dados.getRg() != null ? dados.getRg().trim() : "";
+        if (rg.isEmpty()) {
+            throw new IllegalArgumentException("RG do paciente é obrigatório");
+        }
+        if (rg.length() > 15) {
+            throw new IllegalArgumentException("RG do paciente deve ter até 15 caracteres");
+        }
+
+        Paciente.EstadoRg estadoRg = null;
+        if (dados.getEstadoRg() != null && !dados.getEstadoRg().isBlank()) {
+            try {
+                estadoRg = Paciente.EstadoRg.valueOf(dados.getEstadoRg().trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Estado do RG inválido: " + dados.getEstadoRg());
+            }
+        }
+
+        String telefone = null;
+        if (dados.getTelefone() != null && !dados.getTelefone().isBlank()) {
+            telefone = dados.getTelefone().replaceAll("\\D", "");
+            if (telefone.isEmpty() || telefone.length() > 12) {
+                throw new IllegalArgumentException("Telefone inválido");
+            }
+        }
+
+        String email = null;
+        if (dados.getEmail() != null && !dados.getEmail().isBlank()) {
+            email = dados.getEmail().trim();
+            if (!email.contains("@") || email.length() > 100) {
+                throw new IllegalArgumentException("Email inválido");
+            }
+        }
+
+        if (!cpfsDoArquivo.add(cpf)) {
+            throw new IllegalArgumentException("CPF repetido no arquivo: " + cpf);
+        }
+        if (!rgsDoArquivo.add(RegistroDocumentosService.TipoDocumento.RG.normalizar(rg))) {
+            throw new IllegalArgumentException("RG repetido no arquivo: " + rg);
+        }
+        if (registroDocumentosService.existe(RegistroDocumentosService.TipoDocumento.CPF, cpf)) {
+            throw new IllegalArgumentException("Já existe uma pessoa com o CPF: " + cpf);
+        }
+        if (registroDocumentosService.existe(RegistroDocumentosService.TipoDocumento.RG, rg)) {
+            throw new IllegalArgumentException("Já existe um paciente com o RG: " + rg);
+        }
+
+        return new LinhaValida(numero, cpf, nome, dataNascimento, sexo, rg, estadoRg, telefone, email);
+    }
+
+    private LocalDate lerData(String texto) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("Data de nascimento é obrigatória");
+        }
+        String valor = texto.trim();
+        try {
+            return valor.contains("/") ? LocalDate.parse(valor, FORMATO_DATA_BR) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data de nascimento inválida (use AAAA-MM-DD ou DD/MM/AAAA)");
+        }
+    }
+
+    private PacienteImportacaoDTO lerCsv(String[] cabecalho, List<String> colunas) {
+        Map<String, String> valores = new HashMap<>();
+        for (int i = 0; i < cabecalho.length && i < colunas.size(); i++) {
+            valores.put(cabecalho[i].trim().toLowerCase(Locale.ROOT), colunas.get(i));
+        }
+        return new PacienteImportacaoDTO(
+                valores.get("cpf"),
+                valores.get("nome"),
+                valores.get("datanascimento"),
+                valores.get("sexo"),
+                valores.get("rg"),
+                valores.get("estadorg"),
+                valores.get("telefone"),
+                valores.get("email"));
+    }
+
+    /**
+     * Divide uma linha CSV respeitando aspas ("" é uma aspa literal dentro de campo entre aspas).
+     */
+    private List<String> dividirCsv(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private void registrarErro(List<ImportacaoProgressoDTO.Erro> erros, long linha, String mensagem) {
+        if (erros.size() < MAXIMO_ERROS_POR_EVENTO) {
+            erros.add(new ImportacaoProgressoDTO.Erro(linha, mensagem));
+        }
+    }
+
+    private ImportacaoProgressoDTO evento(String tipo, long[] totais, List<ImportacaoProgressoDTO.Erro> erros, Long duracaoMs) {
+        return new ImportacaoProgressoDTO(tipo, totais[0], totais[1], totais[2],
+                erros.isEmpty() ? null : erros, duracaoMs);
+    }
+
+    private String mensagemRaiz(Throwable erro) {
+        Throwable raiz = erro;
+        while (raiz.getCause() != null && raiz.getCause() != raiz) {
+            raiz = raiz.getCause();
+        }
+        return raiz.getMessage();
+    }
+}
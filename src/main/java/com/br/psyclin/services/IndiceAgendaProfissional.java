@@ -0,0 +1,130 @@
+package com.br.psyclin.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice de intervalos ocupados da agenda de um profissional.
+ * 
+ * Os intervalos ficam ordenados pelo início (árvore rubro-negra do TreeMap). Como nenhum
+ * intervalo dura mais que a maior duração indexada, um intervalo que cruze [inicio, fim)
+ * começa obrigatoriamente em [inicio - duracaoMaxima, fim): a busca de conflito é
+ * O(log n) mais os poucos candidatos dessa faixa. Intervalos são semiabertos [inicio, fim).
+ * Todas as operações são sincronizadas na instância (um índice por profissional).
+ */
+class IndiceAgendaProfissional {
+
+    /**
+     * Intervalo ocupado.
+     * @param inicio Início efetivo do atendimento
+     * @param fim Fim do atendimento (exclusivo)
+     * @param dono Identificador do agendamento (ID ou token de reserva ainda sem ID)
+     */
+    record Intervalo(LocalDateTime inicio, LocalDateTime fim, Object dono) {
+
+        boolean cruza(LocalDateTime outroInicio, LocalDateTime outroFim) {
+            return inicio.isBefore(outroFim) && outroInicio.isBefore(fim);
+        }
+    }
+
+    private final NavigableMap<LocalDateTime, List<Intervalo>> porInicio = new TreeMap<>();
+    private final Map<Object, Intervalo> porDono = new HashMap<>();
+    private Duration duracaoMaxima = Duration.ZERO;
+
+    /**
+     * Reserva o intervalo se ele não cruzar nenhum outro.
+     * Se o dono já tiver um intervalo (reagendamento), ele é substituído e ignorado na checagem.
+     * @param intervalo Intervalo desejado
+     * @return Intervalo em conflito, ou null se a reserva foi feita
+     */
+    synchronized Intervalo reservar(Intervalo intervalo) {
+        for (Intervalo ocupado : ocupadosEntre(intervalo.inicio(), intervalo.fim())) {
+            if (!ocupado.dono().equals(intervalo.dono())) {
+                return ocupado;
+            }
+        }
+        remover(intervalo.dono());
+        adicionar(intervalo);
+        return null;
+    }
+
+    /**
+     * Adiciona o intervalo sem checar conflito (carga a partir do banco).
+     * @param intervalo Intervalo ocupado
+     */
+    synchronized void adicionar(Intervalo intervalo) {
+        porInicio.computeIfAbsent(intervalo.inicio(), k -> new ArrayList<>(1)).add(intervalo);
+        porDono.put(intervalo.dono(), intervalo);
+
+        Duration duracao = Duration.between(intervalo.inicio(), intervalo.fim());
+        if (duracao.compareTo(duracaoMaxima) > 0) {
+            duracaoMaxima = duracao;
+        }
+    }
+
+    /**
+     * Remove o intervalo do dono, se existir.
+     * @param dono Identificador do agendamento
+     * @return Intervalo removido, ou null se o dono não tinha intervalo
+     */
+    synchronized Intervalo remover(Object dono) {
+        Intervalo intervalo = porDono.remove(dono);
+        if (intervalo == null) {
+            return null;
+        }
+        List<Intervalo> mesmoInicio = porInicio.get(intervalo.inicio());
+        if (mesmoInicio != null) {
+            mesmoInicio.remove(intervalo);
+            if (mesmoInicio.isEmpty()) {
+                porInicio.remove(intervalo.inicio());
+            }
+        }
+        return intervalo;
+    }
+
+    /**
+     * @param dono Identificador do agendamento
+     * @return Intervalo atual do dono, ou null se não houver
+     */
+    synchronized Intervalo intervaloDe(Object dono) {
+        return porDono.get(dono);
+    }
+
+    /**
+     * Troca o dono de um intervalo (token de reserva pelo ID gerado no banco).
+     * @param donoAtual Dono atual
+     * @param novoDono Novo dono
+     */
+    synchronized void trocarDono(Object donoAtual, Object novoDono) {
+        Intervalo intervalo = porDono.get(donoAtual);
+        if (intervalo == null) {
+            return;
+        }
+        remover(donoAtual);
+        adicionar(new Intervalo(intervalo.inicio(), intervalo.fim(), novoDono));
+    }
+
+    /**
+     * Lista os intervalos ocupados que cruzam [inicio, fim), em ordem de início.
+     * @param inicio Início da janela
+     * @param fim Fim da janela (exclusivo)
+     * @return Intervalos ocupados na janela
+     */
+    synchronized List<Intervalo> ocupadosEntre(LocalDateTime inicio, LocalDateTime fim) {
+        List<Intervalo> ocupados = new ArrayList<>();
+        for (List<Intervalo> candidatos : porInicio.subMap(inicio.minus(duracaoMaxima), false, fim, false).values()) {
+            for (Intervalo candidato : candidatos) {
+                if (candidato.cruza(inicio, fim)) {
+                    ocupados.add(candidato);
+                }
+            }
+        }
+        return ocupados;
+    }
+}
@@ -0,0 +1,220 @@
+package com.br.psyclin.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas para busca de nomes por trecho ou prefixo.
+ * 
+ * Os nomes são normalizados (sem acentos, minúsculos, só letras e dígitos) e as palavras
+ * ficam separadas por dois espaços, com dois espaços também no início. Assim o trigrama
+ * "  j" marca uma palavra começando com "j" e consultas de 1 ou 2 letras viram buscas
+ * de prefixo de palavra. A consulta é normalizada do mesmo jeito, os candidatos saem da
+ * interseção das listas de trigramas e são confirmados por contains no nome normalizado.
+ * Leituras concorrentes; escritas com lock exclusivo.
+ */
+public class IndiceTrigramas {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final String INICIO_PALAVRA = "  ";
+
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+    private final Map<Integer, String> nomesIndexados = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (ou reindexa) o nome de um registro.
+     * @param id Identificador do registro
+     * @param nome Nome a indexar (null remove o registro)
+     */
+    public void indexar(Integer id, String nome) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            String indexado = formaIndexada(nome);
+            if (indexado == null) {
+                return;
+            }
+            nomesIndexados.put(id, indexado);
+            for (String trigrama : trigramas(indexado)) {
+                postings.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um registro do índice.
+     * @param id Identificador do registro
+     */
+    public void remover(Integer id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice.
+     * @param nomes Mapa de ID para nome
+     */
+    public void recarregar(Map<Integer, String> nomes) {
+        IndiceTrigramas novo = new IndiceTrigramas();
+        nomes.forEach(novo::indexar);
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(novo.postings);
+            nomesIndexados.clear();
+            nomesIndexados.putAll(novo.nomesIndexados);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca registros cujo nome contém o termo, ignorando acentos e caixa.
+     * Ordem: nome começando com o termo, palavra começando com o termo, demais ocorrências;
+     * empates pela posição da ocorrência e depois pelo nome mais curto.
+     * @param termo Termo buscado (1 letra ou mais)
+     * @param limite Quantidade máxima de resultados
+     * @return IDs encontrados, do mais relevante ao menos relevante
+     */
+    public List<Integer> buscar(String termo, int limite) {
+        String consulta = formaConsulta(termo);
+        if (consulta == null || limite <= 0) {
+            return List.of();
+        }
+        // Termos curtos só casam como prefixo de palavra
+        String alvo = consulta.length() < 3 ? INICIO_PALAVRA + consulta : consulta;
+        String prefixoPalavra = INICIO_PALAVRA + consulta;
+
+        lock.readLock().lock();
+        try {
+            List<Set<Integer>> listas = new ArrayList<>();
+            for (String trigrama : trigramas(alvo)) {
+                Set<Integer> lista = postings.get(trigrama);
+                if (lista == null) {
+                    return List.of();
+                }
+                listas.add(lista);
+            }
+            listas.sort(Comparator.comparingInt(Set::size));
+
+            List<Resultado> resultados = new ArrayList<>();
+            for (Integer id : listas.get(0)) {
+                if (!contidoEmTodas(id, listas)) {
+                    continue;
+                }
+                String nome = nomesIndexados.get(id);
+                int posicao = nome.indexOf(alvo);
+                if (posicao < 0) {
+                    continue;
+                }
+                int relevancia = nome.startsWith(prefixoPalavra) ? 0 : nome.contains(prefixoPalavra) ? 1 : 2;
+                resultados.add(new Resultado(id, relevancia, posicao, nome.length()));
+            }
+
+            return resultados.stream()
+                    .sorted(Comparator.comparingInt(Resultado::relevancia)
+                            .thenComparingInt(Resultado::posicao)
+                            .thenComparingInt(Resultado::tamanho)
+                            .thenComparing(Resultado::id))
+                    .limit(limite)
+                    .map(Resultado::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Quantidade de registros indexados
+     */
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return nomesIndexados.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza um texto: sem acentos, minúsculo, palavras separadas por um espaço.
+     * @param texto Texto original
+     * @return Texto normalizado (vazio se não houver letras ou dígitos)
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private void removerSemLock(Integer id) {
+        String anterior = nomesIndexados.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String trigrama : trigramas(anterior)) {
+            Set<Integer> lista = postings.get(trigrama);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    postings.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    private static String formaIndexada(String nome) {
+        String consulta = formaConsulta(nome);
+        return consulta == null ? null : INICIO_PALAVRA + consulta;
+    }
+
+    private static String formaConsulta(String texto) {
+        String normalizado = normalizar(texto);
+        return normalizado.isEmpty() ? null : normalizado.replace(" ", INICIO_PALAVRA);
+    }
+
+    private static Set<String> trigramas(String texto) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            trigramas.add(texto.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+
+    private static boolean contidoEmTodas(Integer id, List<Set<Integer>> listas) {
+        for (int i = 1; i < listas.size(); i++) {
+            if (!listas.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Resultado(Integer id, int relevancia, int posicao, int tamanho) {
+    }
+}
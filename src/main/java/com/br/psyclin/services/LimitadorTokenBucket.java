@@ -0,0 +1,127 @@
+package com.br.psyclin.services;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de taxa por cliente no modelo de token bucket, sem locks.
+ * Cada balde guarda um único instante ("tempo teórico de chegada", formulação GCRA do token bucket):
+ * consumir um token é um CAS que avança esse instante em um intervalo; o pedido passa enquanto
+ * o instante não estiver mais à frente do relógio do que a rajada permite.
+ * Os baldes ficam em faixas (stripes) independentes; um balde cujo instante já ficou no passado
+ * está cheio, idêntico a um novo, e pode ser descartado sem perder estado; quem usa o limitador
+ * deve chamar {@link #descartarOciosos()} periodicamente.
+ */
+public final class LimitadorTokenBucket {
+
+    /**
+     * Resultado de uma tentativa de consumo.
+     * @param permitido Se o pedido pode prosseguir
+     * @param esperaNanos Espera até haver um token (0 quando permitido)
+     */
+    public record Decisao(boolean permitido, long esperaNanos) {
+
+        /**
+         * Espera em segundos, arredondada para cima (para o cabeçalho Retry-After).
+         * @return Segundos de espera (mínimo 1 quando negado)
+         */
+        public long esperaSegundos() {
+            return permitido ? 0 : Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private static final String CHAVE_EXCEDENTE = "*";
+
+    private final ConcurrentHashMap<String, AtomicLong>[] faixas;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final int maxBaldes;
+    private final LongSupplier relogio;
+
+    /**
+     * @param tokensPorMinuto Taxa de reposição
+     * @param rajada Tokens disponíveis de uma vez (capacidade do balde)
+     * @param maxBaldes Limite de clientes acompanhados; acima dele os novos dividem um balde comum
+     * @param quantidadeFaixas Número de faixas (potência de 2 não é obrigatória)
+     * @param relogio Fonte de tempo em nanossegundos
+     */
+    @SuppressWarnings("unchecked")
+    public LimitadorTokenBucket(int tokensPorMinuto, int rajada, int maxBaldes, int quantidadeFaixas, LongSupplier relogio) {
+        if (tokensPorMinuto < 1 || rajada < 1) {
+            throw new IllegalArgumentException("Taxa e rajada devem ser positivas");
+        }
+        this.intervaloNanos = TimeUnit.MINUTES.toNanos(1) / tokensPorMinuto;
+        this.toleranciaNanos = intervaloNanos * (rajada - 1);
+        this.maxBaldes = maxBaldes;
+        this.relogio = relogio;
+        this.faixas = new ConcurrentHashMap[Math.max(1, quantidadeFaixas)];
+        for (int i = 0; i < faixas.length; i++) {
+            faixas[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Tenta consumir um token do balde do cliente.
+     * @param cliente Chave do cliente (IP, sessão...)
+     * @return Decisão com a espera sugerida quando negado
+     */
+    public Decisao tentarConsumir(String cliente) {
+        long agora = relogio.getAsLong();
+        AtomicLong balde = balde(cliente, agora);
+        while (true) {
+            long chegada = balde.get();
+            long base = Math.max(chegada, agora);
+            long proxima = base + intervaloNanos;
+            long adiantamento = proxima - agora - intervaloNanos;
+            if (adiantamento > toleranciaNanos) {
+                return new Decisao(false, adiantamento - toleranciaNanos);
+            }
+            if (balde.compareAndSet(chegada, proxima)) {
+                return new Decisao(true, 0);
+            }
+        }
+    }
+
+    /**
+     * Descarta os baldes cheios (clientes ociosos).
+     * @return Quantidade de baldes descartados
+     */
+    public int descartarOciosos() {
+        long agora = relogio.getAsLong();
+        int descartados = 0;
+        for (ConcurrentHashMap<String, AtomicLong> faixa : faixas) {
+            int antes = faixa.size();
+            faixa.values().removeIf(balde -> balde.get() <= agora);
+            descartados += antes - faixa.size();
+        }
+        return descartados;
+    }
+
+    /**
+     * Quantidade de baldes em memória.
+     * @return Total de baldes
+     */
+    public int totalBaldes() {
+        int total = 0;
+        for (ConcurrentHashMap<String, AtomicLong> faixa : faixas) {
+            total += faixa.size();
+        }
+        return total;
+    }
+
+    private AtomicLong balde(String cliente, long agora) {
+        ConcurrentHashMap<String, AtomicLong> faixa = faixas[Math.floorMod(cliente.hashCode(), faixas.length)];
+        AtomicLong balde = faixa.get(cliente);
+        if (balde != null) {
+            return balde;
+        }
+        if (totalBaldes() >= maxBaldes) {
+            // Memória limitada: clientes novos acima do limite dividem um balde comum até a próxima
+            // varredura de descartarOciosos (agendada), sem varrer os baldes na thread da requisição
+            return faixas[0].computeIfAbsent(CHAVE_EXCEDENTE, chave -> new AtomicLong(agora));
+        }
+        return faixa.computeIfAbsent(cliente, chave -> new AtomicLong(agora));
+    }
+}
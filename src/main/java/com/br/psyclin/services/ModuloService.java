@@ -16,6 +16,9 @@ public class ModuloService {
     @Autowired
     private ModuloRepository moduloRepository;
 
+    @Autowired
+    private TemplateFormularioService templateFormularioService;
+
     /**
      * Cadastra um novo módulo.
      * @param modulo Módulo a ser cadastrado
@@ -23,7 +26,9 @@ public class ModuloService {
      */
     public Modulo cadastrarModulo(Modulo modulo) {
         // TODO: Validar duplicidade de nome e outras regras
-        return moduloRepository.save(modulo);
+        Modulo salvo = moduloRepository.save(modulo);
+        templateFormularioService.invalidarModulo(salvo.getIdModulo());
+        return salvo;
     }
 
     /**
@@ -35,6 +40,7 @@ public class ModuloService {
     public Modulo atualizarModulo(Integer id, Modulo dadosAtualizados) {
         Optional<Modulo> existente = moduloRepository.findByIdModulo(id);
         // ...
+        templateFormularioService.invalidarModulo(id);
         return null;
     }
 
@@ -44,6 +50,7 @@ public class ModuloService {
      */
     public void excluirModulo(Integer id) {
         // TODO: Verificar vínculos antes de excluir
+        templateFormularioService.invalidarModulo(id);
     }
 
     /**
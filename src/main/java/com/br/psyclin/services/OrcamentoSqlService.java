@@ -0,0 +1,171 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.configs.ContadorSqlInspector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service que acompanha quantos comandos SQL cada endpoint executa por requisição.
+ * Requisições acima do orçamento (psyclin.sql.orcamento) são logadas com os formatos de consulta
+ * repetidos — o sinal de N+1 — e os piores endpoints ficam em /actuator/nmaisum.
+ * Métricas: psyclin.sql.comandos{endpoint} (comandos por requisição) e psyclin.sql.orcamento.excedido{endpoint}.
+ */
+@Service
+public class OrcamentoSqlService {
+
+    private static final int MAX_ENDPOINTS = 500;
+    private static final int MAX_FORMATOS_REPETIDOS = 10;
+
+    /**
+     * Pior requisição observada de um endpoint.
+     */
+    private record Amostra(int comandos, Map<String, Integer> repetidos, long registradaEm) {
+    }
+
+    /**
+     * Estatísticas acumuladas de um endpoint.
+     */
+    private static final class Estatistica {
+        private long requisicoes;
+        private long comandos;
+        private long excedidas;
+        private Amostra pior;
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${psyclin.sql.orcamento:30}")
+    private int orcamento;
+
+    /** Execuções do mesmo formato, na mesma requisição, a partir das quais ele é listado como repetido. */
+    @Value("${psyclin.sql.repeticao-minima:3}")
+    private int repeticaoMinima;
+
+    private final Map<String, Estatistica> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Registra os comandos de uma requisição encerrada.
+     * @param endpoint Método HTTP e padrão da rota (ex.: GET /paciente/{id})
+     * @param contagem Comandos contados pelo inspector
+     */
+    public void registrar(String endpoint, ContadorSqlInspector.Contagem contagem) {
+        int comandos = contagem.getTotal();
+        DistributionSummary.builder("psyclin.sql.comandos")
+                .description("Comandos SQL por requisição")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(comandos);
+
+        boolean excedeu = comandos > orcamento;
+        Map<String, Integer> repetidos = comandos >= repeticaoMinima ? repetidos(contagem) : Map.of();
+        if (excedeu) {
+            Counter.builder("psyclin.sql.orcamento.excedido")
+                    .description("Requisições acima do orçamento de comandos SQL")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            StringBuilder log = new StringBuilder("⚠️ ").append(endpoint).append(" executou ").append(comandos)
+                    .append(" comandos SQL (orçamento ").append(orcamento).append(")");
+            repetidos.forEach((formato, vezes) -> log.append("\n   ").append(vezes).append("x ").append(resumir(formato)));
+            System.out.println(log);
+        }
+
+        Estatistica estatistica = endpoints.get(endpoint);
+        if (estatistica == null) {
+            if (endpoints.size() >= MAX_ENDPOINTS) {
+                return;
+            }
+            estatistica = endpoints.computeIfAbsent(endpoint, chave -> new Estatistica());
+        }
+        synchronized (estatistica) {
+            estatistica.requisicoes++;
+            estatistica.comandos += comandos;
+            if (excedeu) {
+                estatistica.excedidas++;
+            }
+            if (estatistica.pior == null || comandos > estatistica.pior.comandos()) {
+                estatistica.pior = new Amostra(comandos, repetidos, System.currentTimeMillis());
+            }
+        }
+    }
+
+    /**
+     * Endpoints ordenados pela pior requisição (mais comandos primeiro).
+     * @param limite Quantidade máxima de endpoints
+     * @return Relatório com orçamento, endpoints e estatísticas do Hibernate
+     */
+    public Map<String, Object> relatorio(int limite) {
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("orcamento", orcamento);
+        relatorio.put("repeticaoMinima", repeticaoMinima);
+
+        List<Map<String, Object>> lista = endpoints.entrySet().stream()
+                .map(e -> resumo(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingInt((Map<String, Object> item) -> (Integer) item.get("maximoComandos")).reversed())
+                .limit(limite)
+                .toList();
+        relatorio.put("endpoints", lista);
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (estatisticas.isStatisticsEnabled()) {
+            Map<String, Object> hibernate = new LinkedHashMap<>();
+            hibernate.put("comandosPreparados", estatisticas.getPrepareStatementCount());
+            hibernate.put("entidadesBuscadas", estatisticas.getEntityFetchCount());
+            hibernate.put("colecoesBuscadas", estatisticas.getCollectionFetchCount());
+            hibernate.put("consultaMaisLenta", estatisticas.getQueryExecutionMaxTimeQueryString());
+            relatorio.put("hibernate", hibernate);
+        }
+        return relatorio;
+    }
+
+    /**
+     * Zera as estatísticas acumuladas.
+     */
+    public void limpar() {
+        endpoints.clear();
+    }
+
+    private Map<String, Object> resumo(String endpoint, Estatistica estatistica) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        synchronized (estatistica) {
+            item.put("endpoint", endpoint);
+            item.put("requisicoes", estatistica.requisicoes);
+            item.put("mediaComandos", estatistica.requisicoes > 0 ? (double) estatistica.comandos / estatistica.requisicoes : 0);
+            item.put("maximoComandos", estatistica.pior != null ? estatistica.pior.comandos() : 0);
+            item.put("acimaDoOrcamento", estatistica.excedidas);
+            item.put("repetidosNaPior", estatistica.pior != null ? estatistica.pior.repetidos() : Map.of());
+            item.put("piorEm", estatistica.pior != null ? estatistica.pior.registradaEm() : null);
+        }
+        return item;
+    }
+
+    private Map<String, Integer> repetidos(ContadorSqlInspector.Contagem contagem) {
+        Map<String, Integer> repetidos = new LinkedHashMap<>();
+        contagem.getPorFormato().entrySet().stream()
+                .filter(e -> e.getValue() >= repeticaoMinima)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(MAX_FORMATOS_REPETIDOS)
+                .forEach(e -> repetidos.put(e.getKey(), e.getValue()));
+        return repetidos;
+    }
+
+    private static String resumir(String formato) {
+        return formato.length() > 200 ? formato.substring(0, 200) + "..." : formato;
+    }
+}
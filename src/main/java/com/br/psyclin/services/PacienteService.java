@@ -1,13 +1,20 @@
 package com.br.psyclin.services;
 
+import com.br.psyclin.configs.PaginacaoConfig;
 import com.br.psyclin.models.Paciente;
+import com.br.psyclin.dto.request.CursorPaginacao;
 import com.br.psyclin.dto.response.PacienteResponseDTO;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.repositories.PacienteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +28,18 @@ public class PacienteService {
     @Autowired
     private PacienteRepository pacienteRepository;
 
+    @Autowired
+    private PaginacaoConfig paginacaoConfig;
+
+    @Autowired
+    private ContadorStatusService contadorStatusService;
+
+    @Autowired
+    private BuscaNomeService buscaNomeService;
+
+    @Autowired
+    private RegistroDocumentosService registroDocumentosService;
+
     /**
      * Cadastra um novo paciente.
      * @param paciente Paciente a ser cadastrado
@@ -40,6 +59,11 @@ public class PacienteService {
                 throw new IllegalArgumentException("RG do paciente é obrigatório");
             }
             
+            // Verificar se RG já existe (registro em memória; banco só se provável duplicata)
+            if (registroDocumentosService.existe(RegistroDocumentosService.TipoDocumento.RG, paciente.getRgPaciente())) {
+                throw new RuntimeException("Já existe um paciente com o RG: " + paciente.getRgPaciente());
+            }
+            
             return pacienteRepository.save(paciente);
         } catch (Exception e) {
             throw new RuntimeException("Erro ao cadastrar paciente: " + e.getMessage(), e);
@@ -224,6 +248,83 @@ public class PacienteService {
         }
     }
 
+    /**
+     * Lista todos os pacientes já convertidos para DTO.
+     * Usa a projeção do repositório: uma única consulta, independente da quantidade de pacientes.
+     * @return Lista de DTOs de todos os pacientes (ativos e inativos)
+     */
+    @Transactional(readOnly = true)
+    public List<PacienteResponseDTO> listarTodosDTO() {
+        try {
+            return pacienteRepository.buscarResumoPacientes();
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar pacientes: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lista uma página de pacientes (ordem alfabética) já convertidos para DTO.
+     * Paginação por cursor: cada página custa o mesmo, independente da posição.
+     * @param cursor Cursor retornado pela página anterior (null na primeira página)
+     * @param tamanho Tamanho da página (opcional)
+     * @return Página de DTOs e cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<PacienteResponseDTO> listarPagina(String cursor, Integer tamanho) {
+        try {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            int limite = paginacaoConfig.resolverTamanho(tamanho);
+            
+            List<PacienteResponseDTO> linhas = pacienteRepository.buscarResumoPacientesPagina(
+                    posicao != null ? posicao.getChave() : null,
+                    posicao != null ? posicao.getId() : null,
+                    paginacaoConfig.janela(limite));
+            
+            return PaginaCursor.de(linhas, limite,
+                    dto -> new CursorPaginacao(dto.getNomePessoa(), dto.getIdPaciente()));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar pacientes: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lista os pacientes ativos já convertidos para DTO.
+     * Usa a projeção do repositório: uma única consulta, independente da quantidade de pacientes.
+     * @return Lista de DTOs dos pacientes ativos
+     */
+    @Transactional(readOnly = true)
+    public List<PacienteResponseDTO> listarAtivosDTO() {
+        try {
+            return pacienteRepository.buscarResumoPacientesPorStatus(true);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar pacientes ativos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca pacientes por trecho ou prefixo do nome, ignorando acentos e caixa.
+     * Os IDs vêm do índice de nomes em memória; o banco só é consultado para os resultados.
+     * @param nome Trecho do nome
+     * @param limite Quantidade máxima de resultados (opcional)
+     * @return DTOs dos pacientes, do mais relevante ao menos relevante
+     */
+    @Transactional(readOnly = true)
+    public List<PacienteResponseDTO> buscarPorNomeDTO(String nome, Integer limite) {
+        try {
+            List<Integer> ids = buscaNomeService.buscarPacientes(nome, paginacaoConfig.resolverTamanho(limite));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Integer, PacienteResponseDTO> porId = pacienteRepository.buscarResumoPacientesPorIds(ids).stream()
+                    .collect(Collectors.toMap(PacienteResponseDTO::getIdPaciente, Function.identity()));
+            return ids.stream().map(porId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao buscar pacientes por nome: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Lista pacientes por status.
      * @param status true para ativos, false para inativos
@@ -240,12 +341,13 @@ public class PacienteService {
 
     /**
      * Conta o número de pacientes ativos.
+     * Lido do contador em memória, sem abrir transação nem ir ao banco.
      * @return Número de pacientes ativos
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long contarAtivos() {
         try {
-            return pacienteRepository.findByStatusPacienteTrue().size();
+            return contadorStatusService.pacientesAtivos();
         } catch (Exception e) {
             throw new RuntimeException("Erro ao contar pacientes ativos: " + e.getMessage(), e);
         }
@@ -1,5 +1,6 @@
 package com.br.psyclin.services;
 
+import com.br.psyclin.models.Modulo;
 import com.br.psyclin.models.Pergunta;
 import com.br.psyclin.repositories.PerguntaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,9 @@ public class PerguntaService {
     @Autowired
     private PerguntaRepository perguntaRepository;
 
+    @Autowired
+    private TemplateFormularioService templateFormularioService;
+
     /**
      * Cadastra uma nova pergunta.
      * @param pergunta Pergunta a ser cadastrada
@@ -23,7 +27,12 @@ public class PerguntaService {
      */
     public Pergunta cadastrarPergunta(Pergunta pergunta) {
         // TODO: Validar duplicidade de texto e outras regras
-        return perguntaRepository.save(pergunta);
+        Pergunta salva = perguntaRepository.save(pergunta);
+        if (salva.getModulos() != null) {
+            templateFormularioService.invalidarModulos(
+                    salva.getModulos().stream().map(Modulo::getIdModulo).toList());
+        }
+        return salva;
     }
 
     /**
@@ -35,6 +44,8 @@ public class PerguntaService {
     public Pergunta atualizarPergunta(Integer id, Pergunta dadosAtualizados) {
         Optional<Pergunta> existente = perguntaRepository.findByIdPergunta(id);
         // ...
+        // A pergunta pode ter mudado de módulo: invalida todos os formulários
+        templateFormularioService.invalidarTodos();
         return null;
     }
 
@@ -44,6 +55,7 @@ public class PerguntaService {
      */
     public void excluirPergunta(Integer id) {
         // TODO: Verificar vínculos antes de excluir
+        templateFormularioService.invalidarTodos();
     }
 
     /**
@@ -1,5 +1,8 @@
 package com.br.psyclin.services;
 
+import com.br.psyclin.configs.PaginacaoConfig;
+import com.br.psyclin.dto.request.CursorPaginacao;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.models.Procedimento;
 import com.br.psyclin.repositories.ProcedimentoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +27,12 @@ public class ProcedimentoService {
     @Autowired
     private ProcedimentoRepository procedimentoRepository;
 
+    @Autowired
+    private PaginacaoConfig paginacaoConfig;
+
+    @Autowired
+    private RegistroDocumentosService registroDocumentosService;
+
     /**
      * Cadastra um novo procedimento.
      * @param procedimento Procedimento a ser cadastrado
@@ -47,9 +56,9 @@ public class ProcedimentoService {
                 throw new IllegalArgumentException("Valor do procedimento deve ser maior ou igual a zero");
             }
             
-            // Verificar se código já existe
-            Optional<Procedimento> existentePorCodigo = procedimentoRepository.findByCodProcedimento(procedimento.getCodProcedimento());
-            if (existentePorCodigo.isPresent()) {
+            // Verificar se código já existe (registro em memória; banco só se provável duplicata)
+            if (registroDocumentosService.existe(RegistroDocumentosService.TipoDocumento.CODIGO_PROCEDIMENTO,
+                    procedimento.getCodProcedimento())) {
                 throw new RuntimeException("Já existe um procedimento com o código: " + procedimento.getCodProcedimento());
             }
             
@@ -165,6 +174,32 @@ public class ProcedimentoService {
         }
     }
     
+    /**
+     * Lista uma página de procedimentos (ordem alfabética de descrição) por cursor.
+     * @param cursor Cursor retornado pela página anterior (null na primeira página)
+     * @param tamanho Tamanho da página (opcional)
+     * @return Página de procedimentos e cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<Procedimento> listarPagina(String cursor, Integer tamanho) {
+        try {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            int limite = paginacaoConfig.resolverTamanho(tamanho);
+            
+            List<Procedimento> linhas = procedimentoRepository.buscarPagina(
+                    posicao != null ? posicao.getChave() : null,
+                    posicao != null ? posicao.getId() : null,
+                    paginacaoConfig.janela(limite));
+            
+            return PaginaCursor.de(linhas, limite,
+                    procedimento -> new CursorPaginacao(procedimento.getDescricao(), procedimento.getIdProcedimento()));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar procedimentos: " + e.getMessage(), e);
+        }
+    }
+    
     /**
      * Lista procedimentos ordenados por descrição.
      * @return Lista de procedimentos ordenados alfabeticamente
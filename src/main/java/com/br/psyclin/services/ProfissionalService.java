@@ -1,13 +1,20 @@
 package com.br.psyclin.services;
 
+import com.br.psyclin.configs.PaginacaoConfig;
 import com.br.psyclin.models.Profissional;
+import com.br.psyclin.dto.request.CursorPaginacao;
+import com.br.psyclin.dto.response.PaginaCursor;
 import com.br.psyclin.dto.response.ProfissionalResponseDTO;
 import com.br.psyclin.repositories.ProfissionalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -21,6 +28,15 @@ public class ProfissionalService {
     @Autowired
     private ProfissionalRepository profissionalRepository;
 
+    @Autowired
+    private PaginacaoConfig paginacaoConfig;
+
+    @Autowired
+    private ContadorStatusService contadorStatusService;
+
+    @Autowired
+    private BuscaNomeService buscaNomeService;
+
     /**
      * Cadastra um novo profissional.
      * @param profissional Profissional a ser cadastrado
@@ -145,6 +161,32 @@ public class ProfissionalService {
         }
     }
 
+    /**
+     * Lista uma página de profissionais (ordem alfabética) já convertidos para DTO.
+     * @param cursor Cursor retornado pela página anterior (null na primeira página)
+     * @param tamanho Tamanho da página (opcional)
+     * @return Página de DTOs e cursor da próxima página
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursor<ProfissionalResponseDTO> listarPagina(String cursor, Integer tamanho) {
+        try {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            int limite = paginacaoConfig.resolverTamanho(tamanho);
+            
+            List<ProfissionalResponseDTO> linhas = profissionalRepository.buscarResumoProfissionaisPagina(
+                    posicao != null ? posicao.getChave() : null,
+                    posicao != null ? posicao.getId() : null,
+                    paginacaoConfig.janela(limite));
+            
+            return PaginaCursor.de(linhas, limite,
+                    dto -> new CursorPaginacao(dto.getNomePessoa(), dto.getIdProfissional()));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao listar profissionais: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Lista apenas os profissionais ativos (statusProfissional = _1).
      * @return Lista de profissionais ativos
@@ -175,17 +217,41 @@ public class ProfissionalService {
     /**
      * Conta o número de profissionais ativos de forma otimizada.
      * Método otimizado para dashboard com cache de 8 horas.
+     * Lido do contador em memória, sem abrir transação nem ir ao banco.
      * @return Número de profissionais ativos
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long contarAtivos() {
         try {
-            return profissionalRepository.countByStatusProfissionalAtivo();
+            return contadorStatusService.profissionaisAtivos();
         } catch (Exception e) {
             throw new RuntimeException("Erro ao contar profissionais ativos: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Busca profissionais por trecho ou prefixo do nome, ignorando acentos e caixa.
+     * Os IDs vêm do índice de nomes em memória; o banco só é consultado para os resultados.
+     * @param nome Trecho do nome
+     * @param limite Quantidade máxima de resultados (opcional)
+     * @return DTOs dos profissionais, do mais relevante ao menos relevante
+     */
+    @Transactional(readOnly = true)
+    public List<ProfissionalResponseDTO> buscarPorNomeDTO(String nome, Integer limite) {
+        try {
+            List<Integer> ids = buscaNomeService.buscarProfissionais(nome, paginacaoConfig.resolverTamanho(limite));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Integer, Profissional> porId = profissionalRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Profissional::getIdProfissional, Function.identity()));
+            return ids.stream().map(porId::get).filter(Objects::nonNull)
+                    .map(this::converterParaDTO).collect(Collectors.toList());
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao buscar profissionais por nome: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Converte lista de profissionais para DTOs de resposta
      * @param profissionais Lista de profissionais
@@ -1,14 +1,28 @@
 package com.br.psyclin.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.br.psyclin.configs.CacheConfig;
+import com.br.psyclin.configs.PaginacaoConfig;
+import com.br.psyclin.dto.request.CursorPaginacao;
+import com.br.psyclin.dto.response.PaginaCursor;
+import com.br.psyclin.dto.response.ProntuarioExportacaoDTO;
 import com.br.psyclin.models.Prontuario;
 import com.br.psyclin.repositories.ProntuarioRepository;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Serviço para gerenciamento de prontuários.
@@ -21,10 +35,20 @@ import java.util.Optional;
 @Service
 public class ProntuarioService {
 
+    /**
+     * Quantidade de prontuários escritos entre cada flush da saída.
+     */
+    private static final int LOTE_EXPORTACAO = 500;
+
     private final ProntuarioRepository prontuarioRepository;
+    private final PaginacaoConfig paginacaoConfig;
+    private final ObjectMapper objectMapper;
 
-    public ProntuarioService(ProntuarioRepository prontuarioRepository) {
+    public ProntuarioService(ProntuarioRepository prontuarioRepository, PaginacaoConfig paginacaoConfig,
+                             ObjectMapper objectMapper) {
         this.prontuarioRepository = prontuarioRepository;
+        this.paginacaoConfig = paginacaoConfig;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -33,7 +57,7 @@ public class ProntuarioService {
      * 
      * @return número total de prontuários no histórico
      */
-    @Cacheable(value = "prontuarios", key = "'total'", cacheManager = "cacheManager")
+    @Cacheable(value = CacheConfig.PRONTUARIOS_TOTAL, key = "'total'", cacheManager = "cacheManager")
     public Long contarTotalProntuarios() {
         return prontuarioRepository.contarTotalProntuarios();
     }
@@ -47,6 +71,26 @@ public class ProntuarioService {
         return prontuarioRepository.findAll();
     }
 
+    /**
+     * Busca uma página de prontuários (mais recentes primeiro) por cursor.
+     * 
+     * @param cursor cursor retornado pela página anterior (null na primeira página)
+     * @param tamanho tamanho da página (opcional)
+     * @return página de prontuários e cursor da próxima página
+     */
+    public PaginaCursor<Prontuario> listarPagina(String cursor, Integer tamanho) {
+        CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+        int limite = paginacaoConfig.resolverTamanho(tamanho);
+
+        List<Prontuario> linhas = prontuarioRepository.buscarPagina(
+                posicao != null ? posicao.getChaveData() : null,
+                posicao != null ? posicao.getId() : null,
+                paginacaoConfig.janela(limite));
+
+        return PaginaCursor.de(linhas, limite,
+                prontuario -> new CursorPaginacao(prontuario.getDataProcedimento().toString(), prontuario.getIdProntuario()));
+    }
+
     /**
      * Busca prontuário por ID.
      * 
@@ -59,22 +103,28 @@ public class ProntuarioService {
 
     /**
      * Salva um novo prontuário.
+     * Invalida os contadores em cache.
      * 
      * @param prontuario prontuário a ser salvo
      * @return prontuário salvo
      */
+    @CacheEvict(cacheNames = {CacheConfig.PRONTUARIOS_TOTAL, CacheConfig.PRONTUARIOS_HOJE,
+            CacheConfig.PRONTUARIOS_ULTIMOS_30_DIAS}, allEntries = true, cacheManager = "cacheManager")
     public Prontuario salvar(Prontuario prontuario) {
         return prontuarioRepository.save(prontuario);
     }
 
     /**
      * Atualiza um prontuário existente.
+     * Invalida os contadores em cache.
      * 
      * @param id ID do prontuário
      * @param prontuarioAtualizado dados atualizados
      * @return prontuário atualizado
      * @throws RuntimeException se o prontuário não for encontrado
      */
+    @CacheEvict(cacheNames = {CacheConfig.PRONTUARIOS_TOTAL, CacheConfig.PRONTUARIOS_HOJE,
+            CacheConfig.PRONTUARIOS_ULTIMOS_30_DIAS}, allEntries = true, cacheManager = "cacheManager")
     public Prontuario atualizar(Integer id, Prontuario prontuarioAtualizado) {
         Optional<Prontuario> prontuarioOpt = prontuarioRepository.findById(id);
         if (prontuarioOpt.isEmpty()) {
@@ -92,10 +142,13 @@ public class ProntuarioService {
 
     /**
      * Remove um prontuário.
+     * Invalida os contadores em cache.
      * 
      * @param id ID do prontuário
      * @throws RuntimeException se o prontuário não for encontrado
      */
+    @CacheEvict(cacheNames = {CacheConfig.PRONTUARIOS_TOTAL, CacheConfig.PRONTUARIOS_HOJE,
+            CacheConfig.PRONTUARIOS_ULTIMOS_30_DIAS}, allEntries = true, cacheManager = "cacheManager")
     public void remover(Integer id) {
         if (!prontuarioRepository.existsById(id)) {
             throw new RuntimeException("Prontuário não encontrado com ID: " + id);
@@ -134,13 +187,58 @@ public class ProntuarioService {
         return prontuarioRepository.buscarPorPeriodo(dataInicio, dataFim);
     }
 
+    /**
+     * Exporta prontuários do período diretamente para a saída, em NDJSON ou array JSON.
+     * Lê por stream as linhas já projetadas (sem entidades gerenciadas), de modo que o uso de
+     * memória não cresce com a quantidade de registros exportados.
+     * 
+     * @param dataInicio data de início (null para sem limite inicial)
+     * @param dataFim data de fim (null para sem limite final)
+     * @param ndjson true para um JSON por linha, false para um array JSON
+     * @param saida stream de saída da resposta
+     * @return quantidade de prontuários exportados
+     * @throws IOException se a escrita na saída falhar (ex.: cliente desconectou)
+     */
+    @Transactional(readOnly = true)
+    public long exportar(LocalDate dataInicio, LocalDate dataFim, boolean ndjson, OutputStream saida) throws IOException {
+        long total = 0;
+
+        try (Stream<ProntuarioExportacaoDTO> linhas = prontuarioRepository.streamPorPeriodo(dataInicio, dataFim);
+             JsonGenerator gerador = objectMapper.createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            if (ndjson) {
+                gerador.setRootValueSeparator(new SerializedString("\n"));
+            } else {
+                gerador.writeStartArray();
+            }
+
+            Iterator<ProntuarioExportacaoDTO> iterador = linhas.iterator();
+            while (iterador.hasNext()) {
+                gerador.writeObject(iterador.next());
+
+                if (++total % LOTE_EXPORTACAO == 0) {
+                    gerador.flush();
+                }
+            }
+
+            if (ndjson) {
+                gerador.writeRaw('\n');
+            } else {
+                gerador.writeEndArray();
+            }
+        }
+
+        return total;
+    }
+
     /**
      * Conta prontuários criados hoje.
      * Cache de 1 hora - dados do dia atual mudam frequentemente.
      * 
      * @return número de prontuários criados hoje
      */
-    @Cacheable(value = "prontuarios", key = "'hoje'", cacheManager = "cacheManager")
+    @Cacheable(value = CacheConfig.PRONTUARIOS_HOJE, key = "'hoje'", cacheManager = "cacheManager")
     public Long contarProntuariosHoje() {
         return prontuarioRepository.contarProntuariosHoje();
     }
@@ -151,7 +249,7 @@ public class ProntuarioService {
      * 
      * @return número de prontuários dos últimos 30 dias
      */
-    @Cacheable(value = "prontuarios", key = "'ultimos30dias'", cacheManager = "cacheManager")
+    @Cacheable(value = CacheConfig.PRONTUARIOS_ULTIMOS_30_DIAS, key = "'ultimos30dias'", cacheManager = "cacheManager")
     public Long contarProntuariosUltimos30Dias() {
         return prontuarioRepository.contarProntuariosUltimos30Dias();
     }
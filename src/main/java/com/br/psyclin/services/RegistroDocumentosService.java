@@ -0,0 +1,284 @@
+package com.br.psyclin.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registro em memória dos documentos já cadastrados (CPF, RG, CNPJ e código de procedimento).
+ * 
+ * Cada tipo tem um filtro de Bloom (negativos rápidos) na frente de um conjunto de impressões
+ * de 64 bits dos valores normalizados (negativos definitivos, sem guardar as strings). Só quando
+ * ambos indicam presença o banco é consultado para confirmar - no caminho feliz de um cadastro
+ * novo, a checagem não sai da memória. O registro é montado na subida, recebe os cadastros
+ * novos pelo RegistroDocumentosListener e é reconstruído periodicamente para descartar valores
+ * removidos ou alterados. Métricas em psyclin.documentos.* (actuator).
+ * 
+ * As duas estruturas não são redundantes: o filtro é um vetor de bits de ~10 bits por valor
+ * (1% de falso positivo) que responde a maioria dos negativos com poucos acessos a um array
+ * compacto, sem alocar o Long nem consultar o conjunto, cujas entradas ficam espalhadas no heap;
+ * o conjunto de impressões elimina os falsos positivos do filtro, que de outra forma iriam ao
+ * banco. A taxa observada de falso positivo (psyclin.documentos.bloom.taxa.falso.positivo) mede
+ * exatamente as idas ao conjunto que o filtro não evitou.
+ */
+@Service
+public class RegistroDocumentosService {
+
+    /**
+     * Tipos de documento controlados pelo registro.
+     * A normalização nunca separa valores que o banco considera iguais.
+     */
+    public enum TipoDocumento {
+        CPF("SELECT pf.cpfPessoa FROM PessoaFisica pf",
+            "SELECT COUNT(pf) FROM PessoaFisica pf WHERE pf.cpfPessoa IN (:valores)",
+            RegistroDocumentosService::somenteDigitos),
+        RG("SELECT p.rgPaciente FROM Paciente p",
+           "SELECT COUNT(p) FROM Paciente p WHERE p.rgPaciente IN (:valores)",
+           RegistroDocumentosService::alfanumericoMaiusculo),
+        CNPJ("SELECT pj.cnpj FROM PessoaJuridica pj",
+             "SELECT COUNT(pj) FROM PessoaJuridica pj WHERE pj.cnpj IN (:valores)",
+             RegistroDocumentosService::somenteDigitos),
+        CODIGO_PROCEDIMENTO("SELECT p.codProcedimento FROM Procedimento p",
+                            "SELECT COUNT(p) FROM Procedimento p WHERE p.codProcedimento IN (:valores)",
+                            valor -> valor.trim().toUpperCase(Locale.ROOT));
+
+        private final String consultaCarga;
+        private final String consultaConfirmacao;
+        private final UnaryOperator<String> normalizador;
+
+        TipoDocumento(String consultaCarga, String consultaConfirmacao, UnaryOperator<String> normalizador) {
+            this.consultaCarga = consultaCarga;
+            this.consultaConfirmacao = consultaConfirmacao;
+            this.normalizador = normalizador;
+        }
+
+        /**
+         * @param valor Valor informado
+         * @return Valor normalizado (vazio se nulo)
+         */
+        public String normalizar(String valor) {
+            return valor == null ? "" : normalizador.apply(valor);
+        }
+    }
+
+    /**
+     * Filtro e impressões de um tipo, trocados juntos na reconstrução.
+     * completa indica que a carga veio do banco; antes disso as consultas vão direto ao banco.
+     * Por ser lida em uma única leitura volátil, nunca se vê a carga de uma reconstrução com o
+     * estado de outra.
+     */
+    private record Carga(FiltroBloom filtro, Set<Long> impressoes, boolean completa) {
+    }
+
+    /**
+     * Estado de um tipo de documento.
+     */
+    private static class Registro {
+        volatile Carga carga;
+        boolean recarregando;
+        final List<String> pendentes = new ArrayList<>();
+        final LongAdder consultas = new LongAdder();
+        final LongAdder negativosBloom = new LongAdder();
+        final LongAdder falsosPositivosBloom = new LongAdder();
+        final LongAdder confirmacoesBanco = new LongAdder();
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${psyclin.documentos.taxa-falso-positivo:0.01}")
+    private double taxaFalsoPositivo;
+
+    @Value("${psyclin.documentos.capacidade-minima:10000}")
+    private long capacidadeMinima;
+
+    private final Map<TipoDocumento, Registro> registros = new EnumMap<>(TipoDocumento.class);
+
+    public RegistroDocumentosService() {
+        for (TipoDocumento tipo : TipoDocumento.values()) {
+            registros.put(tipo, new Registro());
+        }
+    }
+
+    /**
+     * Cria registros vazios e publica as métricas de cada tipo.
+     * Até a primeira carga terminar, as consultas vão direto ao banco.
+     */
+    @PostConstruct
+    public void registrarMetricas() {
+        for (TipoDocumento tipo : TipoDocumento.values()) {
+            Registro registro = registros.get(tipo);
+            registro.carga = new Carga(new FiltroBloom(capacidadeMinima, taxaFalsoPositivo), ConcurrentHashMap.newKeySet(), false);
+
+            String tag = tipo.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("psyclin.documentos.consultas", registro.consultas, LongAdder::sum)
+                    .tag("tipo", tag).register(meterRegistry);
+            FunctionCounter.builder("psyclin.documentos.bloom.negativos", registro.negativosBloom, LongAdder::sum)
+                    .tag("tipo", tag).register(meterRegistry);
+            FunctionCounter.builder("psyclin.documentos.bloom.falsos.positivos", registro.falsosPositivosBloom, LongAdder::sum)
+                    .tag("tipo", tag).register(meterRegistry);
+            FunctionCounter.builder("psyclin.documentos.confirmacoes.banco", registro.confirmacoesBanco, LongAdder::sum)
+                    .tag("tipo", tag).register(meterRegistry);
+            Gauge.builder("psyclin.documentos.bloom.taxa.falso.positivo", registro, RegistroDocumentosService::taxaObservada)
+                    .tag("tipo", tag).register(meterRegistry);
+            Gauge.builder("psyclin.documentos.bloom.taxa.falso.positivo.estimada", registro,
+                            r -> r.carga.filtro().taxaFalsoPositivoEstimada())
+                    .tag("tipo", tag).register(meterRegistry);
+            Gauge.builder("psyclin.documentos.tamanho", registro, r -> r.carga.impressoes().size())
+                    .tag("tipo", tag).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Carga inicial assim que a aplicação sobe.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        reconstruir();
+    }
+
+    /**
+     * Reconstrói filtros e impressões a partir do banco.
+     * Executa a cada hora por padrão (psyclin.documentos.reconstrucao-ms).
+     */
+    @Scheduled(fixedDelayString = "${psyclin.documentos.reconstrucao-ms:3600000}",
+               initialDelayString = "${psyclin.documentos.reconstrucao-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        for (TipoDocumento tipo : TipoDocumento.values()) {
+            Registro registro = registros.get(tipo);
+            synchronized (registro) {
+                registro.recarregando = true;
+                registro.pendentes.clear();
+            }
+            try {
+                List<String> valores = entityManager.createQuery(tipo.consultaCarga, String.class).getResultList();
+                Carga nova = new Carga(
+                        new FiltroBloom(Math.max(capacidadeMinima, valores.size() * 2L), taxaFalsoPositivo),
+                        ConcurrentHashMap.newKeySet(valores.size() * 2),
+                        true);
+                for (String valor : valores) {
+                    adicionarNaCarga(nova, tipo.normalizar(valor));
+                }
+                synchronized (registro) {
+                    // Cadastros confirmados durante a leitura do banco
+                    for (String pendente : registro.pendentes) {
+                        adicionarNaCarga(nova, pendente);
+                    }
+                    registro.carga = nova;
+                }
+            } catch (Exception e) {
+                System.err.println("❌ Erro ao reconstruir registro de documentos (" + tipo + "): " + e.getMessage());
+            } finally {
+                synchronized (registro) {
+                    registro.recarregando = false;
+                    registro.pendentes.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Registra um documento recém-cadastrado.
+     * @param tipo Tipo do documento
+     * @param valor Valor do documento
+     */
+    public void registrar(TipoDocumento tipo, String valor) {
+        String normalizado = tipo.normalizar(valor);
+        if (normalizado.isEmpty()) {
+            return;
+        }
+        Registro registro = registros.get(tipo);
+        synchronized (registro) {
+            adicionarNaCarga(registro.carga, normalizado);
+            if (registro.recarregando) {
+                registro.pendentes.add(normalizado);
+            }
+        }
+    }
+
+    /**
+     * Verifica se um documento já está cadastrado.
+     * Negativos saem da memória; só presenças prováveis são confirmadas no banco.
+     * @param tipo Tipo do documento
+     * @param valor Valor do documento
+     * @return true se o documento já existe
+     */
+    @Transactional(readOnly = true)
+    public boolean existe(TipoDocumento tipo, String valor) {
+        String normalizado = tipo.normalizar(valor);
+        if (normalizado.isEmpty()) {
+            return false;
+        }
+
+        Registro registro = registros.get(tipo);
+        Carga carga = registro.carga;
+        registro.consultas.increment();
+
+        if (!carga.completa()) {
+            return confirmarNoBanco(tipo, valor, normalizado);
+        }
+        if (!carga.filtro().podeConter(normalizado)) {
+            registro.negativosBloom.increment();
+            return false;
+        }
+        if (!carga.impressoes().contains(FiltroBloom.hash64(normalizado))) {
+            registro.falsosPositivosBloom.increment();
+            return false;
+        }
+
+        registro.confirmacoesBanco.increment();
+        return confirmarNoBanco(tipo, valor, normalizado);
+    }
+
+    private boolean confirmarNoBanco(TipoDocumento tipo, String valor, String normalizado) {
+        Long total = entityManager.createQuery(tipo.consultaConfirmacao, Long.class)
+                .setParameter("valores", List.of(valor.trim(), normalizado))
+                .getSingleResult();
+        return total != null && total > 0;
+    }
+
+    private void adicionarNaCarga(Carga carga, String normalizado) {
+        if (normalizado.isEmpty()) {
+            return;
+        }
+        carga.filtro().adicionar(normalizado);
+        carga.impressoes().add(FiltroBloom.hash64(normalizado));
+    }
+
+    private static double taxaObservada(Registro registro) {
+        double positivosFalsos = registro.falsosPositivosBloom.sum();
+        double negativosReais = positivosFalsos + registro.negativosBloom.sum();
+        return negativosReais == 0 ? 0 : positivosFalsos / negativosReais;
+    }
+
+    private static String somenteDigitos(String valor) {
+        return valor.replaceAll("\\D", "");
+    }
+
+    private static String alfanumericoMaiusculo(String valor) {
+        return valor.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+    }
+}
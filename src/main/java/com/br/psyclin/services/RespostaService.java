@@ -1,10 +1,32 @@
 package com.br.psyclin.services;
 
+import com.br.psyclin.dto.request.RespostaLoteDTO;
+import com.br.psyclin.dto.response.RespostaResponseDTO;
 import com.br.psyclin.models.Resposta;
+import com.br.psyclin.repositories.AnamneseRepository;
+import com.br.psyclin.repositories.PerguntaRepository;
 import com.br.psyclin.repositories.RespostaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service para operações de negócio relacionadas a Respostas.
@@ -13,9 +35,30 @@ import java.util.Optional;
 @Service
 public class RespostaService {
 
+    private static final String SQL_INSERIR_RESPOSTA =
+            "INSERT INTO RESPOSTA (ID_PERGUNTA, ID_ANAMNESE, RESPSUBJET, RESPOBJET) VALUES (?, ?, ?, ?)";
+
     @Autowired
     private RespostaRepository respostaRepository;
 
+    @Autowired
+    private PerguntaRepository perguntaRepository;
+
+    @Autowired
+    private AnamneseRepository anamneseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BuscaTextoService buscaTextoService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${psyclin.respostas.tamanho-lote:100}")
+    private int tamanhoLote;
+
     /**
      * Cadastra uma nova resposta.
      * @param resposta Resposta a ser cadastrada
@@ -54,4 +97,85 @@ public class RespostaService {
     public Optional<Resposta> buscarRespostaPorId(Integer id) {
         return respostaRepository.findByIdResposta(id);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Salva o questionário completo de uma anamnese em uma única transação.
+     * Respostas já existentes para a pergunta são atualizadas; as demais são inseridas em lote JDBC
+     * (o IDENTITY de RESPOSTA impede o Hibernate de agrupar os INSERTs).
+     * Se a mesma pergunta aparecer mais de uma vez no envio, prevalece a última.
+     * @param idAnamnese ID da anamnese
+     * @param itens Respostas enviadas
+     * @return Estado resultante das respostas da anamnese
+     */
+    @Transactional
+    public List<RespostaResponseDTO> salvarLote(Integer idAnamnese, List<RespostaLoteDTO.Item> itens) {
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma resposta informada");
+        }
+        if (!anamneseRepository.existsById(idAnamnese)) {
+            throw new IllegalArgumentException("Anamnese não encontrada com ID: " + idAnamnese);
+        }
+
+        Map<Integer, RespostaLoteDTO.Item> porPergunta = new LinkedHashMap<>();
+        for (RespostaLoteDTO.Item item : itens) {
+            if (item == null || item.getIdPergunta() == null) {
+                throw new IllegalArgumentException("Toda resposta deve informar o ID da pergunta");
+            }
+            porPergunta.remove(item.getIdPergunta());
+            porPergunta.put(item.getIdPergunta(), item);
+        }
+
+        try {
+            Set<Integer> encontradas = new HashSet<>(perguntaRepository.buscarIdsExistentes(porPergunta.keySet()));
+            if (encontradas.size() != porPergunta.size()) {
+                Set<Integer> faltantes = new TreeSet<>(porPergunta.keySet());
+                faltantes.removeAll(encontradas);
+                throw new IllegalArgumentException("Perguntas não encontradas: " + faltantes);
+            }
+
+            Map<Integer, Resposta> existentes = respostaRepository
+                    .buscarPorAnamneseEPerguntas(idAnamnese, porPergunta.keySet()).stream()
+                    .collect(Collectors.toMap(r -> r.getPergunta().getIdPergunta(), Function.identity(), (a, b) -> a));
+
+            entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+
+            List<Object[]> novas = new ArrayList<>();
+            for (RespostaLoteDTO.Item item : porPergunta.values()) {
+                Resposta existente = existentes.get(item.getIdPergunta());
+                if (existente != null) {
+                    existente.setRespostaSubjetiva(item.getRespostaSubjetiva());
+                    existente.setRespostaObjetiva(item.getRespostaObjetiva());
+                } else {
+                    novas.add(new Object[]{item.getIdPergunta(), idAnamnese,
+                            item.getRespostaSubjetiva(), item.getRespostaObjetiva()});
+                }
+            }
+            entityManager.flush();
+
+            if (!novas.isEmpty()) {
+                int[] tipos = {Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.BOOLEAN};
+                for (int i = 0; i < novas.size(); i += tamanhoLote) {
+                    jdbcTemplate.batchUpdate(SQL_INSERIR_RESPOSTA,
+                            novas.subList(i, Math.min(i + tamanhoLote, novas.size())), tipos);
+                }
+            }
+            entityManager.clear();
+
+            if (!novas.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // INSERTs via JDBC não passam pelos listeners do Hibernate: indexa após o commit
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        buscaTextoService.reindexarAnamnese(idAnamnese);
+                    }
+                });
+            }
+
+            return respostaRepository.buscarRespostasDTOPorAnamnese(idAnamnese);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao salvar respostas da anamnese: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.br.psyclin.services;
+
+import com.br.psyclin.dto.response.FormularioModuloDTO;
+import com.br.psyclin.models.Pergunta;
+import com.br.psyclin.repositories.ModuloRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service que compila o formulário de cada módulo (módulo + perguntas) em uma definição imutável e já serializada.
+ * O template fica em memória até que o módulo ou uma de suas perguntas seja alterado; cada alteração
+ * incrementa o contador de versão, que compõe o ETag servido ao cliente.
+ * Com o template compilado, abrir um formulário não executa nenhuma consulta.
+ */
+@Service
+public class TemplateFormularioService {
+
+    /**
+     * Formulário compilado de um módulo
+     * @param versao Versão do módulo usada na compilação
+     * @param json Definição serializada
+     * @param etag ETag (entre aspas) correspondente à versão
+     */
+    public record TemplateCompilado(long versao, byte[] json, String etag) {
+    }
+
+    @Autowired
+    private ModuloRepository moduloRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<Integer, TemplateCompilado> templates = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    /**
+     * Fonte única das versões: contador global, para que um módulo recriado após exclusão nunca repita um ETag
+     */
+    private final AtomicLong geradorVersao = new AtomicLong();
+
+    /**
+     * Obtém o formulário compilado de um módulo, compilando-o se não houver versão válida em memória.
+     * @param idModulo ID do módulo
+     * @return Template compilado, ou vazio se o módulo não existir
+     */
+    public Optional<TemplateCompilado> obterFormulario(Integer idModulo) {
+        long versaoAtual = versao(idModulo).get();
+        TemplateCompilado template = templates.get(idModulo);
+        if (template != null && template.versao() == versaoAtual) {
+            return Optional.of(template);
+        }
+
+        TemplateCompilado compilado = compilar(idModulo, versaoAtual);
+        if (compilado == null) {
+            // Módulo inexistente: não mantém contador para IDs inválidos
+            versoes.remove(idModulo, versoes.get(idModulo));
+            return Optional.empty();
+        }
+        // Só publica se ninguém invalidou o módulo durante a compilação
+        if (versao(idModulo).get() == versaoAtual) {
+            templates.put(idModulo, compilado);
+        }
+        return Optional.of(compilado);
+    }
+
+    /**
+     * Invalida o template de um módulo. Dentro de transação, invalida de novo após o commit,
+     * para que uma leitura concorrente não republique a versão anterior.
+     * @param idModulo ID do módulo
+     */
+    public void invalidarModulo(Integer idModulo) {
+        if (idModulo == null) {
+            return;
+        }
+        descartar(idModulo);
+        aposCommit(() -> descartar(idModulo));
+    }
+
+    /**
+     * Invalida os templates de vários módulos (ex.: módulos de uma pergunta alterada).
+     * @param idsModulo IDs dos módulos
+     */
+    public void invalidarModulos(Collection<Integer> idsModulo) {
+        if (idsModulo != null) {
+            idsModulo.forEach(this::invalidarModulo);
+        }
+    }
+
+    /**
+     * Invalida todos os templates (usado quando não se sabe quais módulos foram afetados).
+     */
+    public void invalidarTodos() {
+        descartarTodos();
+        aposCommit(this::descartarTodos);
+    }
+
+    /**
+     * Quantidade de templates compilados em memória.
+     * @return Total de templates
+     */
+    public int totalCompilados() {
+        return templates.size();
+    }
+
+    /**
+     * @return Template compilado, ou null se o módulo não existir
+     */
+    private TemplateCompilado compilar(Integer idModulo, long versao) {
+        List<Object[]> linhas = moduloRepository.buscarEstruturaFormulario(idModulo);
+        if (linhas.isEmpty()) {
+            return null;
+        }
+
+        List<FormularioModuloDTO.Campo> campos = new ArrayList<>();
+        for (Object[] linha : linhas) {
+            if (linha[2] != null) {
+                campos.add(new FormularioModuloDTO.Campo(
+                        (Integer) linha[2], (String) linha[3], (Pergunta.TipoPergunta) linha[4]));
+            }
+        }
+        FormularioModuloDTO formulario = new FormularioModuloDTO(
+                (Integer) linhas.get(0)[0], (String) linhas.get(0)[1], versao, List.copyOf(campos));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(formulario);
+            String etag = "\"modulo-" + idModulo + "-v" + versao + "-"
+                    + Long.toHexString(FiltroBloom.hash64(new String(json, StandardCharsets.UTF_8))) + "\"";
+            return new TemplateCompilado(versao, json, etag);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao compilar formulário do módulo: " + e.getMessage(), e);
+        }
+    }
+
+    private AtomicLong versao(Integer idModulo) {
+        return versoes.computeIfAbsent(idModulo, id -> new AtomicLong(geradorVersao.incrementAndGet()));
+    }
+
+    private void descartar(Integer idModulo) {
+        versao(idModulo).set(geradorVersao.incrementAndGet());
+        templates.remove(idModulo);
+    }
+
+    private void descartarTodos() {
+        versoes.keySet().forEach(this::descartar);
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
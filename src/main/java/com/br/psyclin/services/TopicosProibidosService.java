@@ -0,0 +1,105 @@
+package com.br.psyclin.services;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Service que mantém a lista de tópicos proibidos do chat compilada em um {@link AutomatoTermos}.
+ * A lista pode ser trocada sem reiniciar a aplicação editando o arquivo configurado em
+ * psyclin.chat.topicos-proibidos.arquivo (um termo por linha, linhas iniciadas por # são comentários),
+ * verificado periodicamente. Não há escrita pela API: os endpoints são públicos.
+ */
+@Service
+public class TopicosProibidosService {
+
+    /** Lista padrão, usada quando não há arquivo configurado. */
+    public static final List<String> TOPICOS_PADRAO = List.of(
+        "diagnóstico", "medicamento", "prescrição", "tratamento específico",
+        "dados pessoais", "telefone", "endereço", "cpf", "rg",
+        "informações confidenciais", "prontuário específico",
+        "terapia individual", "caso clínico real"
+    );
+
+    @Value("${psyclin.chat.topicos-proibidos.arquivo:}")
+    private String arquivo;
+
+    private volatile AutomatoTermos automato = AutomatoTermos.compilar(TOPICOS_PADRAO);
+    private volatile long arquivoModificadoEm = -1;
+
+    @PostConstruct
+    public void inicializar() {
+        recarregarArquivo();
+    }
+
+    /**
+     * Procura um tópico proibido na mensagem (sem diferenciar maiúsculas e acentos).
+     * @param mensagem Mensagem do usuário
+     * @return Tópico encontrado (o primeiro da lista, se houver vários), ou null
+     */
+    public String encontrar(String mensagem) {
+        AutomatoTermos atual = automato;
+        int indice = atual.buscar(mensagem);
+        return indice >= 0 ? atual.termo(indice) : null;
+    }
+
+    /**
+     * Lista os tópicos vigentes.
+     * @return Tópicos na ordem de prioridade
+     */
+    public List<String> listar() {
+        return automato.termos();
+    }
+
+    /**
+     * Substitui a lista de tópicos.
+     * @param topicos Nova lista
+     * @return Tópicos efetivamente compilados
+     */
+    public List<String> substituir(List<String> topicos) {
+        if (topicos == null || topicos.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um tópico");
+        }
+        AutomatoTermos novo = AutomatoTermos.compilar(topicos);
+        automato = novo;
+        System.out.println("🛡️ Tópicos proibidos atualizados: " + novo.termos().size() + " termo(s), "
+                + novo.totalEstados() + " estado(s)");
+        return novo.termos();
+    }
+
+    /**
+     * Recarrega a lista do arquivo configurado, se ele tiver sido alterado.
+     */
+    @Scheduled(fixedDelayString = "${psyclin.chat.topicos-proibidos.verificacao-ms:30000}",
+               initialDelayString = "${psyclin.chat.topicos-proibidos.verificacao-ms:30000}")
+    public void recarregarArquivo() {
+        if (arquivo == null || arquivo.isBlank()) {
+            return;
+        }
+        try {
+            Path caminho = Path.of(arquivo);
+            if (!Files.isRegularFile(caminho)) {
+                return;
+            }
+            long modificadoEm = Files.getLastModifiedTime(caminho).toMillis();
+            if (modificadoEm == arquivoModificadoEm) {
+                return;
+            }
+            List<String> topicos = Files.readAllLines(caminho, StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(linha -> !linha.isEmpty() && !linha.startsWith("#"))
+                    .toList();
+            if (!topicos.isEmpty()) {
+                substituir(topicos);
+            }
+            arquivoModificadoEm = modificadoEm;
+        } catch (Exception e) {
+            System.err.println("❌ Erro ao recarregar tópicos proibidos: " + e.getMessage());
+        }
+    }
+}
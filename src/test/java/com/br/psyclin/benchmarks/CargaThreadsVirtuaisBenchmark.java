@@ -0,0 +1,347 @@
+package com.br.psyclin.benchmarks;
+
+import com.br.psyclin.PsyclinApplication;
+import com.br.psyclin.models.Agenda;
+import com.br.psyclin.models.Anamnese;
+import com.br.psyclin.models.ConselhoProfissional;
+import com.br.psyclin.models.Contato;
+import com.br.psyclin.models.Email;
+import com.br.psyclin.models.Especialidade;
+import com.br.psyclin.models.Modulo;
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.Pergunta;
+import com.br.psyclin.models.Pessoa;
+import com.br.psyclin.models.PessoaFisica;
+import com.br.psyclin.models.Procedimento;
+import com.br.psyclin.models.Profissional;
+import com.br.psyclin.models.Prontuario;
+import com.br.psyclin.models.Resposta;
+import com.br.psyclin.models.TipoContato;
+import com.br.psyclin.services.DiagnosticoPinningService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga que compara o Tomcat com threads de plataforma e com threads virtuais
+ * (spring.threads.virtual.enabled) nos endpoints existentes: vazão (ops/ms) e latências p50/p99 (SampleTime).
+ * Cada modo roda no seu próprio fork da JVM (JIT, pools e caches não vazam de um modo para o outro),
+ * com a aplicação no H2 semeada com um conjunto de dados de clínica: pacientes com contato e e-mail,
+ * agendas espalhadas em um mês, anamneses respondidas e prontuários. Requisições com status >= 400
+ * ou falha de conexão aparecem no contador "erros".
+ * Para medir uma instância já em execução (ex.: com MySQL), informe -Dpsyclin.carga.url=http://localhost:8080
+ * (sem semear). Parâmetros (-D, repassados aos forks): psyclin.carga.pacientes (2000),
+ * psyclin.carga.threads-tomcat (20), psyclin.carga.pool-conexoes (10), psyclin.carga.endpoints
+ * (lista separada por vírgulas); a concorrência dos clientes é o -t do JMH (padrão 200).
+ * Executar com: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.br.psyclin.benchmarks.CargaThreadsVirtuaisBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(200)
+public class CargaThreadsVirtuaisBenchmark {
+
+    private static final String ENDPOINTS_PADRAO =
+            "/paciente,/profissional,/agenda,/agenda/hoje/ativos,/anamnese,/prontuario";
+
+    private static final int TAMANHO_LOTE = 500;
+
+    @State(Scope.Benchmark)
+    public static class Servidor {
+
+        private ConfigurableApplicationContext contexto;
+        private ExecutorService executorHttp;
+        private HttpClient http;
+        private List<URI> enderecos;
+
+        @Setup(Level.Trial)
+        public void subir() {
+            String base = System.getProperty("psyclin.carga.url");
+            if (base == null) {
+                contexto = new SpringApplicationBuilder(PsyclinApplication.class)
+                        .properties(
+                                "server.port=0",
+                                "server.tomcat.threads.max=" + Integer.getInteger("psyclin.carga.threads-tomcat", 20),
+                                "spring.datasource.hikari.maximum-pool-size=" + Integer.getInteger("psyclin.carga.pool-conexoes", 10),
+                                "psyclin.busca.diretorio=target/indice-carga-" + ProcessHandle.current().pid(),
+                                "psyclin.chat.limite.por-minuto=1000000",
+                                "spring.ai.openai.api-key=carga",
+                                "psyclin.chat.stub.habilitado=true")
+                        .run();
+                semear(contexto.getBean(EntityManagerFactory.class), Integer.getInteger("psyclin.carga.pacientes", 2000));
+                base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            }
+            String raiz = base;
+            enderecos = Arrays.stream(System.getProperty("psyclin.carga.endpoints", ENDPOINTS_PADRAO).split(","))
+                    .map(endpoint -> URI.create(raiz + endpoint))
+                    .toList();
+            executorHttp = Executors.newVirtualThreadPerTaskExecutor();
+            http = HttpClient.newBuilder()
+                    .executor(executorHttp)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            System.out.println("🚀 Carga (" + modo() + ") em " + base);
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            if (contexto != null) {
+                if (Boolean.getBoolean("spring.threads.virtual.enabled")) {
+                    System.out.println("📌 Pinning: " + contexto.getBean(DiagnosticoPinningService.class).relatorio());
+                }
+                contexto.close();
+            }
+            http.close();
+            executorHttp.close();
+        }
+
+        private static String modo() {
+            return Boolean.getBoolean("spring.threads.virtual.enabled") ? "virtual" : "plataforma";
+        }
+    }
+
+    /**
+     * Estado de cada cliente: percorre os endpoints em rodízio e conta as requisições que falharam.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Cliente {
+
+        private int proximo = (int) Thread.currentThread().threadId();
+
+        public long erros;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dspring.threads.virtual.enabled=false")
+    public int plataforma(Servidor servidor, Cliente cliente) {
+        return requisitar(servidor, cliente);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dspring.threads.virtual.enabled=true")
+    public int virtual(Servidor servidor, Cliente cliente) {
+        return requisitar(servidor, cliente);
+    }
+
+    private static int requisitar(Servidor servidor, Cliente cliente) {
+        URI endereco = servidor.enderecos.get(Math.floorMod(cliente.proximo++, servidor.enderecos.size()));
+        HttpRequest requisicao = HttpRequest.newBuilder(endereco)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        try {
+            int status = servidor.http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 400) {
+                cliente.erros++;
+            }
+            return status;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cliente.erros++;
+            return -1;
+        } catch (Exception e) {
+            cliente.erros++;
+            return -1;
+        }
+    }
+
+    /**
+     * Conjunto de dados: 1 profissional para cada 100 pacientes (mínimo 5, o primeiro supervisiona os demais),
+     * 10 procedimentos, um módulo de triagem com 10 perguntas e, por paciente, uma agenda entre 15 dias
+     * atrás e 15 dias à frente, uma anamnese respondida e dois prontuários. Gravado em lotes.
+     */
+    private static void semear(EntityManagerFactory fabrica, int quantidadePacientes) {
+        long inicio = System.nanoTime();
+        EntityManager entityManager = fabrica.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+
+            ConselhoProfissional conselho = new ConselhoProfissional();
+            conselho.setDescricao("Conselho Regional de Psicologia");
+            conselho.setAbreviacao("CRP");
+            entityManager.persist(conselho);
+
+            Especialidade especialidade = new Especialidade();
+            especialidade.setCodEspecialidade("01");
+            especialidade.setDescricao("Psicologia clínica");
+            entityManager.persist(especialidade);
+
+            TipoContato tipoContato = new TipoContato();
+            tipoContato.setTipo("CELULAR");
+            entityManager.persist(tipoContato);
+
+            List<Procedimento> procedimentos = new ArrayList<>();
+            for (int i = 1; i <= 10; i++) {
+                Procedimento procedimento = new Procedimento();
+                procedimento.setCodProcedimento(String.format("P%07d", i));
+                procedimento.setDescricao("Sessão de psicoterapia " + i);
+                procedimento.setValor(new BigDecimal("100.00"));
+                procedimento.setEspecialidades(new ArrayList<>(List.of(especialidade)));
+                entityManager.persist(procedimento);
+                procedimentos.add(procedimento);
+            }
+
+            List<Profissional> profissionais = new ArrayList<>();
+            for (int i = 1; i <= Math.max(5, quantidadePacientes / 100); i++) {
+                Profissional profissional = new Profissional();
+                profissional.setPessoaFisica(criarPessoaFisica(entityManager, "Profissional " + i, 90_000_000 + i, tipoContato));
+                profissional.setTipoProfissional(Profissional.TipoProfissional._1);
+                profissional.setStatusProfissional(Profissional.StatusProfissional._1);
+                profissional.setConselhoProfissional(conselho);
+                profissional.setEspecialidades(new ArrayList<>(List.of(especialidade)));
+                profissional.setSupervisor(profissionais.isEmpty() ? null : profissionais.get(0));
+                entityManager.persist(profissional);
+                profissionais.add(profissional);
+            }
+
+            Modulo modulo = new Modulo();
+            modulo.setModulo("Triagem inicial");
+            entityManager.persist(modulo);
+            List<Pergunta> perguntas = new ArrayList<>();
+            for (int i = 1; i <= 10; i++) {
+                Pergunta pergunta = new Pergunta();
+                pergunta.setPergunta("Pergunta de triagem " + i);
+                pergunta.setTipo(Pergunta.TipoPergunta.S);
+                pergunta.setModulos(new ArrayList<>(List.of(modulo)));
+                entityManager.persist(pergunta);
+                perguntas.add(pergunta);
+            }
+            entityManager.flush();
+            List<Integer> idsProfissionais = profissionais.stream().map(Profissional::getIdProfissional).toList();
+            List<Integer> idsProcedimentos = procedimentos.stream().map(Procedimento::getIdProcedimento).toList();
+            List<Integer> idsPerguntas = perguntas.stream().map(Pergunta::getIdPergunta).toList();
+            Integer idEspecialidade = especialidade.getIdEspecialidade();
+            Integer idTipoContato = tipoContato.getIdTipoContato();
+            entityManager.clear();
+
+            for (int i = 1; i <= quantidadePacientes; i++) {
+                Profissional profissional = entityManager.getReference(Profissional.class, idsProfissionais.get(i % idsProfissionais.size()));
+                Procedimento procedimento = entityManager.getReference(Procedimento.class, idsProcedimentos.get(i % idsProcedimentos.size()));
+
+                Paciente paciente = new Paciente();
+                paciente.setPessoaFisica(criarPessoaFisica(entityManager, "Paciente " + i, i,
+                        entityManager.getReference(TipoContato.class, idTipoContato)));
+                paciente.setRgPaciente(String.format("RG%07d", i));
+                paciente.setEstadoRg(Paciente.EstadoRg.MT);
+                paciente.setStatusPaciente(i % 10 != 0);
+                entityManager.persist(paciente);
+
+                Agenda agenda = new Agenda();
+                agenda.setPessoaFisica(paciente.getPessoaFisica());
+                agenda.setProfissional(profissional);
+                agenda.setProcedimento(procedimento);
+                agenda.setDataAbertura(LocalDate.now().plusDays(i % 31 - 15).atTime(8 + i % 10, 0));
+                agenda.setSituacaoAgenda(Agenda.SituacaoAgenda.values()[i % Agenda.SituacaoAgenda.values().length]);
+                entityManager.persist(agenda);
+
+                Anamnese anamnese = new Anamnese();
+                anamnese.setPaciente(paciente);
+                anamnese.setProfissional(profissional);
+                anamnese.setDataAnamnese(LocalDateTime.now().minusDays(i % 60));
+                anamnese.setAutorizacaoVisualizacao(true);
+                anamnese.setStatusAnamnese(Anamnese.StatusAnamnese.APROVADO);
+                anamnese.setStatusFuncional(true);
+                entityManager.persist(anamnese);
+                for (Integer idPergunta : idsPerguntas) {
+                    Resposta resposta = new Resposta();
+                    resposta.setPergunta(entityManager.getReference(Pergunta.class, idPergunta));
+                    resposta.setAnamnese(anamnese);
+                    resposta.setRespostaSubjetiva("Relato de ansiedade e dificuldade para dormir " + idPergunta);
+                    entityManager.persist(resposta);
+                }
+
+                for (int j = 0; j < 2; j++) {
+                    Prontuario prontuario = new Prontuario();
+                    prontuario.setPaciente(paciente);
+                    prontuario.setProfissional(profissional);
+                    prontuario.setEspecialidade(entityManager.getReference(Especialidade.class, idEspecialidade));
+                    prontuario.setProcedimento(procedimento);
+                    prontuario.setDataProcedimento(LocalDate.now().minusDays(i % 30 + 30L * j));
+                    prontuario.setDescricaoProntuario("Paciente relata ansiedade e dificuldade para dormir.");
+                    prontuario.setAutorizacaoPacienteVisualizacao(true);
+                    entityManager.persist(prontuario);
+                }
+
+                if (i % TAMANHO_LOTE == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            entityManager.getTransaction().commit();
+        } catch (RuntimeException e) {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            throw new RuntimeException("Erro ao semear a base de carga: " + e.getMessage(), e);
+        } finally {
+            entityManager.close();
+        }
+        System.out.println("🌱 Base semeada com " + quantidadePacientes + " pacientes em "
+                + Duration.ofNanos(System.nanoTime() - inicio).toMillis() + " ms");
+    }
+
+    private static PessoaFisica criarPessoaFisica(EntityManager entityManager, String nome, int numero, TipoContato tipoContato) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setTipoPessoa(Pessoa.TipoPessoa.F);
+        entityManager.persist(pessoa);
+
+        PessoaFisica pessoaFisica = new PessoaFisica();
+        pessoaFisica.setPessoa(pessoa);
+        pessoaFisica.setCpfPessoa(String.format("%011d", numero));
+        pessoaFisica.setNomePessoa(nome);
+        pessoaFisica.setDataNascimento(LocalDate.of(1970 + numero % 40, 1 + numero % 12, 1 + numero % 28));
+        pessoaFisica.setSexo(numero % 2 == 0 ? PessoaFisica.Sexo.F : PessoaFisica.Sexo.M);
+        entityManager.persist(pessoaFisica);
+        pessoa.setPessoaFisica(pessoaFisica);
+
+        Contato contato = new Contato(null, tipoContato, String.format("6599%07d", numero % 10_000_000), pessoa);
+        entityManager.persist(contato);
+        pessoa.setContatos(new ArrayList<>(List.of(contato)));
+
+        Email email = new Email(null, nome.toLowerCase().replace(' ', '.') + "@psyclin.test", pessoa);
+        entityManager.persist(email);
+        pessoa.setEmails(new ArrayList<>(List.of(email)));
+        return pessoaFisica;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CargaThreadsVirtuaisBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
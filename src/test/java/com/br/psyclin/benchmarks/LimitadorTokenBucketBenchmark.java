@@ -0,0 +1,62 @@
+package com.br.psyclin.benchmarks;
+
+import com.br.psyclin.services.LimitadorTokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo por requisição do limitador de taxa do chat, com um único cliente disputado
+ * por várias threads e com muitos clientes distintos.
+ * Executar com: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.br.psyclin.benchmarks.LimitadorTokenBucketBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LimitadorTokenBucketBenchmark {
+
+    private LimitadorTokenBucket limitador;
+    private String[] clientes;
+
+    @Setup
+    public void preparar() {
+        limitador = new LimitadorTokenBucket(20, 5, 100_000, 16, System::nanoTime);
+        clientes = new String[10_000];
+        for (int i = 0; i < clientes.length; i++) {
+            clientes[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public boolean mesmoCliente() {
+        return limitador.tentarConsumir(clientes[0]).permitido();
+    }
+
+    @Benchmark
+    public boolean muitosClientes() {
+        return limitador.tentarConsumir(clientes[ThreadLocalRandom.current().nextInt(clientes.length)]).permitido();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LimitadorTokenBucketBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.br.psyclin.benchmarks;
+
+import com.br.psyclin.configs.MetricasLatenciaConfig;
+import com.br.psyclin.configs.MetricasServicoAspect;
+import com.br.psyclin.services.TopicosProibidosService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo do timer por método dos services (MetricasServicoAspect), comparando a chamada direta
+ * com a chamada pelo proxy instrumentado, já com os percentis configurados na aplicação.
+ * O alvo é um service sem banco (busca de tópicos proibidos), o pior caso: em métodos que consultam
+ * o banco, o mesmo custo absoluto se soma ao tempo da consulta.
+ * Medido (1 CPU, 4 threads; média ± erro em ns/op): mensagem de 64 caracteres, 804 ± 141 direto e
+ * 3963 ± 1401 instrumentado (~3,2 µs por chamada); 4096 caracteres, 63255 ± 27740 e 76966 ± 13047.
+ * Executar com: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.br.psyclin.benchmarks.MetricasServicoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class MetricasServicoBenchmark {
+
+    /** Tamanho da mensagem analisada, para variar o custo do próprio método. */
+    @Param({"64", "4096"})
+    private int tamanhoMensagem;
+
+    private TopicosProibidosService direto;
+    private TopicosProibidosService instrumentado;
+    private String mensagem;
+
+    @Setup
+    public void preparar() {
+        direto = new TopicosProibidosService();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricasLatenciaConfig().histogramaLatencias());
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(new TopicosProibidosService());
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAspect(new MetricasServicoAspect(registry));
+        instrumentado = fabrica.getProxy();
+
+        StringBuilder texto = new StringBuilder();
+        while (texto.length() < tamanhoMensagem) {
+            texto.append("Como funciona a sessão de acolhimento na clínica escola? ");
+        }
+        mensagem = texto.substring(0, tamanhoMensagem);
+    }
+
+    @Benchmark
+    public String direto() {
+        return direto.encontrar(mensagem);
+    }
+
+    @Benchmark
+    public String instrumentado() {
+        return instrumentado.encontrar(mensagem);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MetricasServicoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
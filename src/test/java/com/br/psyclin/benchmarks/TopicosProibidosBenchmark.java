@@ -0,0 +1,97 @@
+package com.br.psyclin.benchmarks;
+
+import com.br.psyclin.services.AutomatoTermos;
+import com.br.psyclin.services.TopicosProibidosService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.text.Normalizer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara a verificação de tópicos proibidos do chat: laço de String.contains (implementação anterior)
+ * contra o autômato de Aho-Corasick.
+ * O laço anterior só ignorava maiúsculas; lacoContainsSemAcentos é o equivalente exato do autômato
+ * (também ignora acentos). No cenário "proibida" o tópico vem acentuado como na lista, de modo que
+ * as três variantes encontram o mesmo termo.
+ * Executar com: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.br.psyclin.benchmarks.TopicosProibidosBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopicosProibidosBenchmark {
+
+    private static final List<String> TOPICOS = TopicosProibidosService.TOPICOS_PADRAO;
+    private static final List<String> TOPICOS_SEM_ACENTOS = TOPICOS.stream()
+            .map(TopicosProibidosBenchmark::semAcentos)
+            .toList();
+
+    @Param({"curta", "longa", "proibida"})
+    private String cenario;
+
+    private String mensagem;
+    private AutomatoTermos automato;
+
+    @Setup
+    public void preparar() {
+        automato = AutomatoTermos.compilar(TOPICOS);
+        String base = "Poderia explicar o que é a abordagem cognitivo-comportamental e como ela surgiu? ";
+        mensagem = switch (cenario) {
+            case "curta" -> "O que é anamnese?";
+            case "longa" -> base.repeat(20);
+            default -> base.repeat(10) + "Qual o diagnóstico mais comum?";
+        };
+    }
+
+    @Benchmark
+    public String lacoContains() {
+        String minuscula = mensagem.toLowerCase();
+        for (String proibido : TOPICOS) {
+            if (minuscula.contains(proibido)) {
+                return proibido;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public String lacoContainsSemAcentos() {
+        String normalizada = semAcentos(mensagem);
+        for (int i = 0; i < TOPICOS_SEM_ACENTOS.size(); i++) {
+            if (normalizada.contains(TOPICOS_SEM_ACENTOS.get(i))) {
+                return TOPICOS.get(i);
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public int ahoCorasick() {
+        return automato.buscar(mensagem);
+    }
+
+    private static String semAcentos(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TopicosProibidosBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
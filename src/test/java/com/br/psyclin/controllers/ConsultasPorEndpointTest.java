@@ -0,0 +1,711 @@
+package com.br.psyclin.controllers;
+
+import com.br.psyclin.configs.ContadorSqlInspector;
+import com.br.psyclin.models.Agenda;
+import com.br.psyclin.models.Anamnese;
+import com.br.psyclin.models.ConselhoProfissional;
+import com.br.psyclin.models.Contato;
+import com.br.psyclin.models.Email;
+import com.br.psyclin.models.Especialidade;
+import com.br.psyclin.models.Modulo;
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.Pergunta;
+import com.br.psyclin.models.Pessoa;
+import com.br.psyclin.models.PessoaFisica;
+import com.br.psyclin.models.Procedimento;
+import com.br.psyclin.models.Profissional;
+import com.br.psyclin.models.Prontuario;
+import com.br.psyclin.models.Resposta;
+import com.br.psyclin.models.TipoContato;
+import com.br.psyclin.services.TemplateFormularioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Regressão de quantidade de consultas: sobe a aplicação no H2 com um conjunto de dados semeado,
+ * chama cada mapeamento de com.br.psyclin.controllers e compara os comandos SQL do Hibernate, as
+ * linhas lidas e as execuções JDBC (que incluem o JdbcTemplate) com a baseline versionada em
+ * src/test/resources/consultas/baseline-consultas.tsv.
+ * Uma associação que passa a ser EAGER ou um converterParaDTO que navega coleções lazy muda os
+ * números e quebra o build. Todo mapeamento novo precisa ser declarado em {@link #chamadas()}
+ * ou em {@link #IGNORADOS}, com o motivo; um mapeamento medido sem linha na baseline falha.
+ * Escritas rodam numa transação desfeita ao final (o flush entra na medição), e respostas
+ * assíncronas (CompletableFuture, SseEmitter, StreamingResponseBody) são medidas até o fim do
+ * corpo via asyncDispatch, com as contagens levadas à thread do executor por {@link ContadorLinhasJdbc}.
+ * Para gravar ou atualizar a baseline depois de uma mudança intencional:
+ *   mvn test -Dtest=ConsultasPorEndpointTest -Dpsyclin.consultas.atualizar=true
+ */
+@SpringBootTest(properties = {
+        "spring.ai.openai.api-key=teste",
+        "psyclin.chat.stub.habilitado=true",
+        "psyclin.chat.stub.latencia-ms=0",
+        "psyclin.chat.stub.atraso-token-ms=0",
+        "psyclin.busca.diretorio=target/indice-consultas-${random.uuid}",
+        "psyclin.sql.detector.habilitado=false"
+})
+@AutoConfigureMockMvc
+@Import(ContadorLinhasJdbc.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConsultasPorEndpointTest {
+
+    private static final Path BASELINE = Path.of("src/test/resources/consultas/baseline-consultas.tsv");
+    private static final boolean ATUALIZAR = Boolean.getBoolean("psyclin.consultas.atualizar");
+
+    /** Registros de cada tipo no conjunto semeado: alto o bastante para um N+1 aparecer na contagem. */
+    private static final int QUANTIDADE = 5;
+
+    private static final String CORPO_415 = "o Jackson não monta o desserializador da entidade do corpo "
+            + "(@JsonManagedReference/@JsonBackReference sem par ou repetidas no grafo de Pessoa e Anamnese): "
+            + "responde 415 para qualquer corpo";
+
+    /**
+     * Mapeamentos fora da medição, com o motivo. Só entra aqui o que não dá para medir de forma
+     * determinística no H2 com a requisição completa.
+     */
+    private static final Map<String, String> IGNORADOS = Map.ofEntries(
+            Map.entry("POST /agenda", CORPO_415),
+            Map.entry("PUT /agenda/{id}", CORPO_415),
+            Map.entry("POST /anamnese", CORPO_415),
+            Map.entry("PUT /anamnese/{id}", CORPO_415),
+            Map.entry("POST /paciente", CORPO_415),
+            Map.entry("POST /prontuario", CORPO_415),
+            Map.entry("PUT /prontuario/{id}", CORPO_415),
+            Map.entry("POST /resposta", CORPO_415),
+            Map.entry("PUT /resposta/{id}", CORPO_415),
+            Map.entry("POST /profissional",
+                    "Profissional.pessoaFisica é @JsonIgnore: o corpo não consegue informar a pessoa física "
+                            + "obrigatória e o cadastro sempre responde 400"),
+            Map.entry("POST /busca/texto/reconstruir",
+                    "a reconstrução roda no executor próprio do índice, fora do applicationTaskExecutor, "
+                            + "depois da resposta 202: a requisição não tem ponto de término que a medição possa aguardar"),
+            Map.entry("GET /prontuario/count/ultimos-30-dias",
+                    "consulta nativa MySQL (DATE_SUB ... INTERVAL), sem equivalente no H2"));
+
+    /**
+     * Chamada a um mapeamento.
+     * @param chave Método HTTP e padrão da rota (ex.: GET /paciente/{id})
+     * @param requisicao Monta a requisição com os IDs do conjunto semeado; nas escritas roda
+     *                   dentro da transação que será desfeita, antes de a medição começar
+     * @param escrita true para medir numa transação desfeita ao final
+     */
+    private record Chamada(String chave, Supplier<MockHttpServletRequestBuilder> requisicao, boolean escrita) {
+
+        private Chamada(String chave, MockHttpServletRequestBuilder requisicao) {
+            this(chave, () -> requisicao, false);
+        }
+    }
+
+    /**
+     * Resultado de uma requisição medida.
+     */
+    private record Execucao(MvcResult resultado, ContadorSqlInspector.Contagem contagem, ContadorLinhasJdbc.Totais jdbc) {
+    }
+
+    /**
+     * Números medidos ou registrados na baseline.
+     */
+    private record Medicao(int comandos, long linhas, long execucoes) {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TemplateFormularioService templateFormularioService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Medicao> medidas = new TreeMap<>();
+    private Map<String, Medicao> baseline;
+
+    // IDs do conjunto semeado usados nas rotas
+    private Integer idPaciente;
+    private Integer idPessoaFisica;
+    private Integer idProfissional;
+    private Integer idAgenda;
+    private Integer idAnamnese;
+    private Integer idModulo;
+    private Integer idPergunta;
+    private Integer idResposta;
+    private Integer idProcedimento;
+    private Integer idEspecialidade;
+    private String codProcedimento;
+    private Integer idProntuario;
+    private String cpfPaciente;
+    private final List<Integer> idsPerguntas = new ArrayList<>();
+
+    @BeforeAll
+    void preparar() throws IOException {
+        baseline = lerBaseline();
+        transactionTemplate.executeWithoutResult(status -> semear());
+    }
+
+    @AfterAll
+    void gravarBaseline() throws IOException {
+        if (!ATUALIZAR || medidas.isEmpty()) {
+            return;
+        }
+        Map<String, Medicao> novas = new TreeMap<>(baseline);
+        novas.putAll(medidas);
+        List<String> linhas = new ArrayList<>();
+        linhas.add("# Comandos SQL, linhas lidas e execuções JDBC por endpoint (ConsultasPorEndpointTest)");
+        linhas.add("# Gravar ou atualizar: mvn test -Dtest=ConsultasPorEndpointTest -Dpsyclin.consultas.atualizar=true");
+        linhas.add("# endpoint\tcomandos\tlinhas\texecucoes");
+        novas.forEach((chave, medicao) -> linhas.add(chave + "\t" + medicao.comandos() + "\t" + medicao.linhas()
+                + "\t" + medicao.execucoes()));
+        Files.createDirectories(BASELINE.getParent());
+        Files.write(BASELINE, linhas, StandardCharsets.UTF_8);
+        System.out.println("📝 Baseline de consultas gravada: " + BASELINE.toAbsolutePath());
+    }
+
+    @Test
+    void todoMapeamentoEstaDeclaradoOuIgnorado() {
+        Set<String> mapeados = mapeamentos();
+        Set<String> declarados = new TreeSet<>(IGNORADOS.keySet());
+        chamadas().forEach(chamada -> declarados.add(chamada.chave()));
+
+        Set<String> semDeclaracao = new TreeSet<>(mapeados);
+        semDeclaracao.removeAll(declarados);
+        Set<String> obsoletos = new TreeSet<>(declarados);
+        obsoletos.removeAll(mapeados);
+
+        assertThat(semDeclaracao).as("Mapeamentos sem chamada nem motivo em IGNORADOS").isEmpty();
+        assertThat(obsoletos).as("Declarações para mapeamentos que não existem mais").isEmpty();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> comandosELinhasPorEndpoint() {
+        return chamadas().stream().map(chamada -> DynamicTest.dynamicTest(chamada.chave(), () -> {
+            limparCaches();
+            Execucao execucao = chamada.escrita()
+                    ? transactionTemplate.execute(status -> {
+                        status.setRollbackOnly();
+                        return executar(chamada.requisicao().get(), true);
+                    })
+                    : executar(chamada.requisicao().get(), false);
+            MvcResult resultado = execucao.resultado();
+            ContadorSqlInspector.Contagem contagem = execucao.contagem();
+            assertThat(resultado.getResponse().getStatus())
+                    .as("%s respondeu %s", chamada.chave(), resultado.getResponse().getContentAsString())
+                    .isLessThan(400);
+
+            Medicao medida = new Medicao(contagem.getTotal(), execucao.jdbc().linhas(), execucao.jdbc().execucoes());
+            medidas.put(chamada.chave(), medida);
+            if (ATUALIZAR) {
+                return;
+            }
+            Medicao esperada = baseline.get(chamada.chave());
+            assertThat(esperada)
+                    .as("Sem baseline para %s (medido: %s); grave com -Dpsyclin.consultas.atualizar=true",
+                            chamada.chave(), medida)
+                    .isNotNull();
+            assertThat(medida.comandos())
+                    .as("Comandos SQL de %s mudaram; por formato: %s", chamada.chave(), contagem.getPorFormato())
+                    .isEqualTo(esperada.comandos());
+            assertThat(medida.linhas())
+                    .as("Linhas lidas por %s mudaram", chamada.chave())
+                    .isEqualTo(esperada.linhas());
+            assertThat(medida.execucoes())
+                    .as("Execuções JDBC de %s mudaram", chamada.chave())
+                    .isEqualTo(esperada.execucoes());
+        }));
+    }
+
+    /**
+     * Executa a requisição contando comandos SQL, linhas lidas e execuções JDBC. Resposta assíncrona é redespachada
+     * (asyncDispatch espera o corpo terminar); nas escritas, o flush das alterações pendentes entra na medição.
+     * @param requisicao Requisição
+     * @param descarregar true para dar flush no contexto de persistência antes de encerrar a contagem
+     * @return Resultado e números medidos
+     */
+    private Execucao executar(MockHttpServletRequestBuilder requisicao, boolean descarregar) {
+        ContadorSqlInspector.iniciar();
+        ContadorLinhasJdbc.iniciar();
+        MvcResult resultado;
+        ContadorSqlInspector.Contagem contagem;
+        ContadorLinhasJdbc.Totais jdbc;
+        try {
+            resultado = mockMvc.perform(requisicao).andReturn();
+            if (resultado.getRequest().isAsyncStarted()) {
+                resultado = mockMvc.perform(asyncDispatch(resultado)).andReturn();
+            }
+            if (descarregar) {
+                entityManager.flush();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao executar requisição: " + e.getMessage(), e);
+        } finally {
+            contagem = ContadorSqlInspector.encerrar();
+            jdbc = ContadorLinhasJdbc.encerrar();
+        }
+        return new Execucao(resultado, contagem, jdbc);
+    }
+
+    /**
+     * Chamadas medidas: leituras primeiro, depois as escritas (desfeitas ao final de cada uma) e,
+     * por último, a importação, que grava em transações próprias na thread do executor.
+     */
+    private List<Chamada> chamadas() {
+        String hoje = LocalDate.now().toString();
+        String inicioMes = LocalDate.now().minusDays(30).toString();
+        List<Chamada> chamadas = new ArrayList<>();
+
+        chamadas.add(new Chamada("GET /agenda", get("/agenda")));
+        chamadas.add(new Chamada("GET /agenda/{id}", get("/agenda/{id}", idAgenda)));
+        chamadas.add(new Chamada("GET /agenda/disponibilidade", get("/agenda/disponibilidade")
+                .param("idProfissional", String.valueOf(idProfissional))
+                .param("inicio", hoje + "T08:00:00")
+                .param("fim", hoje + "T18:00:00")));
+        chamadas.add(new Chamada("GET /agenda/aguardando", get("/agenda/aguardando")));
+        chamadas.add(new Chamada("GET /agenda/hoje/ativos", get("/agenda/hoje/ativos")));
+        chamadas.add(new Chamada("GET /agenda/situacao/{situacao}/count", get("/agenda/situacao/{situacao}/count", "AGUARDANDO")));
+        chamadas.add(new Chamada("GET /agenda/hoje/ativos/count", get("/agenda/hoje/ativos/count")));
+
+        chamadas.add(new Chamada("GET /anamnese", get("/anamnese")));
+        chamadas.add(new Chamada("GET /anamnese/ativas", get("/anamnese/ativas")));
+        chamadas.add(new Chamada("GET /anamnese/pendentes", get("/anamnese/pendentes")));
+        chamadas.add(new Chamada("GET /anamnese/periodo", get("/anamnese/periodo")
+                .param("dataInicio", inicioMes)
+                .param("dataFim", hoje)));
+        chamadas.add(new Chamada("GET /anamnese/{id}", get("/anamnese/{id}", idAnamnese)));
+        chamadas.add(new Chamada("GET /anamnese/ativas/count", get("/anamnese/ativas/count")));
+
+        chamadas.add(new Chamada("GET /busca/texto", get("/busca/texto").param("q", "ansiedade")));
+        chamadas.add(new Chamada("GET /chat/topicos-proibidos", get("/chat/topicos-proibidos")));
+        chamadas.add(new Chamada("GET /chat/health", get("/chat/health")));
+        chamadas.add(new Chamada("POST /chat/message", post("/chat/message")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("message", "O que é ansiedade?")))));
+        chamadas.add(new Chamada("GET /chat/message", get("/chat/message").param("message", "O que é terapia cognitiva?")));
+        chamadas.add(new Chamada("POST /chat/message/stream", post("/chat/message/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("message", "O que é resiliência?")))));
+        chamadas.add(new Chamada("GET /chat/message/stream", get("/chat/message/stream")
+                .param("message", "O que é psicoeducação?")));
+        chamadas.add(new Chamada("GET /dashboard/resumo", get("/dashboard/resumo")));
+        chamadas.add(new Chamada("GET /api/database/status", get("/api/database/status")));
+        chamadas.add(new Chamada("GET /api/database/admissao", get("/api/database/admissao")));
+        chamadas.add(new Chamada("GET /api/database/cleanup", get("/api/database/cleanup")));
+        chamadas.add(new Chamada("POST /api/database/emergency-cleanup", post("/api/database/emergency-cleanup")));
+        chamadas.add(new Chamada("GET /documento/existe", get("/documento/existe")
+                .param("tipo", "CPF")
+                .param("valor", cpfPaciente)));
+
+        chamadas.add(new Chamada("GET /modulo/{id}", get("/modulo/{id}", idModulo)));
+        chamadas.add(new Chamada("GET /modulo/{id}/formulario", get("/modulo/{id}/formulario", idModulo)));
+
+        chamadas.add(new Chamada("GET /paciente", get("/paciente")));
+        chamadas.add(new Chamada("GET /paciente/ativos", get("/paciente/ativos")));
+        chamadas.add(new Chamada("GET /paciente/buscar", get("/paciente/buscar").param("nome", "Paciente")));
+        chamadas.add(new Chamada("GET /paciente/contar-ativos", get("/paciente/contar-ativos")));
+        chamadas.add(new Chamada("GET /paciente/{id}", get("/paciente/{id}", idPaciente)));
+
+        chamadas.add(new Chamada("GET /pergunta/{id}", get("/pergunta/{id}", idPergunta)));
+
+        chamadas.add(new Chamada("GET /procedimento", get("/procedimento")));
+        chamadas.add(new Chamada("GET /procedimento/{id}", get("/procedimento/{id}", idProcedimento)));
+        chamadas.add(new Chamada("GET /procedimento/codigo/{codigo}", get("/procedimento/codigo/{codigo}", codProcedimento)));
+        chamadas.add(new Chamada("GET /procedimento/buscar", get("/procedimento/buscar").param("descricao", "Sessão")));
+        chamadas.add(new Chamada("GET /procedimento/ordenados", get("/procedimento/ordenados")));
+        chamadas.add(new Chamada("GET /procedimento/count", get("/procedimento/count")));
+
+        chamadas.add(new Chamada("GET /profissional", get("/profissional")));
+        chamadas.add(new Chamada("GET /profissional/ativos", get("/profissional/ativos")));
+        chamadas.add(new Chamada("GET /profissional/buscar", get("/profissional/buscar").param("nome", "Profissional")));
+        chamadas.add(new Chamada("GET /profissional/contar-ativos", get("/profissional/contar-ativos")));
+        chamadas.add(new Chamada("GET /profissional/{id}", get("/profissional/{id}", idProfissional)));
+
+        chamadas.add(new Chamada("GET /prontuario/count", get("/prontuario/count")));
+        chamadas.add(new Chamada("GET /prontuario/count/hoje", get("/prontuario/count/hoje")));
+        chamadas.add(new Chamada("GET /prontuario", get("/prontuario")));
+        chamadas.add(new Chamada("GET /prontuario/{id}", get("/prontuario/{id}", idProntuario)));
+        chamadas.add(new Chamada("GET /prontuario/paciente/{idPaciente}", get("/prontuario/paciente/{idPaciente}", idPaciente)));
+        chamadas.add(new Chamada("GET /prontuario/profissional/{idProfissional}",
+                get("/prontuario/profissional/{idProfissional}", idProfissional)));
+        chamadas.add(new Chamada("GET /prontuario/periodo", get("/prontuario/periodo")
+                .param("dataInicio", inicioMes)
+                .param("dataFim", hoje)));
+        chamadas.add(new Chamada("GET /prontuario/ultimos", get("/prontuario/ultimos")));
+        chamadas.add(new Chamada("GET /prontuario/exportar", get("/prontuario/exportar")));
+
+        chamadas.add(new Chamada("GET /resposta/{id}", get("/resposta/{id}", idResposta)));
+
+        chamadas.add(new Chamada("DELETE /agenda/{id}", () -> delete("/agenda/{id}",
+                descartavel(novaAgenda()).getIdAgenda()), true));
+
+        chamadas.add(new Chamada("DELETE /anamnese/{id}", () -> delete("/anamnese/{id}",
+                descartavel(novaAnamnese()).getIdAnamnese()), true));
+        chamadas.add(new Chamada("PUT /anamnese/{id}/status", () -> put("/anamnese/{id}/status", idAnamnese)
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("REPROVADO"), true));
+        chamadas.add(new Chamada("POST /anamnese/{id}/respostas", () -> post("/anamnese/{id}/respostas", idAnamnese)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("respostas", idsPerguntas.stream()
+                        .map(id -> Map.of("idPergunta", id, "respostaSubjetiva", "Relato de insônia " + id))
+                        .toList()))), true));
+
+        chamadas.add(new Chamada("POST /modulo", () -> post("/modulo")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("modulo", "Acolhimento"))), true));
+        chamadas.add(new Chamada("PUT /modulo/{id}", () -> put("/modulo/{id}", idModulo)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("modulo", "Triagem de retorno"))), true));
+        chamadas.add(new Chamada("DELETE /modulo/{id}", () -> delete("/modulo/{id}", idModulo), true));
+
+        chamadas.add(new Chamada("PUT /paciente/{id}", () -> put("/paciente/{id}", idPaciente)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of(
+                        "nomePessoa", "Paciente 1 Atualizado",
+                        "telefone", "65991234567",
+                        "email", "paciente.atualizado@psyclin.test"))), true));
+        chamadas.add(new Chamada("DELETE /paciente/{id}", () -> delete("/paciente/{id}", idPaciente), true));
+
+        chamadas.add(new Chamada("POST /pergunta", () -> post("/pergunta")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of(
+                        "pergunta", "Como tem dormido?",
+                        "tipo", "S",
+                        "modulos", List.of(Map.of("idModulo", idModulo))))), true));
+        chamadas.add(new Chamada("PUT /pergunta/{id}", () -> put("/pergunta/{id}", idPergunta)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("pergunta", "Pergunta de triagem revisada"))), true));
+        chamadas.add(new Chamada("DELETE /pergunta/{id}", () -> delete("/pergunta/{id}", idPergunta), true));
+
+        chamadas.add(new Chamada("POST /procedimento", () -> post("/procedimento")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of(
+                        "codProcedimento", "P0000099",
+                        "descricao", "Avaliação psicológica",
+                        "valor", new BigDecimal("150.00")))), true));
+        chamadas.add(new Chamada("PUT /procedimento/{id}", () -> put("/procedimento/{id}", idProcedimento)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("descricao", "Sessão de psicoterapia individual", "valor", new BigDecimal("120.00")))),
+                true));
+        chamadas.add(new Chamada("DELETE /procedimento/{id}", () -> delete("/procedimento/{id}",
+                descartavel(novoProcedimento()).getIdProcedimento()), true));
+
+        chamadas.add(new Chamada("PUT /profissional/{id}", () -> put("/profissional/{id}", idProfissional)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json(Map.of("statusProfissional", "_2"))), true));
+        chamadas.add(new Chamada("DELETE /profissional/{id}", () -> delete("/profissional/{id}", idProfissional), true));
+
+        chamadas.add(new Chamada("DELETE /prontuario/{id}", () -> delete("/prontuario/{id}",
+                descartavel(novoProntuario()).getIdProntuario()), true));
+
+        chamadas.add(new Chamada("DELETE /resposta/{id}", () -> delete("/resposta/{id}", idResposta), true));
+
+        // Por último: grava em transações próprias na thread do executor, e os pacientes importados ficam no banco
+        chamadas.add(new Chamada("POST /paciente/importar", post("/paciente/importar")
+                .contentType("text/csv")
+                .content(String.join("\n",
+                        "cpf,nome,dataNascimento,sexo,rg,estadoRg,telefone,email",
+                        "00000000101,Paciente Importado 1,1991-02-03,F,RG0000101,MT,65990000101,importado.1@psyclin.test",
+                        "00000000102,Paciente Importado 2,1992-03-04,M,RG0000102,MT,65990000102,importado.2@psyclin.test"))));
+        return chamadas;
+    }
+
+    /**
+     * Grava um registro sem dependentes na transação da escrita, para o DELETE não esbarrar nas chaves
+     * estrangeiras do conjunto semeado. O contexto de persistência é limpo para a requisição ler do banco.
+     */
+    private <T> T descartavel(T entidade) {
+        entityManager.persist(entidade);
+        entityManager.flush();
+        entityManager.clear();
+        return entidade;
+    }
+
+    private Agenda novaAgenda() {
+        Agenda agenda = new Agenda();
+        agenda.setPessoaFisica(entityManager.getReference(PessoaFisica.class, idPessoaFisica));
+        agenda.setProfissional(entityManager.getReference(Profissional.class, idProfissional));
+        agenda.setProcedimento(entityManager.getReference(Procedimento.class, idProcedimento));
+        agenda.setDataAbertura(LocalDate.now().atTime(21, 0));
+        agenda.setSituacaoAgenda(Agenda.SituacaoAgenda.AGUARDANDO);
+        return agenda;
+    }
+
+    private Anamnese novaAnamnese() {
+        Anamnese anamnese = new Anamnese();
+        anamnese.setPaciente(entityManager.getReference(Paciente.class, idPaciente));
+        anamnese.setProfissional(entityManager.getReference(Profissional.class, idProfissional));
+        anamnese.setDataAnamnese(LocalDateTime.now());
+        anamnese.setAutorizacaoVisualizacao(true);
+        anamnese.setStatusAnamnese(Anamnese.StatusAnamnese.CANCELADO);
+        anamnese.setStatusFuncional(true);
+        return anamnese;
+    }
+
+    private Procedimento novoProcedimento() {
+        Procedimento procedimento = new Procedimento();
+        procedimento.setCodProcedimento("P0000098");
+        procedimento.setDescricao("Procedimento descontinuado");
+        procedimento.setValor(new BigDecimal("80.00"));
+        return procedimento;
+    }
+
+    private Prontuario novoProntuario() {
+        Prontuario prontuario = new Prontuario();
+        prontuario.setPaciente(entityManager.getReference(Paciente.class, idPaciente));
+        prontuario.setProfissional(entityManager.getReference(Profissional.class, idProfissional));
+        prontuario.setEspecialidade(entityManager.getReference(Especialidade.class, idEspecialidade));
+        prontuario.setProcedimento(entityManager.getReference(Procedimento.class, idProcedimento));
+        prontuario.setDataProcedimento(LocalDate.now());
+        prontuario.setDescricaoProntuario("Registro lançado em duplicidade.");
+        prontuario.setAutorizacaoPacienteVisualizacao(false);
+        return prontuario;
+    }
+
+    /**
+     * Chaves (método e padrão) de todos os mapeamentos dos controllers da aplicação.
+     */
+    private Set<String> mapeamentos() {
+        Set<String> chaves = new TreeSet<>();
+        handlerMapping.getHandlerMethods().forEach((info, metodo) -> {
+            if (!metodo.getBeanType().getPackageName().equals(PacienteController.class.getPackageName())) {
+                return;
+            }
+            info.getMethodsCondition().getMethods().forEach(metodoHttp ->
+                    info.getPatternValues().forEach(padrao -> chaves.add(metodoHttp.name() + " " + padrao)));
+        });
+        return chaves;
+    }
+
+    /**
+     * Caches de aplicação vazios antes de cada chamada, para medir sempre o caminho até o banco.
+     */
+    private void limparCaches() {
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+        templateFormularioService.invalidarTodos();
+    }
+
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao gerar JSON: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Medicao> lerBaseline() throws IOException {
+        Map<String, Medicao> baseline = new LinkedHashMap<>();
+        if (!Files.exists(BASELINE)) {
+            return baseline;
+        }
+        for (String linha : Files.readAllLines(BASELINE, StandardCharsets.UTF_8)) {
+            if (linha.isBlank() || linha.startsWith("#")) {
+                continue;
+            }
+            String[] partes = linha.split("\t");
+            baseline.put(partes[0], new Medicao(Integer.parseInt(partes[1].trim()), Long.parseLong(partes[2].trim()),
+                    Long.parseLong(partes[3].trim())));
+        }
+        return baseline;
+    }
+
+    /**
+     * Conjunto de dados: profissionais (um supervisor), pacientes com contato e e-mail, procedimentos,
+     * agendas de hoje, anamneses respondidas e prontuários.
+     */
+    private void semear() {
+        ConselhoProfissional conselho = new ConselhoProfissional();
+        conselho.setDescricao("Conselho Regional de Psicologia");
+        conselho.setAbreviacao("CRP");
+        entityManager.persist(conselho);
+
+        Especialidade especialidade = new Especialidade();
+        especialidade.setCodEspecialidade("01");
+        especialidade.setDescricao("Psicologia clínica");
+        entityManager.persist(especialidade);
+
+        TipoContato tipoContato = new TipoContato();
+        tipoContato.setTipo("CELULAR");
+        entityManager.persist(tipoContato);
+
+        List<Procedimento> procedimentos = new ArrayList<>();
+        for (int i = 1; i <= 2; i++) {
+            Procedimento procedimento = new Procedimento();
+            procedimento.setCodProcedimento(String.format("P%07d", i));
+            procedimento.setDescricao("Sessão de psicoterapia " + i);
+            procedimento.setValor(new BigDecimal("100.00"));
+            procedimento.setEspecialidades(new ArrayList<>(List.of(especialidade)));
+            entityManager.persist(procedimento);
+            procedimentos.add(procedimento);
+        }
+
+        List<Profissional> profissionais = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Profissional profissional = new Profissional();
+            profissional.setPessoaFisica(criarPessoaFisica("Profissional " + i, 900 + i, tipoContato));
+            profissional.setTipoProfissional(Profissional.TipoProfissional._1);
+            profissional.setStatusProfissional(Profissional.StatusProfissional._1);
+            profissional.setConselhoProfissional(conselho);
+            profissional.setEspecialidades(new ArrayList<>(List.of(especialidade)));
+            profissional.setSupervisor(profissionais.isEmpty() ? null : profissionais.get(0));
+            entityManager.persist(profissional);
+            profissionais.add(profissional);
+        }
+
+        Modulo modulo = new Modulo();
+        modulo.setModulo("Triagem inicial");
+        entityManager.persist(modulo);
+        List<Pergunta> perguntas = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Pergunta pergunta = new Pergunta();
+            pergunta.setPergunta("Pergunta de triagem " + i);
+            pergunta.setTipo(Pergunta.TipoPergunta.S);
+            pergunta.setModulos(new ArrayList<>(List.of(modulo)));
+            entityManager.persist(pergunta);
+            perguntas.add(pergunta);
+            idsPerguntas.add(pergunta.getIdPergunta());
+        }
+
+        for (int i = 1; i <= QUANTIDADE; i++) {
+            Profissional profissional = profissionais.get(i % profissionais.size());
+            Procedimento procedimento = procedimentos.get(i % procedimentos.size());
+
+            Paciente paciente = new Paciente();
+            paciente.setPessoaFisica(criarPessoaFisica("Paciente " + i, i, tipoContato));
+            paciente.setRgPaciente(String.format("RG%07d", i));
+            paciente.setEstadoRg(Paciente.EstadoRg.MT);
+            paciente.setStatusPaciente(true);
+            entityManager.persist(paciente);
+
+            Agenda agenda = new Agenda();
+            agenda.setPessoaFisica(paciente.getPessoaFisica());
+            agenda.setProfissional(profissional);
+            agenda.setProcedimento(procedimento);
+            agenda.setDataAbertura(LocalDate.now().atTime(9 + i, 0));
+            agenda.setSituacaoAgenda(Agenda.SituacaoAgenda.AGUARDANDO);
+            entityManager.persist(agenda);
+
+            Anamnese anamnese = new Anamnese();
+            anamnese.setPaciente(paciente);
+            anamnese.setProfissional(profissional);
+            anamnese.setDataAnamnese(LocalDateTime.now().minusDays(i));
+            anamnese.setAutorizacaoVisualizacao(true);
+            anamnese.setStatusAnamnese(Anamnese.StatusAnamnese.APROVADO);
+            anamnese.setStatusFuncional(true);
+            entityManager.persist(anamnese);
+
+            Resposta primeiraResposta = null;
+            for (Pergunta pergunta : perguntas) {
+                Resposta resposta = new Resposta();
+                resposta.setPergunta(pergunta);
+                resposta.setAnamnese(anamnese);
+                resposta.setRespostaSubjetiva("Relato de ansiedade " + pergunta.getIdPergunta());
+                entityManager.persist(resposta);
+                if (primeiraResposta == null) {
+                    primeiraResposta = resposta;
+                }
+            }
+
+            Prontuario prontuario = new Prontuario();
+            prontuario.setPaciente(paciente);
+            prontuario.setProfissional(profissional);
+            prontuario.setEspecialidade(especialidade);
+            prontuario.setProcedimento(procedimento);
+            prontuario.setDataProcedimento(LocalDate.now().minusDays(i - 1));
+            prontuario.setDescricaoProntuario("Paciente relata ansiedade e dificuldade para dormir.");
+            prontuario.setAutorizacaoPacienteVisualizacao(true);
+            entityManager.persist(prontuario);
+
+            if (i == 1) {
+                idPaciente = paciente.getIdPaciente();
+                idPessoaFisica = paciente.getPessoaFisica().getIdPessoaFisica();
+                idProfissional = profissional.getIdProfissional();
+                idAgenda = agenda.getIdAgenda();
+                idAnamnese = anamnese.getIdAnamnese();
+                idResposta = primeiraResposta.getIdResposta();
+                idProcedimento = procedimento.getIdProcedimento();
+                codProcedimento = procedimento.getCodProcedimento();
+                idProntuario = prontuario.getIdProntuario();
+                cpfPaciente = paciente.getPessoaFisica().getCpfPessoa();
+            }
+        }
+        idModulo = modulo.getIdModulo();
+        idEspecialidade = especialidade.getIdEspecialidade();
+        idPergunta = perguntas.get(0).getIdPergunta();
+    }
+
+    private PessoaFisica criarPessoaFisica(String nome, int numero, TipoContato tipoContato) {
+        Pessoa pessoa = new Pessoa();
+        pessoa.setTipoPessoa(Pessoa.TipoPessoa.F);
+        entityManager.persist(pessoa);
+
+        PessoaFisica pessoaFisica = new PessoaFisica();
+        pessoaFisica.setPessoa(pessoa);
+        pessoaFisica.setCpfPessoa(String.format("%011d", numero));
+        pessoaFisica.setNomePessoa(nome);
+        pessoaFisica.setDataNascimento(LocalDate.of(1990, 1, 1));
+        pessoaFisica.setSexo(PessoaFisica.Sexo.F);
+        entityManager.persist(pessoaFisica);
+        pessoa.setPessoaFisica(pessoaFisica);
+
+        Contato contato = new Contato(null, tipoContato, String.format("6599%07d", numero), pessoa);
+        entityManager.persist(contato);
+        pessoa.setContatos(new ArrayList<>(List.of(contato)));
+
+        Email email = new Email(null, nome.toLowerCase().replace(' ', '.') + "@psyclin.test", pessoa);
+        entityManager.persist(email);
+        pessoa.setEmails(new ArrayList<>(List.of(email)));
+        return pessoaFisica;
+    }
+}
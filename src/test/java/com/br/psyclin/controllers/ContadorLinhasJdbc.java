@@ -0,0 +1,165 @@
+package com.br.psyclin.controllers;
+
+import com.br.psyclin.configs.ContadorSqlInspector;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Conta as linhas lidas do banco pela thread atual (cada ResultSet.next() verdadeiro) e as execuções
+ * JDBC (cada execute*, inclusive executeBatch), envolvendo o DataSource da aplicação. As execuções
+ * incluem o que não passa pelo Hibernate (JdbcTemplate). Usado pelos testes de quantidade de consultas.
+ * As tarefas do executor da aplicação (corpo de respostas assíncronas) continuam as contagens
+ * de linhas e de comandos SQL da thread que as agendou.
+ */
+@TestConfiguration
+class ContadorLinhasJdbc {
+
+    private static final int LINHAS = 0;
+    private static final int EXECUCOES = 1;
+
+    private static final ThreadLocal<long[]> ATUAL = new ThreadLocal<>();
+
+    /**
+     * Números contados entre {@link #iniciar()} e {@link #encerrar()}.
+     * @param linhas Linhas lidas
+     * @param execucoes Execuções JDBC (idas ao banco)
+     */
+    record Totais(long linhas, long execucoes) {
+    }
+
+    /**
+     * Começa a contar as linhas lidas e as execuções da thread atual.
+     */
+    static void iniciar() {
+        ATUAL.set(new long[2]);
+    }
+
+    /**
+     * Para de contar.
+     * @return Totais desde {@link #iniciar()}
+     */
+    static Totais encerrar() {
+        long[] contagem = ATUAL.get();
+        ATUAL.remove();
+        return contagem != null ? new Totais(contagem[LINHAS], contagem[EXECUCOES]) : new Totais(0, 0);
+    }
+
+    @Bean
+    static BeanPostProcessor contadorLinhasPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceContador)) {
+                    return new DataSourceContador(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Envolve o TaskDecorator da aplicação em vez de declarar outro: o Spring Boot só aplica
+     * o decorator ao applicationTaskExecutor quando há um único no contexto.
+     */
+    @Bean
+    static BeanPostProcessor propagacaoContadoresPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof TaskDecorator decorador) {
+                    return propagarContadores(decorador);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static TaskDecorator propagarContadores(TaskDecorator decorador) {
+        return tarefa -> {
+            Runnable decorada = decorador.decorate(tarefa);
+            long[] linhas = ATUAL.get();
+            ContadorSqlInspector.Contagem comandos = ContadorSqlInspector.atual();
+            return () -> {
+                ATUAL.set(linhas);
+                ContadorSqlInspector.continuar(comandos);
+                try {
+                    decorada.run();
+                } finally {
+                    ATUAL.remove();
+                    ContadorSqlInspector.continuar(null);
+                }
+            };
+        };
+    }
+
+    private static final class DataSourceContador extends DelegatingDataSource {
+
+        private DataSourceContador(DataSource alvo) {
+            super(alvo);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return envolver(super.getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return envolver(super.getConnection(username, password), Connection.class);
+        }
+    }
+
+    private static void somar(int indice) {
+        long[] contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem[indice]++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T envolver(T alvo, Class<T> tipo) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, metodo, argumentos) -> {
+            switch (metodo.getName()) {
+                case "equals" -> {
+                    return proxy == argumentos[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            Object resultado;
+            try {
+                resultado = metodo.invoke(alvo, argumentos);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (tipo != Connection.class && tipo != ResultSet.class && metodo.getName().startsWith("execute")) {
+                somar(EXECUCOES);
+            }
+            if (tipo == Connection.class && resultado instanceof Statement
+                    && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                return envolver(resultado, (Class<Object>) metodo.getReturnType());
+            }
+            if (tipo != ResultSet.class && tipo != Connection.class && resultado instanceof ResultSet resultSet) {
+                return envolver(resultSet, ResultSet.class);
+            }
+            if (tipo == ResultSet.class && "next".equals(metodo.getName()) && Boolean.TRUE.equals(resultado)) {
+                somar(LINHAS);
+            }
+            return resultado;
+        });
+    }
+}
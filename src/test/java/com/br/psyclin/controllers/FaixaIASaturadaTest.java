@@ -0,0 +1,93 @@
+package com.br.psyclin.controllers;
+
+import com.br.psyclin.services.FaixaChamadasIAService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Satura a faixa da IA (1 chamada ativa, fila de 2, modelo local de 3 s) num Tomcat de 4 threads
+ * e verifica que os endpoints clínicos continuam respondendo enquanto o chat espera ou cai no fallback.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.ai.openai.api-key=teste",
+        "psyclin.chat.stub.habilitado=true",
+        "psyclin.chat.stub.latencia-ms=3000",
+        "psyclin.chat.stub.atraso-token-ms=0",
+        "psyclin.chat.faixa.concorrencia=1",
+        "psyclin.chat.faixa.fila=2",
+        "psyclin.chat.faixa.prazo-fila=PT10S",
+        "psyclin.chat.limite.rajada=100",
+        "psyclin.chat.limite.por-minuto=1000",
+        "psyclin.busca.diretorio=target/indice-saturacao-${random.uuid}",
+        "server.tomcat.threads.max=4"
+})
+class FaixaIASaturadaTest {
+
+    private static final int CHAMADAS_CHAT = 12;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private FaixaChamadasIAService faixaChamadasIA;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    @Test
+    void endpointsClinicosRespondemComAFaixaDaIASaturada() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> chat = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS_CHAT; i++) {
+            // Perguntas distintas: nenhuma é atendida pelo cache
+            String mensagem = URLEncoder.encode("o que é anamnese " + i, StandardCharsets.UTF_8);
+            chat.add(cliente.sendAsync(requisicao("/chat/message?message=" + mensagem), HttpResponse.BodyHandlers.ofString()));
+        }
+        for (int i = 0; i < 100 && faixaChamadasIA.tamanhoFila() < 2; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(faixaChamadasIA.chamadasAtivas()).isEqualTo(1);
+        assertThat(faixaChamadasIA.tamanhoFila()).isEqualTo(2);
+
+        for (String caminho : List.of("/paciente", "/agenda", "/profissional", "/chat/health")) {
+            long inicio = System.nanoTime();
+            HttpResponse<String> resposta = cliente.send(requisicao(caminho), HttpResponse.BodyHandlers.ofString());
+            long duracaoMs = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+            assertThat(resposta.statusCode()).as(caminho).isEqualTo(200);
+            assertThat(duracaoMs).as(caminho).isLessThan(1000);
+        }
+        // A faixa continuava cheia durante as consultas clínicas
+        assertThat(faixaChamadasIA.tamanhoFila()).isEqualTo(2);
+
+        // O excedente recebe o fallback na hora; todas as chamadas ao chat terminam com 200
+        for (CompletableFuture<HttpResponse<String>> chamada : chat) {
+            assertThat(chamada.get().statusCode()).isEqualTo(200);
+        }
+        assertThat(meterRegistry.get("psyclin.chat.faixa.rejeicoes").tag("motivo", "fila-cheia").counter().count())
+                .isEqualTo(CHAMADAS_CHAT - 3);
+    }
+
+    private HttpRequest requisicao(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .timeout(Duration.ofSeconds(20))
+                .build();
+    }
+}
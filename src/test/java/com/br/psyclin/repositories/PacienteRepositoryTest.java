@@ -0,0 +1,120 @@
+package com.br.psyclin.repositories;
+
+import com.br.psyclin.dto.response.PacienteResponseDTO;
+import com.br.psyclin.models.Contato;
+import com.br.psyclin.models.Email;
+import com.br.psyclin.models.Paciente;
+import com.br.psyclin.models.Pessoa;
+import com.br.psyclin.models.PessoaFisica;
+import com.br.psyclin.models.TipoContato;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que a listagem de pacientes por projeção usa uma quantidade
+ * constante de comandos SQL, independente do número de pacientes.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PacienteRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    private TipoContato tipoContato;
+
+    private int sequencia = 0;
+
+    @BeforeEach
+    void setUp() {
+        tipoContato = new TipoContato();
+        tipoContato.setTipo("CELULAR");
+        entityManager.persist(tipoContato);
+    }
+
+    @Test
+    void buscarResumoPacientesUsaUmaUnicaConsulta() {
+        criarPaciente(true);
+        long comandosComUmPaciente = contarComandos(() -> pacienteRepository.buscarResumoPacientes());
+
+        for (int i = 0; i < 25; i++) {
+            criarPaciente(i % 2 == 0);
+        }
+        long comandosComVariosPacientes = contarComandos(() -> pacienteRepository.buscarResumoPacientes());
+
+        assertThat(comandosComUmPaciente).isEqualTo(1);
+        assertThat(comandosComVariosPacientes).isEqualTo(comandosComUmPaciente);
+    }
+
+    @Test
+    void buscarResumoPacientesPorStatusTrazTelefoneEEmailPrincipais() {
+        Paciente paciente = criarPaciente(true);
+        criarPaciente(false);
+
+        List<PacienteResponseDTO> ativos = pacienteRepository.buscarResumoPacientesPorStatus(true);
+
+        assertThat(ativos).hasSize(1);
+        PacienteResponseDTO dto = ativos.get(0);
+        assertThat(dto.getIdPaciente()).isEqualTo(paciente.getIdPaciente());
+        assertThat(dto.getTelefone()).isEqualTo(paciente.getPessoaFisica().getPessoa().getContatos().get(0).getNumero());
+        assertThat(dto.getEmail()).isEqualTo(paciente.getPessoaFisica().getPessoa().getEmails().get(0).getEmail());
+        assertThat(dto.getStatusPaciente()).isEqualTo("1");
+        assertThat(dto.getEstadoRg()).isEqualTo("MT");
+    }
+
+    private long contarComandos(Runnable consulta) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        consulta.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Paciente criarPaciente(boolean ativo) {
+        int n = ++sequencia;
+
+        Pessoa pessoa = new Pessoa();
+        pessoa.setTipoPessoa(Pessoa.TipoPessoa.F);
+        entityManager.persist(pessoa);
+
+        PessoaFisica pessoaFisica = new PessoaFisica();
+        pessoaFisica.setPessoa(pessoa);
+        pessoaFisica.setCpfPessoa(String.format("%011d", n));
+        pessoaFisica.setNomePessoa("Paciente " + n);
+        pessoaFisica.setDataNascimento(LocalDate.of(1990, 1, 1));
+        pessoaFisica.setSexo(PessoaFisica.Sexo.F);
+        entityManager.persist(pessoaFisica);
+        pessoa.setPessoaFisica(pessoaFisica);
+
+        Contato principal = new Contato(null, tipoContato, "6599000" + String.format("%04d", n), pessoa);
+        Contato secundario = new Contato(null, tipoContato, "6598000" + String.format("%04d", n), pessoa);
+        entityManager.persist(principal);
+        entityManager.persist(secundario);
+        pessoa.setContatos(List.of(principal, secundario));
+
+        Email email = new Email(null, "paciente" + n + "@psyclin.com", pessoa);
+        entityManager.persist(email);
+        pessoa.setEmails(List.of(email));
+
+        Paciente paciente = new Paciente();
+        paciente.setPessoaFisica(pessoaFisica);
+        paciente.setRgPaciente("RG" + n);
+        paciente.setEstadoRg(Paciente.EstadoRg.MT);
+        paciente.setStatusPaciente(ativo);
+        entityManager.persist(paciente);
+        return paciente;
+    }
+}
@@ -0,0 +1,69 @@
+package com.br.psyclin.services;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Casamento de termos do autômato de Aho-Corasick: termos sobrepostos, maiúsculas e acentos
+ * (inclusive texto em forma decomposta, com o acento como caractere combinante separado).
+ */
+class AutomatoTermosTest {
+
+    @Test
+    void encontraTermosSobrepostosEPrefixosDeOutros() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("he", "she", "his", "hers"));
+
+        assertThat(automato.encontrarTodos("ushers")).containsExactly("he", "she", "hers");
+        assertThat(automato.encontrarTodos("ahishers")).containsExactly("he", "she", "his", "hers");
+        assertThat(automato.buscar("xyz")).isEqualTo(-1);
+    }
+
+    @Test
+    void buscarDevolveOTermoDeMaiorPrioridadeMesmoQueApareçaDepois() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("tratamento específico", "tratamento", "específico"));
+
+        assertThat(automato.termo(automato.buscar("um tratamento específico"))).isEqualTo("tratamento específico");
+        assertThat(automato.termo(automato.buscar("um tratamento geral"))).isEqualTo("tratamento");
+        assertThat(automato.termo(automato.buscar("algo específico"))).isEqualTo("específico");
+    }
+
+    @Test
+    void ignoraMaiusculas() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("Dados Pessoais", "cpf"));
+
+        assertThat(automato.encontrarTodos("Informe seus DADOS PESSOAIS e o CPF")).containsExactly("Dados Pessoais", "cpf");
+    }
+
+    @Test
+    void ignoraAcentosNosDoisLados() {
+        AutomatoTermos comAcento = AutomatoTermos.compilar(List.of("diagnóstico", "prescrição"));
+        AutomatoTermos semAcento = AutomatoTermos.compilar(List.of("diagnostico", "prescricao"));
+
+        assertThat(comAcento.buscar("qual DIAGNOSTICO?")).isEqualTo(0);
+        assertThat(comAcento.buscar("qual o diagnóstico?")).isEqualTo(0);
+        assertThat(comAcento.buscar("QUAL A PRESCRIÇÃO")).isEqualTo(1);
+        assertThat(semAcento.buscar("qual o diagnóstico?")).isEqualTo(0);
+        assertThat(semAcento.buscar("Prescrição médica")).isEqualTo(1);
+    }
+
+    @Test
+    void ignoraAcentosEmFormaDecomposta() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of("diagnóstico", "endereço"));
+        AutomatoTermos decomposto = AutomatoTermos.compilar(List.of("diagno\u0301stico"));
+
+        assertThat(automato.buscar("qual o diagno\u0301stico?")).isEqualTo(0);
+        assertThat(automato.buscar("meu enderec\u0327o")).isEqualTo(1);
+        assertThat(decomposto.buscar("qual o DIAGNÓSTICO?")).isEqualTo(0);
+        assertThat(decomposto.buscar("qual o diagnostico?")).isEqualTo(0);
+    }
+
+    @Test
+    void ignoraTermosVazios() {
+        AutomatoTermos automato = AutomatoTermos.compilar(List.of(" ", "rg"));
+
+        assertThat(automato.termos()).containsExactly("rg");
+        assertThat(automato.buscar("qual o RG?")).isEqualTo(0);
+    }
+}
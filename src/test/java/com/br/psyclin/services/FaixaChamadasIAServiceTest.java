@@ -0,0 +1,124 @@
+package com.br.psyclin.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reproduz um pico de uso do chat com um modelo local lento e verifica que a faixa da IA
+ * limita as chamadas simultâneas, recusa o excedente sem bloquear quem chama e publica as métricas.
+ */
+class FaixaChamadasIAServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private FaixaChamadasIAService faixa;
+    private ChatModelStub modelo;
+
+    @BeforeEach
+    void preparar() {
+        meterRegistry = new SimpleMeterRegistry();
+        faixa = new FaixaChamadasIAService(meterRegistry, 2, 2, Duration.ofMillis(300), Duration.ofSeconds(10));
+        modelo = new ChatModelStub();
+        ReflectionTestUtils.setField(modelo, "latenciaMs", 500L);
+        ReflectionTestUtils.setField(modelo, "atrasoTokenMs", 0L);
+        ReflectionTestUtils.setField(modelo, "quantidadeTokens", 5);
+    }
+
+    @AfterEach
+    void encerrar() {
+        faixa.encerrar();
+    }
+
+    @Test
+    void picoDeChamadasNaoBloqueiaQuemChamaERecusaExcedente() {
+        long inicio = System.nanoTime();
+        List<CompletableFuture<String>> chamadas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            chamadas.add(faixa.executar(() -> modelo.call("pergunta")));
+        }
+        long enfileiramentoMs = Duration.ofNanos(System.nanoTime() - inicio).toMillis();
+
+        // Quem chama (thread do Tomcat) volta na hora, mesmo com o modelo levando 500 ms
+        assertThat(enfileiramentoMs).isLessThan(200);
+        assertThat(faixa.chamadasAtivas()).isLessThanOrEqualTo(2);
+
+        int concluidas = 0;
+        int recusadas = 0;
+        for (CompletableFuture<String> chamada : chamadas) {
+            try {
+                assertThat(chamada.join()).startsWith("[stub]");
+                concluidas++;
+            } catch (CompletionException e) {
+                assertThat(e.getCause()).isInstanceOf(RejectedExecutionException.class);
+                recusadas++;
+            }
+        }
+
+        // 2 executam, 2 aguardam na fila além do prazo de 300 ms e 2 encontram a fila cheia
+        assertThat(concluidas).isEqualTo(2);
+        assertThat(recusadas).isEqualTo(4);
+        assertThat(meterRegistry.get("psyclin.chat.faixa.rejeicoes").tag("motivo", "fila-cheia").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("psyclin.chat.faixa.rejeicoes").tag("motivo", "prazo").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("psyclin.chat.faixa.espera").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    void prazoDeFilaRecusaSemEsperarAChamadaDaFrente() {
+        faixa.encerrar();
+        faixa = new FaixaChamadasIAService(meterRegistry, 1, 1, Duration.ofMillis(100), Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(modelo, "latenciaMs", 2000L);
+        faixa.executar(() -> modelo.call("pergunta"));
+
+        long inicio = System.nanoTime();
+        CompletableFuture<String> naFila = faixa.executar(() -> modelo.call("pergunta"));
+
+        // A recusa chega no prazo de fila, não quando a chamada da frente termina (2 s)
+        assertThatThrownBy(naFila::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - inicio).toMillis()).isLessThan(1000);
+        assertThat(faixa.tamanhoFila()).isZero();
+    }
+
+    @Test
+    void prazoTotalInterrompeAChamadaELiberaAFaixa() throws InterruptedException {
+        faixa.encerrar();
+        faixa = new FaixaChamadasIAService(meterRegistry, 1, 1, Duration.ofMillis(300), Duration.ofMillis(200));
+        ReflectionTestUtils.setField(modelo, "latenciaMs", 5000L);
+        AtomicBoolean interrompida = new AtomicBoolean();
+        CompletableFuture<String> chamada = faixa.executar(() -> {
+            String resposta = modelo.call("pergunta");
+            interrompida.set(Thread.currentThread().isInterrupted());
+            return resposta;
+        });
+
+        assertThatThrownBy(chamada::join).hasCauseInstanceOf(TimeoutException.class);
+        for (int i = 0; i < 50 && faixa.chamadasAtivas() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(faixa.chamadasAtivas()).isZero();
+        assertThat(interrompida).isTrue();
+    }
+
+    @Test
+    void falhaDoModeloChegaAoFuturo() {
+        CompletableFuture<String> chamada = faixa.executar(() -> {
+            throw new IllegalStateException("modelo indisponível");
+        });
+
+        assertThatThrownBy(chamada::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
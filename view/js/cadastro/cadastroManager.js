@@ -25,6 +25,8 @@ import {
 const cadastroState = {
     currentData: [],
     currentType: null,
+    nextCursor: null, // cursor da próxima página (null quando tudo foi carregado)
+    carregandoMais: false,
     editingItem: null,
     gridContainer: null
 };
@@ -155,20 +157,23 @@ async function loadDataType(type) {
         const config = dataConfigs[type];
         cadastroState.currentType = type;
         
-        // Tenta obter dados do cache
-        let data = cadastroCache.get(type);
+        // Tenta obter dados do cache (páginas já carregadas e o cursor da próxima)
+        let pagina = cadastroCache.get(type);
         
-        if (!data) {
+        if (!pagina) {
             console.log(`🌐 Cache miss - buscando da API...`);
-            // Busca dados da API
-            data = await config.apiFunction();
+            // Busca a primeira página da API; as demais vêm pelo "Carregar mais"
+            pagina = await config.apiFunction();
             
             // Salva no cache
-            cadastroCache.set(type, data);
+            cadastroCache.set(type, pagina);
         } else {
             console.log(`� Dados obtidos do cache`);
         }
         
+        let data = pagina.itens;
+        cadastroState.nextCursor = pagina.nextCursor;
+        
         // Debug: log otimizado
         console.log(`� ${data?.length || 0} registros para ${type}`);
         
@@ -195,6 +200,41 @@ async function loadDataType(type) {
     }
 }
 
+/**
+ * Carrega a próxima página do tipo atual e acrescenta à tabela
+ */
+async function carregarMais() {
+    const type = cadastroState.currentType;
+    const cursor = cadastroState.nextCursor;
+    if (!type || !cursor || cadastroState.carregandoMais) return;
+    
+    const config = dataConfigs[type];
+    try {
+        cadastroState.carregandoMais = true;
+        showLoader(true);
+        
+        const pagina = await config.apiFunction(cursor);
+        const cached = cadastroCache.get(type);
+        cadastroCache.set(type, {
+            itens: [...(cached ? cached.itens : []), ...pagina.itens],
+            nextCursor: pagina.nextCursor
+        });
+        
+        const novos = config.filter ? pagina.itens.filter(config.filter) : pagina.itens;
+        cadastroState.currentData = [...cadastroState.currentData, ...novos];
+        cadastroState.nextCursor = pagina.nextCursor;
+        console.log(`📄 +${novos.length} registros para ${type}`);
+        
+        renderDataTable(cadastroState.currentData, config);
+    } catch (error) {
+        console.error(`❌ Erro ao carregar mais ${type}:`, error);
+        showError(`Erro ao carregar mais dados de ${type}: ${error.message}`);
+    } finally {
+        cadastroState.carregandoMais = false;
+        showLoader(false);
+    }
+}
+
 /**
  * Renderiza a tabela de dados
  */
@@ -212,7 +252,7 @@ function renderDataTable(data, config) {
                             <i data-feather="${config.icon}" class="w-5 h-5"></i>
                             <h2>${config.title}</h2>
                             <span class="bg-white/20 px-2 py-1 rounded-full text-xs">
-                                ${data.length}
+                                ${data.length}${cadastroState.nextCursor ? '+' : ''}
                             </span>
                         </div>
                         <div class="flex items-center space-x-2">
@@ -260,7 +300,7 @@ function renderDataTable(data, config) {
                             `).join('')}
                         </tr>
                     </thead>
-                    <tbody>
+                    <tbody id="table-body">
                         ${data.length === 0 ? `
                             <tr>
                                 <td colspan="${responsiveConfig.columns.length}" class="px-4 py-8 text-center text-gray-500">
@@ -278,7 +318,15 @@ function renderDataTable(data, config) {
             <!-- Footer -->
             <div class="bg-gray-50 px-4 py-2 border-t">
                 <div class="flex items-center justify-between text-xs text-gray-500">
-                    <span>${data.length} registros</span>
+                    <span>${data.length} registros${cadastroState.nextCursor ? ' carregados' : ''}</span>
+                    ${cadastroState.nextCursor ? `
+                        <button 
+                            id="load-more-btn"
+                            class="bg-emerald-600 hover:bg-emerald-700 text-white px-3 py-1 rounded-md transition"
+                        >
+                            Carregar mais
+                        </button>
+                    ` : ''}
                     <div class="flex items-center space-x-1">
                         <div class="w-2 h-2 bg-green-400 rounded-full"></div>
                         <span>Online</span>
@@ -471,6 +519,12 @@ function setupTableEventListeners(config) {
         });
     }
     
+    // Próxima página
+    const loadMoreBtn = document.getElementById('load-more-btn');
+    if (loadMoreBtn) {
+        loadMoreBtn.onclick = () => carregarMais();
+    }
+    
     // Clear cache
     const clearCacheBtn = document.getElementById('clear-cache-btn');
     if (clearCacheBtn) {
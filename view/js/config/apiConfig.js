@@ -13,7 +13,8 @@ const API_CONFIG = {
         PRONTUARIOS: '/prontuario',
         PERGUNTAS: '/pergunta',
         RESPOSTAS: '/resposta',
-        MODULOS: '/modulo'
+        MODULOS: '/modulo',
+        DASHBOARD: '/dashboard'
     },
     
     // Headers padrão
@@ -16,7 +16,8 @@ import {
     pegarProntuarios,
     contarProntuarios,
     contarProntuariosHoje,
-    pegarUltimosProntuarios
+    pegarUltimosProntuarios,
+    pegarResumoDashboard
 } from '../services/apiManager.js';
 import { dashboardCache } from '../utils/dashboardCache.js';
 
@@ -214,13 +215,55 @@ async function carregarHistoricoDashboard() {
     }
 }
 
+/**
+ * Carrega todos os indicadores de uma vez pelo endpoint de resumo
+ * @returns {Promise<boolean>} true se o resumo foi aplicado
+ */
+async function carregarResumoDashboard() {
+    try {
+        console.log('📊 Carregando resumo do dashboard...');
+        
+        const resumo = await pegarResumoDashboard();
+        if (!resumo) {
+            return false;
+        }
+        
+        const indicadores = [
+            [pacienteAtivos, resumo.pacientesAtivos],
+            [profissionaisAtivos, resumo.profissionaisAtivos],
+            [anamnesesAtivas, resumo.anamnesesAtivas],
+            [encontrosHoje, resumo.encontrosAtivosHoje],
+            [procedimentosDisponiveis, resumo.procedimentos],
+            [historicoTotal, resumo.prontuarios]
+        ];
+        
+        indicadores.forEach(([elemento, valor]) => {
+            if (elemento) {
+                elemento.textContent = valor ?? 0;
+            }
+        });
+        
+        console.log('✅ Dashboard atualizado pelo resumo:', resumo);
+        return true;
+    } catch (error) {
+        console.error('❌ Erro ao carregar resumo do dashboard:', error);
+        return false;
+    }
+}
+
 /**
  * Carrega todos os dados do dashboard
  */
 async function carregarDashboardCompleto() {
     console.log('🚀 Iniciando carregamento completo do dashboard...');
     
-    // Executar em paralelo para melhor performance
+    // Uma única requisição para todos os indicadores
+    if (await carregarResumoDashboard()) {
+        console.log('✅ Dashboard carregado com sucesso!');
+        return;
+    }
+    
+    // Fallback: endpoints individuais, em paralelo
     await Promise.allSettled([
         carregarPacientesDashboard(),
         carregarProfissionaisDashboard(),
@@ -5,7 +5,36 @@ validateConfig();
 
 const pacienteEndpoint = buildApiUrl(API_CONFIG.ENDPOINTS.PACIENTES);
 
-async function pegarPacientes(){
+// Erro padrão para respostas HTTP sem sucesso
+function erroHttp(response) {
+    throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
+}
+
+// Busca uma página de uma listagem paginada por cursor (sem cursor, a primeira página).
+// O nextCursor da resposta, ausente na última página, é o cursor da próxima chamada.
+// tratarErro recebe a resposta HTTP sem sucesso e lança o erro adequado.
+async function buscarPagina(endpoint, cursor = null, tratarErro = erroHttp) {
+    const url = cursor ? `${endpoint}?cursor=${encodeURIComponent(cursor)}` : endpoint;
+    const response = await fetch(url, {
+        method: 'GET',
+        headers: API_CONFIG.DEFAULT_HEADERS,
+        mode: 'cors'
+    });
+
+    if (!response.ok) {
+        tratarErro(response);
+    }
+
+    return response.json();
+}
+
+// Página de uma listagem: itens e cursor da próxima página (null na última)
+function pagina(apiResponse) {
+    return { itens: apiResponse.data || [], nextCursor: apiResponse.nextCursor || null };
+}
+
+// Função para buscar uma página de pacientes ({ itens, nextCursor }); passe o nextCursor para a próxima
+async function pegarPacientes(cursor = null){
     try {
         console.log('🔄 Fazendo requisição para:', pacienteEndpoint);
         console.log('🔧 Configuração atual:', {
@@ -14,19 +43,7 @@ async function pegarPacientes(){
             urlCompleta: pacienteEndpoint
         });
         
-        const response = await fetch(pacienteEndpoint, {
-            method: 'GET',
-            headers: API_CONFIG.DEFAULT_HEADERS,
-            mode: 'cors' // Explicitamente habilitando CORS
-        });
-
-        console.log('📡 Resposta recebida:', {
-            status: response.status,
-            statusText: response.statusText,
-            headers: Object.fromEntries(response.headers.entries())
-        });
-
-        if (!response.ok) {
+        const apiResponse = await buscarPagina(pacienteEndpoint, cursor, (response) => {
             // Tratamento específico para diferentes tipos de erro
             if (response.status === 401) {
                 throw new Error('❌ Erro 401: Não autorizado. Verifique se o servidor Spring Boot está rodando e se as configurações de segurança estão corretas.');
@@ -39,14 +56,11 @@ async function pegarPacientes(){
             } else {
                 throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
             }
-        }
-
-        const apiResponse = await response.json();
-        console.log('📡 Resposta da API:', apiResponse);
+        });
         
         if (apiResponse.success && apiResponse.data) {
-            console.log('✅ Pacientes carregados com sucesso:', apiResponse.data.length, 'pacientes encontrados');
-            return apiResponse.data;
+            console.log('✅ Pacientes carregados com sucesso:', apiResponse.data.length, 'pacientes na página');
+            return pagina(apiResponse);
         } else {
             throw new Error(apiResponse.error || 'Erro desconhecido ao buscar pacientes');
         }
@@ -138,28 +152,17 @@ async function contarPacientesAtivos(){
 // FUNÇÕES PARA PROFISSIONAIS
 // ================================
 
-// Função para buscar todos os profissionais
-async function pegarProfissionais(){
+// Função para buscar uma página de profissionais ({ itens, nextCursor })
+async function pegarProfissionais(cursor = null){
     try {
         const endpoint = buildApiUrl(API_CONFIG.ENDPOINTS.PROFISSIONAIS);
         console.log('🔄 Fazendo requisição para profissionais:', endpoint);
         
-        const response = await fetch(endpoint, {
-            method: 'GET',
-            headers: API_CONFIG.DEFAULT_HEADERS,
-            mode: 'cors'
-        });
-
-        if (!response.ok) {
-            throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
-        }
-
-        const apiResponse = await response.json();
-        console.log('📡 Resposta da API:', apiResponse);
+        const apiResponse = await buscarPagina(endpoint, cursor);
         
         if (apiResponse.success && apiResponse.data) {
-            console.log('✅ Profissionais carregados com sucesso:', apiResponse.data.length, 'profissionais encontrados');
-            return apiResponse.data;
+            console.log('✅ Profissionais carregados com sucesso:', apiResponse.data.length, 'profissionais na página');
+            return pagina(apiResponse);
         } else {
             throw new Error(apiResponse.error || 'Erro desconhecido ao buscar profissionais');
         }
@@ -223,26 +226,16 @@ async function contarProfissionaisAtivos(){
 // FUNÇÕES PARA ANAMNESES
 // ================================
 
-// Função para buscar todas as anamneses
-async function pegarAnamneses(){
+// Função para buscar uma página de anamneses ({ itens, nextCursor })
+async function pegarAnamneses(cursor = null){
     try {
         const endpoint = buildApiUrl(API_CONFIG.ENDPOINTS.ANAMNESES);
         console.log('🔄 Fazendo requisição para anamneses:', endpoint);
         
-        const response = await fetch(endpoint, {
-            method: 'GET',
-            headers: API_CONFIG.DEFAULT_HEADERS,
-            mode: 'cors'
-        });
-
-        if (!response.ok) {
-            throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
-        }
-
-        const apiResponse = await response.json();
+        const apiResponse = await buscarPagina(endpoint, cursor);
         if (apiResponse.success) {
-            console.log('✅ Anamneses carregadas com sucesso:', apiResponse.data.length, 'anamneses encontradas');
-            return apiResponse.data;
+            console.log('✅ Anamneses carregadas com sucesso:', apiResponse.data.length, 'anamneses na página');
+            return pagina(apiResponse);
         } else {
             throw new Error(apiResponse.error || 'Erro ao carregar anamneses');
         }
@@ -310,24 +303,15 @@ async function contarAnamnesesAtivas(){
 // FUNÇÕES PARA ENCONTROS (AGENDA)
 // ================================
 
-// Função para buscar todos os agendamentos
-async function pegarAgendamentos(){
+// Função para buscar uma página de agendamentos ({ itens, nextCursor })
+async function pegarAgendamentos(cursor = null){
     try {
         const endpoint = buildApiUrl(API_CONFIG.ENDPOINTS.AGENDA);
         console.log('🔄 Fazendo requisição para agendamentos:', endpoint);
         
-        const response = await fetch(endpoint, {
-            method: 'GET',
-            headers: API_CONFIG.DEFAULT_HEADERS,
-            mode: 'cors'
-        });
-
-        if (!response.ok) {
-            throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
-        }
-
-        const agendamentos = await response.json();
-        console.log('✅ Agendamentos carregados com sucesso:', agendamentos.length, 'agendamentos encontrados');
+        const apiResponse = await buscarPagina(endpoint, cursor);
+        const agendamentos = pagina(apiResponse);
+        console.log('✅ Agendamentos carregados com sucesso:', agendamentos.itens.length, 'agendamentos na página');
         return agendamentos;
     } catch (error) {
         console.error('💥 Erro ao buscar agendamentos:', error);
@@ -387,19 +371,13 @@ async function contarEncontrosAtivosHoje(){
 
 // ========== PROCEDIMENTOS ==========
 
-// Função para buscar todos os procedimentos
-async function pegarProcedimentos(){
+// Função para buscar uma página de procedimentos ({ itens, nextCursor })
+async function pegarProcedimentos(cursor = null){
     try {
         const endpoint = buildApiUrl(API_CONFIG.ENDPOINTS.PROCEDIMENTOS);
         console.log('🔄 Fazendo requisição para procedimentos:', endpoint);
         
-        const response = await fetch(endpoint, {
-            method: 'GET',
-            headers: API_CONFIG.DEFAULT_HEADERS,
-            mode: 'cors'
-        });
-
-        if (!response.ok) {
+        const apiResponse = await buscarPagina(endpoint, cursor, (response) => {
             if (response.status === 401) {
                 throw new Error('❌ Erro 401: Não autorizado.');
             } else if (response.status === 404) {
@@ -407,10 +385,9 @@ async function pegarProcedimentos(){
             } else {
                 throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
             }
-        }
-
-        const procedimentos = await response.json();
-        console.log('✅ Procedimentos carregados com sucesso:', procedimentos.length, 'procedimentos encontrados');
+        });
+        const procedimentos = pagina(apiResponse);
+        console.log('✅ Procedimentos carregados com sucesso:', procedimentos.itens.length, 'procedimentos na página');
         return procedimentos;
     } catch (error) {
         if (error.name === 'TypeError' && error.message.includes('fetch')) {
@@ -450,19 +427,13 @@ async function contarProcedimentos(){
 
 // ========== PRONTUÁRIOS (HISTÓRICO) ==========
 
-// Função para buscar todos os prontuários
-async function pegarProntuarios(){
+// Função para buscar uma página de prontuários ({ itens, nextCursor })
+async function pegarProntuarios(cursor = null){
     try {
         const endpoint = buildApiUrl(API_CONFIG.ENDPOINTS.PRONTUARIOS);
         console.log('🔄 Fazendo requisição para prontuários:', endpoint);
         
-        const response = await fetch(endpoint, {
-            method: 'GET',
-            headers: API_CONFIG.DEFAULT_HEADERS,
-            mode: 'cors'
-        });
-
-        if (!response.ok) {
+        const apiResponse = await buscarPagina(endpoint, cursor, (response) => {
             if (response.status === 401) {
                 throw new Error('❌ Erro 401: Não autorizado.');
             } else if (response.status === 404) {
@@ -470,10 +441,9 @@ async function pegarProntuarios(){
             } else {
                 throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
             }
-        }
-
-        const prontuarios = await response.json();
-        console.log('✅ Prontuários carregados com sucesso:', prontuarios.length, 'prontuários encontrados');
+        });
+        const prontuarios = pagina(apiResponse);
+        console.log('✅ Prontuários carregados com sucesso:', prontuarios.itens.length, 'prontuários na página');
         return prontuarios;
     } catch (error) {
         if (error.name === 'TypeError' && error.message.includes('fetch')) {
@@ -536,6 +506,31 @@ async function contarProntuariosHoje(){
     }
 }
 
+// Função para buscar todos os indicadores do dashboard em uma única requisição
+async function pegarResumoDashboard(){
+    try {
+        const endpoint = buildApiUrl(API_CONFIG.ENDPOINTS.DASHBOARD + '/resumo');
+        console.log('🔄 Fazendo requisição para resumo do dashboard:', endpoint);
+        
+        const response = await fetch(endpoint, {
+            method: 'GET',
+            headers: API_CONFIG.DEFAULT_HEADERS,
+            mode: 'cors'
+        });
+
+        if (!response.ok) {
+            throw new Error(`❌ Erro HTTP: ${response.status} - ${response.statusText}`);
+        }
+
+        const apiResponse = await response.json();
+        console.log('✅ Resumo do dashboard carregado:', apiResponse.data);
+        return apiResponse.data;
+    } catch (error) {
+        console.error('💥 Erro ao buscar resumo do dashboard:', error);
+        throw error;
+    }
+}
+
 // Função para buscar últimos prontuários criados
 async function pegarUltimosProntuarios(limite = 10){
     try {
@@ -959,6 +954,7 @@ export {
     contarProntuarios,
     contarProntuariosHoje,
     pegarUltimosProntuarios,
+    pegarResumoDashboard,
     cadastrarProfissional,
     atualizarProfissional,
     excluirProfissional,